@@ -0,0 +1,18 @@
+package com.eskimi.backend_assignment.config;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets request parameters and path variables bind to {@link CalendarDate} using the same
+ * parser as request bodies.
+ */
+@Component
+public class CalendarDateConverter implements Converter<String, CalendarDate> {
+
+    @Override
+    public CalendarDate convert(String source) {
+        return CalendarDate.parse(source);
+    }
+}
@@ -0,0 +1,26 @@
+package com.eskimi.backend_assignment.config;
+
+import com.eskimi.backend_assignment.service.words.NumberWordsEngineRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import java.util.Locale;
+
+/**
+ * Resolves the request locale from the Accept-Language header, matched against the languages
+ * number words can be spelled in. Without a header, or with no supported language in it,
+ * the locale is English rather than the server's default.
+ */
+@Configuration
+public class LocaleConfig {
+
+    @Bean
+    public LocaleResolver localeResolver() {
+        AcceptHeaderLocaleResolver resolver = new AcceptHeaderLocaleResolver();
+        resolver.setSupportedLocales(NumberWordsEngineRegistry.supportedLocales());
+        resolver.setDefaultLocale(Locale.ENGLISH);
+        return resolver;
+    }
+}
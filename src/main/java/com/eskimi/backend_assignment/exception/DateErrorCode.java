@@ -0,0 +1,52 @@
+package com.eskimi.backend_assignment.exception;
+
+/**
+ * Reasons a date or date range is rejected.
+ * <p>
+ * Each code carries a fixed message and one preallocated, stackless {@link InvalidDateException},
+ * so rejecting bad input costs no allocation, no message formatting and no stack walk.
+ */
+public enum DateErrorCode {
+    DATE_REQUIRED("Date cannot be null or empty"),
+    INVALID_DATE_FORMAT("Invalid date format. Expected YYYY-MM-DD"),
+    YEAR_OUT_OF_RANGE("Year must be between 1 and 9999"),
+    MONTH_OUT_OF_RANGE("Month must be between 1 and 12"),
+    DAY_OUT_OF_RANGE("Day is not valid for the given month"),
+    DATE_OUT_OF_RANGE("Date must be between 0001-01-01 and 9999-12-31"),
+    INVALID_STEP("Step must be at least 1 day"),
+    START_AFTER_END("Start date must be before or equal to end date"),
+    START_IN_FUTURE("Start date cannot be in the future"),
+    START_TOO_FAR_IN_PAST("Start date is too far in the past. Maximum historical data is 1 year");
+
+    private static final DateErrorCode[] VALUES = values();
+
+    private final String message;
+    private final InvalidDateException exception;
+
+    DateErrorCode(String message) {
+        this.message = message;
+        this.exception = new InvalidDateException(this);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * The shared exception for this code, for callers that have to throw
+     */
+    public InvalidDateException exception() {
+        return exception;
+    }
+
+    /**
+     * Encodes the code as a negative int, for parsers that return either a value or an error
+     */
+    public int encode() {
+        return -1 - ordinal();
+    }
+
+    public static DateErrorCode decode(int encoded) {
+        return VALUES[-1 - encoded];
+    }
+}
@@ -1,44 +1,93 @@
 package com.eskimi.backend_assignment.exception;
 
+import com.eskimi.backend_assignment.model.response.ErrorResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Maps exceptions to {@link ErrorResponse} bodies.
+ * <p>
+ * The timestamp has second precision and is formatted at most once per second. Date errors
+ * have a fixed message per {@link DateErrorCode}, so their whole body is reused for as long
+ * as the timestamp stays the same.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String INVALID_DATE = "Invalid Date";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private volatile CachedTimestamp timestamp = new CachedTimestamp(Long.MIN_VALUE, null);
+    private final ErrorResponse[] dateErrors = new ErrorResponse[DateErrorCode.values().length];
+
     @ExceptionHandler(InvalidDateException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidDate(InvalidDateException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Invalid Date");
-        errorResponse.put("message", ex.getMessage());
+    public ResponseEntity<ErrorResponse> handleInvalidDate(InvalidDateException ex) {
+        DateErrorCode code = ex.getErrorCode();
+        if (code == null) {
+            return error(HttpStatus.BAD_REQUEST, INVALID_DATE, ex.getMessage());
+        }
+
+        String now = timestamp();
+        ErrorResponse errorResponse = dateErrors[code.ordinal()];
+        // Reference comparison is enough, the timestamp string is only replaced when the second changes
+        if (errorResponse == null || errorResponse.timestamp() != now) {
+            errorResponse = new ErrorResponse(now, HttpStatus.BAD_REQUEST.value(), INVALID_DATE,
+                    code.name(), code.getMessage(), null);
+            dateErrors[code.ordinal()] = errorResponse;
+        }
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
-    @ExceptionHandler(WeatherApiException.class)
-    public ResponseEntity<Map<String, Object>> handleWeatherApiException(WeatherApiException ex) {
+    @ExceptionHandler(InvalidCalendarException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCalendar(InvalidCalendarException ex) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid Calendar", ex.getMessage());
+    }
 
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
-        errorResponse.put("error", "Weather API Error");
-        errorResponse.put("message", ex.getMessage());
+    @ExceptionHandler(InvalidNumberException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidNumber(InvalidNumberException ex) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid Number", ex.getMessage());
+    }
 
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    @ExceptionHandler(UnsupportedLanguageException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedLanguage(UnsupportedLanguageException ex) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid Language", ex.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        InvalidDateException invalidDate = findInvalidDate(ex);
+        if (invalidDate != null) {
+            return handleInvalidDate(invalidDate);
+        }
+        return error(HttpStatus.BAD_REQUEST, "Invalid Parameter",
+                "Invalid value for " + ex.getName() + ": " + ex.getValue());
+    }
+
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameter(MissingServletRequestParameterException ex) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid Parameter", ex.getParameterName() + " is required");
+    }
 
+    @ExceptionHandler(WeatherApiException.class)
+    public ResponseEntity<ErrorResponse> handleWeatherApiException(WeatherApiException ex) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "Weather API Error", ex.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -47,21 +96,56 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
 
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Validation Error");
-        errorResponse.put("errors", errors);
+        ErrorResponse errorResponse = new ErrorResponse(timestamp(), HttpStatus.BAD_REQUEST.value(),
+                "Validation Error", null, null, errors);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Dates are validated while the request body is read. With Jackson's exception wrapping
+     * disabled the InvalidDateException is usually the direct cause, but other converters may
+     * still wrap it further.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleMessageNotReadable(HttpMessageNotReadableException ex) {
+        InvalidDateException invalidDate = findInvalidDate(ex);
+        if (invalidDate != null) {
+            return handleInvalidDate(invalidDate);
+        }
+        return error(HttpStatus.BAD_REQUEST, "Malformed Request", ex.getMostSpecificCause().getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGeneralException(Exception ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now().toString());
-        errorResponse.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorResponse.put("error", "Internal Server Error");
-        errorResponse.put("message", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    public ResponseEntity<ErrorResponse> handleGeneralException(Exception ex) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", ex.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message) {
+        return ResponseEntity.status(status).body(ErrorResponse.of(timestamp(), status.value(), error, message));
+    }
+
+    private static InvalidDateException findInvalidDate(Throwable ex) {
+        Throwable cause = ex.getCause();
+        while (cause != null && !(cause instanceof InvalidDateException)) {
+            cause = cause.getCause();
+        }
+        return (InvalidDateException) cause;
+    }
+
+    /**
+     * Current local time truncated to seconds, formatted once per second
+     */
+    private String timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimestamp cached = timestamp;
+        if (cached.second != second) {
+            String text = TIMESTAMP_FORMAT.format(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+            cached = new CachedTimestamp(second, text);
+            timestamp = cached;
+        }
+        return cached.text;
+    }
+
+    private record CachedTimestamp(long second, String text) {
     }
 }
@@ -0,0 +1,7 @@
+package com.eskimi.backend_assignment.exception;
+
+public class InvalidCalendarException extends RuntimeException {
+    public InvalidCalendarException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,25 @@
 package com.eskimi.backend_assignment.exception;
 
+/**
+ * Stackless: invalid dates are ordinary user input, the stack trace would never be read.
+ */
 public class InvalidDateException extends RuntimeException {
+    private final DateErrorCode errorCode;
+
     public InvalidDateException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.errorCode = null;
+    }
+
+    InvalidDateException(DateErrorCode errorCode) {
+        super(errorCode.getMessage(), null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * @return the error code, or null if the exception was created with a free-form message
+     */
+    public DateErrorCode getErrorCode() {
+        return errorCode;
     }
 }
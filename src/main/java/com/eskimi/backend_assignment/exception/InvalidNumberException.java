@@ -0,0 +1,7 @@
+package com.eskimi.backend_assignment.exception;
+
+public class InvalidNumberException extends RuntimeException {
+    public InvalidNumberException(String message) {
+        super(message);
+    }
+}
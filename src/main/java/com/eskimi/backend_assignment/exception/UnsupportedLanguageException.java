@@ -0,0 +1,7 @@
+package com.eskimi.backend_assignment.exception;
+
+public class UnsupportedLanguageException extends RuntimeException {
+    public UnsupportedLanguageException(String message) {
+        super(message);
+    }
+}
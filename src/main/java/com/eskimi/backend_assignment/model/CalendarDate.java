@@ -0,0 +1,214 @@
+package com.eskimi.backend_assignment.model;
+
+import com.eskimi.backend_assignment.exception.DateErrorCode;
+import com.eskimi.backend_assignment.util.EpochDays;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A validated YYYY-MM-DD date in the range 0001-01-01..9999-12-31.
+ * <p>
+ * Parsed once, straight from the JSON token characters by {@link CalendarDateDeserializer},
+ * and then passed through to the services as is. Holds the packed date and its epoch day,
+ * so day arithmetic never has to parse or convert again.
+ */
+@JsonDeserialize(using = CalendarDateDeserializer.class)
+@JsonSerialize(using = CalendarDateSerializer.class)
+@Schema(type = "string", format = "date", example = "2024-01-01")
+public final class CalendarDate implements Comparable<CalendarDate> {
+
+    private static final int ISO_LENGTH = 10;
+
+    private final int packedDate;
+    private final int epochDay;
+
+    private CalendarDate(int packedDate, int epochDay) {
+        this.packedDate = packedDate;
+        this.epochDay = epochDay;
+    }
+
+    public static CalendarDate of(int year, int month, int day) {
+        int packedDate = checkAndPack(year, month, day);
+        if (packedDate < 0) {
+            throw DateErrorCode.decode(packedDate).exception();
+        }
+        return fromPacked(packedDate);
+    }
+
+    public static CalendarDate ofEpochDay(long epochDay) {
+        if (epochDay < EpochDays.MIN_EPOCH_DAY || epochDay > EpochDays.MAX_EPOCH_DAY) {
+            throw DateErrorCode.DATE_OUT_OF_RANGE.exception();
+        }
+        return new CalendarDate(EpochDays.toPackedDate(epochDay), (int) epochDay);
+    }
+
+    /**
+     * Parse date string in YYYY-MM-DD format
+     */
+    public static CalendarDate parse(CharSequence text) {
+        int packedDate = parsePacked(text);
+        if (packedDate < 0) {
+            throw DateErrorCode.decode(packedDate).exception();
+        }
+        return fromPacked(packedDate);
+    }
+
+    /**
+     * Parse a YYYY-MM-DD date from a character buffer without creating a String,
+     * e.g. the text buffer of a Jackson token.
+     */
+    public static CalendarDate parse(char[] chars, int offset, int length) {
+        int packedDate = parsePacked(chars, offset, length);
+        if (packedDate < 0) {
+            throw DateErrorCode.decode(packedDate).exception();
+        }
+        return fromPacked(packedDate);
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)} but reports an invalid date as an error code instead of throwing
+     */
+    public static ValidationResult<CalendarDate> tryParse(CharSequence text) {
+        int packedDate = parsePacked(text);
+        return packedDate < 0
+                ? ValidationResult.invalid(DateErrorCode.decode(packedDate))
+                : ValidationResult.valid(fromPacked(packedDate));
+    }
+
+    private static CalendarDate fromPacked(int packedDate) {
+        return new CalendarDate(packedDate, (int) EpochDays.toEpochDay(packedDate));
+    }
+
+    /**
+     * @return the packed date, or a negative {@link DateErrorCode#encode() encoded error code}
+     */
+    private static int parsePacked(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return DateErrorCode.DATE_REQUIRED.encode();
+        }
+        if (text.length() != ISO_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return DateErrorCode.INVALID_DATE_FORMAT.encode();
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if ((year | month | day) < 0) {
+            return DateErrorCode.INVALID_DATE_FORMAT.encode();
+        }
+        return checkAndPack(year, month, day);
+    }
+
+    private static int parsePacked(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return DateErrorCode.DATE_REQUIRED.encode();
+        }
+        if (length != ISO_LENGTH || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return DateErrorCode.INVALID_DATE_FORMAT.encode();
+        }
+
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if ((year | month | day) < 0) {
+            return DateErrorCode.INVALID_DATE_FORMAT.encode();
+        }
+        return checkAndPack(year, month, day);
+    }
+
+    private static int checkAndPack(int year, int month, int day) {
+        if (year < EpochDays.MIN_YEAR || year > EpochDays.MAX_YEAR) {
+            return DateErrorCode.YEAR_OUT_OF_RANGE.encode();
+        }
+        if (month < 1 || month > 12) {
+            return DateErrorCode.MONTH_OUT_OF_RANGE.encode();
+        }
+        if (day < 1 || day > EpochDays.lengthOfMonth(year, month)) {
+            return DateErrorCode.DAY_OUT_OF_RANGE.encode();
+        }
+        return EpochDays.pack(year, month, day);
+    }
+
+    /**
+     * Reads a fixed number of ASCII digits, returns -1 if any of them is not a digit
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int digits(char[] chars, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    public int getYear() {
+        return EpochDays.year(packedDate);
+    }
+
+    public int getMonth() {
+        return EpochDays.month(packedDate);
+    }
+
+    public int getDay() {
+        return EpochDays.day(packedDate);
+    }
+
+    public int toPackedDate() {
+        return packedDate;
+    }
+
+    public long toEpochDay() {
+        return epochDay;
+    }
+
+    public boolean isAfter(CalendarDate other) {
+        return epochDay > other.epochDay;
+    }
+
+    public boolean isBefore(CalendarDate other) {
+        return epochDay < other.epochDay;
+    }
+
+    /**
+     * Writes the date as YYYY-MM-DD into the buffer starting at offset
+     */
+    public void writeTo(char[] buffer, int offset) {
+        EpochDays.format(packedDate, buffer, offset);
+    }
+
+    @Override
+    public int compareTo(CalendarDate other) {
+        return Integer.compare(epochDay, other.epochDay);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CalendarDate other && other.epochDay == epochDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return epochDay;
+    }
+
+    @Override
+    public String toString() {
+        return EpochDays.format(packedDate);
+    }
+}
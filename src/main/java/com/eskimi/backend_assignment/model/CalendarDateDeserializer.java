@@ -0,0 +1,27 @@
+package com.eskimi.backend_assignment.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Parses a YYYY-MM-DD string token directly from the parser's character buffer,
+ * so no intermediate String is created for valid dates.
+ */
+public class CalendarDateDeserializer extends StdScalarDeserializer<CalendarDate> {
+
+    public CalendarDateDeserializer() {
+        super(CalendarDate.class);
+    }
+
+    @Override
+    public CalendarDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return CalendarDate.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        return (CalendarDate) ctxt.handleUnexpectedToken(CalendarDate.class, p);
+    }
+}
@@ -0,0 +1,29 @@
+package com.eskimi.backend_assignment.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link CalendarDate} as a YYYY-MM-DD string without going through toString().
+ * The characters are formatted into a buffer kept per thread, which the generator copies from,
+ * so serializing allocates nothing and works with any generator, text or binary.
+ */
+public class CalendarDateSerializer extends StdScalarSerializer<CalendarDate> {
+
+    private static final int ISO_LENGTH = 10;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[ISO_LENGTH]);
+
+    public CalendarDateSerializer() {
+        super(CalendarDate.class);
+    }
+
+    @Override
+    public void serialize(CalendarDate value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        char[] buffer = BUFFER.get();
+        value.writeTo(buffer, 0);
+        gen.writeString(buffer, 0, ISO_LENGTH);
+    }
+}
@@ -0,0 +1,68 @@
+package com.eskimi.backend_assignment.model;
+
+import com.eskimi.backend_assignment.exception.DateErrorCode;
+
+/**
+ * Either a valid value or the {@link DateErrorCode} explaining why there is none.
+ * <p>
+ * Lets callers that expect a lot of bad input branch on the result instead of catching
+ * exceptions. Invalid results are shared singletons per code, so they do not allocate.
+ */
+public final class ValidationResult<T> {
+
+    private static final ValidationResult<?> OK = new ValidationResult<>(null, null);
+    private static final ValidationResult<?>[] INVALID = new ValidationResult<?>[DateErrorCode.values().length];
+
+    static {
+        for (DateErrorCode code : DateErrorCode.values()) {
+            INVALID[code.ordinal()] = new ValidationResult<>(null, code);
+        }
+    }
+
+    private final T value;
+    private final DateErrorCode errorCode;
+
+    private ValidationResult(T value, DateErrorCode errorCode) {
+        this.value = value;
+        this.errorCode = errorCode;
+    }
+
+    public static <T> ValidationResult<T> valid(T value) {
+        return new ValidationResult<>(value, null);
+    }
+
+    /**
+     * A valid result without a value, for checks that only pass or fail
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ValidationResult<T> ok() {
+        return (ValidationResult<T>) OK;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ValidationResult<T> invalid(DateErrorCode errorCode) {
+        return (ValidationResult<T>) INVALID[errorCode.ordinal()];
+    }
+
+    public boolean isValid() {
+        return errorCode == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public DateErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return the value if valid, otherwise throws the preallocated exception of the error code
+     */
+    public T orElseThrow() {
+        if (errorCode != null) {
+            throw errorCode.exception();
+        }
+        return value;
+    }
+}
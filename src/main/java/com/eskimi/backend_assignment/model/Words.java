@@ -0,0 +1,111 @@
+package com.eskimi.backend_assignment.model;
+
+import com.eskimi.backend_assignment.service.words.EnglishWordsEngine;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngine;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.IOException;
+
+/**
+ * The words of a number, as returned in API responses.
+ * <p>
+ * Holds the number rather than its text. {@link WordsSerializer} writes the words as
+ * pre-encoded UTF-8 fragments straight into Jackson's output buffer, so producing a
+ * response builds no String, char[] or byte[] for them. {@link #toString()} builds
+ * the text when it is needed as a String.
+ */
+@JsonSerialize(using = WordsSerializer.class)
+@Schema(type = "string", example = "thirty six point four zero")
+public final class Words {
+    public static final Words EMPTY = new Words(null, null, new SerializedString(""), 0, 0);
+
+    private static final SerializedString QUOTE = new SerializedString("\"");
+
+    private final NumberWordsEngine engine;
+    private final SerializedString prefix;
+    private final SerializedString text;
+    private final long integerPart;
+    private final int decimals;
+
+    private Words(NumberWordsEngine engine, SerializedString prefix, SerializedString text,
+                  long integerPart, int decimals) {
+        this.engine = engine;
+        this.prefix = prefix;
+        this.text = text;
+        this.integerPart = integerPart;
+        this.decimals = decimals;
+    }
+
+    /**
+     * @param integerPart non-negative integer part
+     * @param decimals    the two decimal digits as 0..99
+     */
+    public static Words of(long integerPart, int decimals) {
+        return of(EnglishWordsEngine.INSTANCE, integerPart, decimals);
+    }
+
+    /**
+     * @param engine      language the words are spelled in
+     * @param integerPart non-negative integer part
+     * @param decimals    the two decimal digits as 0..99
+     */
+    public static Words of(NumberWordsEngine engine, long integerPart, int decimals) {
+        return new Words(engine, null, null, integerPart, decimals);
+    }
+
+    /**
+     * The same words with a leading word, e.g. "minus " for temperatures
+     * @param prefix shared fragment written before the number, including its trailing space
+     */
+    public Words withPrefix(SerializedString prefix) {
+        return new Words(engine, prefix, text, integerPart, decimals);
+    }
+
+    /**
+     * Words that are already text, e.g. when reading a response back
+     */
+    @JsonCreator
+    public static Words of(String text) {
+        return new Words(null, null, new SerializedString(text), 0, 0);
+    }
+
+    /**
+     * Writes the words as a JSON string value
+     */
+    void writeTo(JsonGenerator generator) throws IOException {
+        if (text != null) {
+            generator.writeString(text);
+            return;
+        }
+        // Word fragments never need escaping, so the value can be written raw between quotes
+        generator.writeRawValue(QUOTE);
+        if (prefix != null) {
+            generator.writeRaw(prefix);
+        }
+        engine.writeTo(generator, integerPart, decimals);
+        generator.writeRaw(QUOTE);
+    }
+
+    @Override
+    public String toString() {
+        if (text != null) {
+            return text.getValue();
+        }
+        String words = engine.toWords(integerPart, decimals);
+        return prefix == null ? words : prefix.getValue() + words;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Words other && toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+}
@@ -0,0 +1,28 @@
+package com.eskimi.backend_assignment.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Words} as a JSON string from pre-encoded fragments, see {@link Words}.
+ */
+public class WordsSerializer extends StdScalarSerializer<Words> {
+
+    public WordsSerializer() {
+        super(Words.class);
+    }
+
+    @Override
+    public void serialize(Words value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        // A TokenBuffer (convertValue, valueToTree) keeps tokens rather than output and cannot take raw fragments
+        if (gen instanceof TokenBuffer) {
+            gen.writeString(value.toString());
+            return;
+        }
+        value.writeTo(gen);
+    }
+}
@@ -1,17 +1,23 @@
 package com.eskimi.backend_assignment.model.request;
 
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
-import lombok.*;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
+/**
+ * Dates are parsed and validated as YYYY-MM-DD while the body is read, see {@link CalendarDate}.
+ */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class DateDifferenceRequest {
-    @NotBlank(message = "Start date is required")
-    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Date must be in YYYY-MM-DD format")
-    private String startDate;
+    @NotNull(message = "Start date is required")
+    private CalendarDate startDate;
 
-    @NotBlank(message = "End date is required")
-    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Date must be in YYYY-MM-DD format")
-    private String endDate;
+    @NotNull(message = "End date is required")
+    private CalendarDate endDate;
 }
@@ -0,0 +1,21 @@
+package com.eskimi.backend_assignment.model.request;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DateShiftRequest {
+    @NotNull(message = "Date is required")
+    private CalendarDate date;
+
+    /** Number of days to add, negative to subtract */
+    @NotNull(message = "Days is required")
+    private Long days;
+}
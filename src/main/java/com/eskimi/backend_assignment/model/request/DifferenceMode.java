@@ -0,0 +1,11 @@
+package com.eskimi.backend_assignment.model.request;
+
+/**
+ * How the difference between two dates is counted
+ */
+public enum DifferenceMode {
+    /** Every day counts */
+    CALENDAR,
+    /** Only days that are neither weekend nor holiday in the chosen calendar count */
+    BUSINESS
+}
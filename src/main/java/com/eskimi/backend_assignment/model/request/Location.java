@@ -0,0 +1,35 @@
+package com.eskimi.backend_assignment.model.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A place to get weather data for, in WGS84 degrees
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Location {
+    /**
+     * Optional label echoed in the response, e.g. the city name
+     */
+    @Size(max = 100, message = "Location name must be at most 100 characters")
+    private String name;
+
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+}
@@ -0,0 +1,32 @@
+package com.eskimi.backend_assignment.model.request;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Temperature statistics of one or more locations over the same date range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationStatsRequest {
+    @NotNull(message = "Start date is required")
+    private CalendarDate startDate;
+
+    @NotNull(message = "End date is required")
+    private CalendarDate endDate;
+
+    @NotEmpty(message = "At least one location is required")
+    @Size(max = 1000, message = "At most 1000 locations per request")
+    private List<@Valid @NotNull Location> locations;
+}
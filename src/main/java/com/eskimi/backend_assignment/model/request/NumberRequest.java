@@ -17,6 +17,6 @@ import java.math.BigDecimal;
 public class NumberRequest {
     @NotNull(message = "Number is required")
     @DecimalMin(value = "0.0", inclusive = true, message = "Number must be >= 0")
-    @DecimalMax(value = "999.99", inclusive = true, message = "Number must be < 1000")
+    @DecimalMax(value = "9223372036854775807", inclusive = true, message = "Number must be <= 9223372036854775807")
     private BigDecimal number;
 }
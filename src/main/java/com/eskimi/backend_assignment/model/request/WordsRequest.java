@@ -0,0 +1,18 @@
+package com.eskimi.backend_assignment.model.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WordsRequest {
+    @NotBlank(message = "Words are required")
+    @Size(max = 1000, message = "Words must be at most 1000 characters")
+    private String words;
+}
@@ -0,0 +1,26 @@
+package com.eskimi.backend_assignment.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One NDJSON error line of a batch response. The index is the zero-based
+ * position of the failed item in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemError {
+    private long index;
+    private String error;
+    private String code;
+    private String message;
+    private Map<String, String> errors;
+}
@@ -1,5 +1,7 @@
 package com.eskimi.backend_assignment.model.response;
 
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,7 +12,11 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class DateDifferenceResponse {
-    private String startDate;
-    private String endDate;
+    private CalendarDate startDate;
+    private CalendarDate endDate;
     private int days;
+
+    /** Holiday calendar used, only present for business-day differences */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String calendar;
 }
@@ -0,0 +1,17 @@
+package com.eskimi.backend_assignment.model.response;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DateShiftResponse {
+    private CalendarDate date;
+    private long days;
+    private CalendarDate result;
+}
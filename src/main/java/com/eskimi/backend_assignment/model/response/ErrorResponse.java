@@ -0,0 +1,18 @@
+package com.eskimi.backend_assignment.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Body of every error response. {@code code} is set for date errors,
+ * {@code errors} for field validation errors.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(String timestamp, int status, String error, String code,
+                            String message, Map<String, String> errors) {
+
+    public static ErrorResponse of(String timestamp, int status, String error, String message) {
+        return new ErrorResponse(timestamp, status, error, null, message, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.eskimi.backend_assignment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationTemperatureResponse {
+    private String name;
+    private double latitude;
+    private double longitude;
+    private TemperatureResponse stats;
+}
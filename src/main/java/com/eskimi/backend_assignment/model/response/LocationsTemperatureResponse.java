@@ -0,0 +1,19 @@
+package com.eskimi.backend_assignment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Statistics per location, in the order the locations were requested
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationsTemperatureResponse {
+    private List<LocationTemperatureResponse> locations;
+}
@@ -1,5 +1,6 @@
 package com.eskimi.backend_assignment.model.response;
 
+import com.eskimi.backend_assignment.model.Words;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,5 +11,5 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class NumberResponse {
-    private String words;
+    private Words words;
 }
@@ -0,0 +1,138 @@
+package com.eskimi.backend_assignment.model.response;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads the {@code daily} object of an Open-Meteo response token by token into {@code double[]}
+ * columns. Numbers are parsed from the parser's character buffer, so a plain decimal such as
+ * {@code 25.3} costs no String and no boxed Double; a null day becomes NaN. Fields other than
+ * the three temperature columns are skipped without being read. Open-Meteo sends the
+ * {@code time} column first, its length sizes the temperature columns exactly.
+ */
+public class OpenMeteoDailyDeserializer extends StdDeserializer<OpenMeteoResponse.Daily> {
+
+    private static final int INITIAL_DAYS = 32;
+    // Exact powers of ten, so digits / POWERS[n] is the correctly rounded value
+    private static final double[] POWERS = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_DIGITS = 1L << 53;
+
+    public OpenMeteoDailyDeserializer() {
+        super(OpenMeteoResponse.Daily.class);
+    }
+
+    @Override
+    public OpenMeteoResponse.Daily deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.hasToken(JsonToken.START_OBJECT)) {
+            return (OpenMeteoResponse.Daily) ctxt.handleUnexpectedToken(OpenMeteoResponse.Daily.class, p);
+        }
+
+        OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
+        int days = INITIAL_DAYS;
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "temperature_2m_max" -> daily.setTemperatureMax(readColumn(p, ctxt, days));
+                case "temperature_2m_min" -> daily.setTemperatureMin(readColumn(p, ctxt, days));
+                case "temperature_2m_mean" -> daily.setTemperatureMean(readColumn(p, ctxt, days));
+                case "time" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        days = Math.max(1, countElements(p));
+                    } else if (value.isStructStart()) {
+                        p.skipChildren();
+                    }
+                }
+                default -> {
+                    if (value.isStructStart()) {
+                        p.skipChildren();
+                    }
+                }
+            }
+        }
+        return daily;
+    }
+
+    /**
+     * Counts the scalar elements of an array without reading their text
+     */
+    private static int countElements(JsonParser p) throws IOException {
+        int count = 0;
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (token.isStructStart()) {
+                p.skipChildren();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static double[] readColumn(JsonParser p, DeserializationContext ctxt, int expectedDays)
+            throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (!p.hasToken(JsonToken.START_ARRAY)) {
+            return (double[]) ctxt.handleUnexpectedToken(double[].class, p);
+        }
+
+        double[] values = new double[expectedDays];
+        int size = 0;
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+                values[size++] = parseNumber(p);
+            } else if (token == JsonToken.VALUE_NULL) {
+                values[size++] = Double.NaN;
+            } else {
+                return (double[]) ctxt.handleUnexpectedToken(double[].class, p);
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Parses [-]digits[.digits] from the token characters; anything longer or with an exponent
+     * is left to Jackson
+     */
+    static double parseNumber(JsonParser p) throws IOException {
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int end = offset + p.getTextLength();
+
+        boolean negative = chars[offset] == '-';
+        int i = negative ? offset + 1 : offset;
+        long digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                if (digits >= MAX_EXACT_DIGITS) {
+                    return p.getDoubleValue();
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return p.getDoubleValue();
+            }
+        }
+        if (fractionDigits >= POWERS.length) {
+            return p.getDoubleValue();
+        }
+        double value = fractionDigits > 0 ? digits / POWERS[fractionDigits] : digits;
+        return negative ? -value : value;
+    }
+}
@@ -1,13 +1,12 @@
 package com.eskimi.backend_assignment.model.response;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.List;
-
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,18 +15,23 @@ public class OpenMeteoResponse {
     @JsonProperty("daily")
     private Daily daily;
 
+    /**
+     * One value per day of the range, NaN for a day Open-Meteo has no value for
+     */
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
-    @Builder    public static class Daily {
+    @Builder
+    @JsonDeserialize(using = OpenMeteoDailyDeserializer.class)
+    public static class Daily {
         @JsonProperty("temperature_2m_max")
-        private List<Double> temperatureMax;
+        private double[] temperatureMax;
 
         @JsonProperty("temperature_2m_min")
-        private List<Double> temperatureMin;
+        private double[] temperatureMin;
 
         @JsonProperty("temperature_2m_mean")
-        private List<Double> temperatureMean;
+        private double[] temperatureMean;
 
     }
 }
@@ -0,0 +1,26 @@
+package com.eskimi.backend_assignment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrefetchStatusResponse {
+    private boolean enabled;
+    private boolean running;
+    private long runs;
+    private Instant lastRunStarted;
+    private Long lastRunMillis;
+    private int lastRunRanges;
+    // Recent days the last run recorded with new or revised values
+    private int lastRunUpdatedDays;
+    private int lastRunFailures;
+    private String lastError;
+    private Instant nextRun;
+}
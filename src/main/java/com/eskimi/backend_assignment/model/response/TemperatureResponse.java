@@ -1,5 +1,7 @@
 package com.eskimi.backend_assignment.model.response;
 
+import com.eskimi.backend_assignment.model.Words;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,7 +15,26 @@ public class TemperatureResponse {
     private double min;
     private double max;
     private double average;
-    private String minText;
-    private String maxText;
-    private String averageText;
+    private Words minText;
+    private Words maxText;
+    private Words averageText;
+
+    // Extended statistics of the daily mean temperatures, only present when requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double median;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double p10;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double p90;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double standardDeviation;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer daysAbove;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer daysBelow;
+
+    public TemperatureResponse(double min, double max, double average,
+                               Words minText, Words maxText, Words averageText) {
+        this(min, max, average, minText, maxText, averageText, null, null, null, null, null, null);
+    }
 }
@@ -0,0 +1,16 @@
+package com.eskimi.backend_assignment.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WordsToNumberResponse {
+    private BigDecimal number;
+}
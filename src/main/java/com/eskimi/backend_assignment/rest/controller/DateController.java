@@ -1,19 +1,34 @@
 package com.eskimi.backend_assignment.rest.controller;
 
+import com.eskimi.backend_assignment.model.CalendarDate;
 import com.eskimi.backend_assignment.model.request.DateDifferenceRequest;
+import com.eskimi.backend_assignment.model.request.DateShiftRequest;
+import com.eskimi.backend_assignment.model.request.DifferenceMode;
 import com.eskimi.backend_assignment.model.response.DateDifferenceResponse;
+import com.eskimi.backend_assignment.model.response.DateShiftResponse;
 import com.eskimi.backend_assignment.service.DaysCalculatorService;
+import com.eskimi.backend_assignment.service.batch.NdjsonBatchProcessor;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendar;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendarRegistry;
+import com.eskimi.backend_assignment.util.EpochDays;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
 
 @RestController
 @RequestMapping("/api/v1/dates")
@@ -22,9 +37,15 @@ public class DateController {
     private final Logger LOGGER = LoggerFactory.getLogger(DateController.class);
 
     private final DaysCalculatorService daysCalculatorService;
+    private final NdjsonBatchProcessor ndjsonBatchProcessor;
+    private final HolidayCalendarRegistry holidayCalendarRegistry;
 
-    public DateController(DaysCalculatorService daysCalculatorService) {
+    public DateController(DaysCalculatorService daysCalculatorService,
+                          NdjsonBatchProcessor ndjsonBatchProcessor,
+                          HolidayCalendarRegistry holidayCalendarRegistry) {
         this.daysCalculatorService = daysCalculatorService;
+        this.ndjsonBatchProcessor = ndjsonBatchProcessor;
+        this.holidayCalendarRegistry = holidayCalendarRegistry;
     }
 
     /**
@@ -44,6 +65,11 @@ public class DateController {
      * "days": 365
      * }
      * <p>
+     * Business days: add ?mode=BUSINESS to count only the days from the earlier date (inclusive)
+     * to the later one (exclusive) that are not weekend days or holidays. &calendar=bd picks a
+     * holiday calendar, the default "weekends" calendar only skips weekends.
+     * The response then also carries "calendar": "bd".
+     * <p>
      * below is the curl command you can run on your terminal if you are running on the localhost
      * if you are running anywhere else then replace localhost with the url of that server
      *
@@ -54,24 +80,169 @@ public class DateController {
 
     @Operation(
             summary = "Calculate number of days between two dates",
-            description = "Returns the number of days between startDate and endDate"
+            description = "Returns the number of days between startDate and endDate. "
+                    + "With mode=BUSINESS only business days of the given holiday calendar are counted"
     )
     @PostMapping("/difference")
-    public ResponseEntity<DateDifferenceResponse> getDaysBetween(@Valid @RequestBody DateDifferenceRequest request) {
+    public ResponseEntity<DateDifferenceResponse> getDaysBetween(
+            @Valid @RequestBody DateDifferenceRequest request,
+            @RequestParam(defaultValue = "CALENDAR") DifferenceMode mode,
+            @RequestParam(required = false) String calendar) {
         LOGGER.info("getDaysBetween api hits");
-        int days = daysCalculatorService.calculateDays(
-                request.getStartDate(),
-                request.getEndDate()
-        );
+        HolidayCalendar holidayCalendar = resolveCalendar(mode, calendar);
+        return ResponseEntity.status(HttpStatus.OK).body(calculateDifference(request, holidayCalendar));
+    }
+
+    /**
+     * POST /api/v1/dates/difference/batch
+     * Calculate number of days for many date pairs in one request
+     * <p>
+     * Request body is either a JSON array of date pairs or newline delimited JSON (NDJSON),
+     * one date pair per line:
+     * {"startDate":"2024-01-01","endDate":"2024-12-31"}
+     * {"startDate":"2024-02-30","endDate":"2024-12-31"}
+     * <p>
+     * Response is NDJSON, one line per item in request order, streamed as items are computed.
+     * An invalid item gets an error line instead of failing the whole batch:
+     * {"startDate":"2024-01-01","endDate":"2024-12-31","days":365}
+     * {"index":1,"error":"Invalid Date","code":"DAY_OUT_OF_RANGE","message":"Day is not valid for the given month"}
+     * <p>
+     * Takes the same mode and calendar parameters as /difference.
+     * <p>
+     * curl -X POST http://localhost:8080/api/v1/dates/difference/batch \
+     * -H "Content-Type: application/x-ndjson" \
+     * --data-binary @pairs.ndjson
+     */
+    @Operation(
+            summary = "Calculate number of days for a batch of date pairs",
+            description = "Accepts a JSON array or NDJSON stream of date pairs and streams back one NDJSON line per pair"
+    )
+    @PostMapping(value = "/difference/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE},
+            produces = NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getDaysBetweenBatch(
+            InputStream requestBody,
+            @RequestParam(defaultValue = "CALENDAR") DifferenceMode mode,
+            @RequestParam(required = false) String calendar) {
+        LOGGER.info("getDaysBetweenBatch api hits");
+        HolidayCalendar holidayCalendar = resolveCalendar(mode, calendar);
+        StreamingResponseBody responseBody = outputStream -> ndjsonBatchProcessor.process(
+                requestBody, outputStream, DateDifferenceRequest.class,
+                request -> calculateDifference(request, holidayCalendar));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE))
+                .body(responseBody);
+    }
+
+    /**
+     * POST /api/v1/dates/shift
+     * Add days to a date, or subtract them with a negative number
+     * <p>
+     * Request body:
+     * {
+     * "date": "2024-01-31",
+     * "days": -31
+     * }
+     * <p>
+     * Response:
+     * {
+     * "date": "2024-01-31",
+     * "days": -31,
+     * "result": "2023-12-31"
+     * }
+     */
+    @Operation(
+            summary = "Add or subtract a number of days from a date",
+            description = "Returns the date that is the given number of days after (or before, if negative) the date"
+    )
+    @PostMapping("/shift")
+    public ResponseEntity<DateShiftResponse> shiftDate(@Valid @RequestBody DateShiftRequest request) {
+        LOGGER.info("shiftDate api hits");
+        CalendarDate result = daysCalculatorService.addDays(request.getDate(), request.getDays());
 
-        DateDifferenceResponse dateDifferenceResponse = DateDifferenceResponse
+        DateShiftResponse dateShiftResponse = DateShiftResponse
+                .builder()
+                .date(request.getDate())
+                .days(request.getDays())
+                .result(result)
+                .build();
+
+        return ResponseEntity.ok(dateShiftResponse);
+    }
+
+    /**
+     * GET /api/v1/dates/range?startDate=2024-01-01&endDate=2024-12-31&step=7
+     * List every step-th date between two dates, both inclusive
+     * <p>
+     * Response is chunked NDJSON with one date string per line, generated while it is written:
+     * "2024-01-01"
+     * "2024-01-08"
+     * ...
+     * <p>
+     * curl -N "http://localhost:8080/api/v1/dates/range?startDate=2024-01-01&endDate=2024-12-31&step=7"
+     */
+    @Operation(
+            summary = "Enumerate the dates between two dates",
+            description = "Streams every step-th date from startDate to endDate (both inclusive) as NDJSON"
+    )
+    @GetMapping(value = "/range", produces = NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getDateRange(
+            @RequestParam CalendarDate startDate,
+            @RequestParam CalendarDate endDate,
+            @RequestParam(defaultValue = "1") int step) {
+        LOGGER.info("getDateRange api hits");
+        LongStream epochDays = daysCalculatorService.enumerateDates(startDate, endDate, step);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE))
+                .body(outputStream -> writeDates(epochDays, outputStream));
+    }
+
+    /**
+     * Writes each date as a quoted ASCII line through a fixed buffer, no per-date objects
+     */
+    private void writeDates(LongStream epochDays, OutputStream outputStream) throws IOException {
+        // "YYYY-MM-DD" plus newline
+        int lineLength = 13;
+        byte[] buffer = new byte[lineLength * 512];
+        int position = 0;
+
+        PrimitiveIterator.OfLong iterator = epochDays.iterator();
+        while (iterator.hasNext()) {
+            if (position == buffer.length) {
+                outputStream.write(buffer, 0, position);
+                position = 0;
+            }
+            buffer[position] = '"';
+            EpochDays.formatAscii(EpochDays.toPackedDate(iterator.nextLong()), buffer, position + 1);
+            buffer[position + 11] = '"';
+            buffer[position + 12] = '\n';
+            position += lineLength;
+        }
+        outputStream.write(buffer, 0, position);
+        outputStream.flush();
+    }
+
+    private HolidayCalendar resolveCalendar(DifferenceMode mode, String calendar) {
+        return mode == DifferenceMode.BUSINESS ? holidayCalendarRegistry.getCalendar(calendar) : null;
+    }
+
+    /**
+     * @param holidayCalendar calendar for business days, null for plain calendar days
+     */
+    private DateDifferenceResponse calculateDifference(DateDifferenceRequest request, HolidayCalendar holidayCalendar) {
+        int days = holidayCalendar == null
+                ? daysCalculatorService.calculateDays(request.getStartDate(), request.getEndDate())
+                : daysCalculatorService.calculateBusinessDays(request.getStartDate(), request.getEndDate(), holidayCalendar);
+
+        return DateDifferenceResponse
                 .builder()
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
                 .days(days)
+                .calendar(holidayCalendar == null ? null : holidayCalendar.getName())
                 .build();
-
-        return ResponseEntity.status(HttpStatus.OK).body(dateDifferenceResponse);
     }
 
     /**
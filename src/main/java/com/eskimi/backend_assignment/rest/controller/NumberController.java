@@ -1,18 +1,32 @@
 package com.eskimi.backend_assignment.rest.controller;
 
+import com.eskimi.backend_assignment.model.Words;
 import com.eskimi.backend_assignment.model.request.NumberRequest;
+import com.eskimi.backend_assignment.model.request.WordsRequest;
 import com.eskimi.backend_assignment.model.response.NumberResponse;
+import com.eskimi.backend_assignment.model.response.WordsToNumberResponse;
 import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.WordsToNumberService;
+import com.eskimi.backend_assignment.service.batch.NdjsonBatchProcessor;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngine;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngineRegistry;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/v1/number")
@@ -21,15 +35,27 @@ public class NumberController {
     private final Logger LOGGER = LoggerFactory.getLogger(NumberController.class);
 
     private final NumberToWordsService numberToWordsService;
+    private final NdjsonBatchProcessor ndjsonBatchProcessor;
+    private final NumberWordsEngineRegistry engineRegistry;
+    private final WordsToNumberService wordsToNumberService;
 
-    public NumberController(NumberToWordsService numberToWordsService) {
+    public NumberController(NumberToWordsService numberToWordsService,
+                            NdjsonBatchProcessor ndjsonBatchProcessor,
+                            NumberWordsEngineRegistry engineRegistry,
+                            WordsToNumberService wordsToNumberService) {
         this.numberToWordsService = numberToWordsService;
+        this.ndjsonBatchProcessor = ndjsonBatchProcessor;
+        this.engineRegistry = engineRegistry;
+        this.wordsToNumberService = wordsToNumberService;
     }
 
     /**
      * POST /api/v1/number/number-to-words
      * Convert number to words
      *
+     * The language is taken from the lang query parameter (en, bn or fr), else from the
+     * Accept-Language header, else English.
+     *
      * Request body:
      * {
      *   "number": 30,
@@ -49,6 +75,16 @@ public class NumberController {
      * {
      *      "number":999.99
      * }'
+     *
+     * curl -X 'POST' \
+     *   'http://localhost:8080/api/v1/number/number-to-words?lang=fr' \
+     *   -H 'Content-Type:application/json' \
+     *   -d '{"number":71}'
+     *
+     * Response:
+     * {
+     *   "words": "soixante et onze",
+     * }
      */
 
 
@@ -58,10 +94,90 @@ public class NumberController {
             description = "Returns the converted text"
     )
     @PostMapping("/number-to-words")
-    public ResponseEntity<NumberResponse> convertNumberToWords(@Valid @RequestBody NumberRequest request) {
+    public ResponseEntity<NumberResponse> convertNumberToWords(
+            @Valid @RequestBody NumberRequest request,
+            @Parameter(description = "Language of the words: en, bn or fr. Overrides Accept-Language")
+            @RequestParam(required = false) String lang,
+            @Parameter(hidden = true) Locale locale) {
         LOGGER.info("convertNumberToWords controller hits");
-        String words = numberToWordsService.convertToWords(request.getNumber());
+        NumberWordsEngine engine = engineRegistry.resolve(lang, locale);
+        Words words = numberToWordsService.toWords(request.getNumber(), engine);
         return ResponseEntity.ok(new NumberResponse(words));
     }
 
+    /**
+     * POST /api/v1/number/number-to-words/batch
+     * Convert many numbers in one request
+     *
+     * Request body is either a JSON array of number requests or newline delimited JSON (NDJSON),
+     * one number request per line:
+     * {"number": 30}
+     * {"number": -5}
+     *
+     * Response is NDJSON, one line per item in request order, written as items are converted.
+     * Memory use does not depend on the batch size. An invalid item gets an error line
+     * instead of failing the whole batch:
+     * {"words":"thirty"}
+     * {"index":1,"error":"Validation Error","errors":{"number":"Number must be >= 0"}}
+     *
+     * The language is picked the same way as for a single number and applies to the whole batch.
+     *
+     * curl -X 'POST' \
+     *   'http://localhost:8080/api/v1/number/number-to-words/batch' \
+     *   -H 'Content-Type:application/x-ndjson' \
+     *   -H 'Accept-Language:bn' \
+     *   --data-binary @numbers.ndjson
+     */
+    @Operation(
+            summary = "To convert a batch of numbers to text format",
+            description = "Accepts a JSON array or NDJSON stream of numbers and streams back one NDJSON line per number"
+    )
+    @PostMapping(value = "/number-to-words/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE},
+            produces = NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> convertNumbersToWords(
+            InputStream requestBody,
+            @Parameter(description = "Language of the words: en, bn or fr. Overrides Accept-Language")
+            @RequestParam(required = false) String lang,
+            @Parameter(hidden = true) Locale locale) {
+        LOGGER.info("convertNumbersToWords controller hits");
+        // Resolved before streaming starts, so an unknown language is a plain 400 response
+        NumberWordsEngine engine = engineRegistry.resolve(lang, locale);
+        StreamingResponseBody responseBody = outputStream -> ndjsonBatchProcessor.process(
+                requestBody, outputStream, NumberRequest.class,
+                request -> new NumberResponse(numberToWordsService.toWords(request.getNumber(), engine)));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonBatchProcessor.APPLICATION_NDJSON_VALUE))
+                .body(responseBody);
+    }
+
+    /**
+     * POST /api/v1/number/words-to-number
+     * Convert English number words back to a number
+     *
+     * Request body:
+     * {
+     *   "words": "positive fifteen point four two"
+     * }
+     *
+     * Response:
+     * {
+     *   "number": 15.42
+     * }
+     *
+     * curl -X 'POST' \
+     *   'http://localhost:8080/api/v1/number/words-to-number' \
+     *   -H 'Content-Type:application/json' \
+     *   -d '{"words":"nine hundred ninety nine point nine nine"}'
+     */
+    @Operation(
+            summary = "To convert English number words to a number",
+            description = "Returns the number, with as many decimals as there are digit words after \"point\""
+    )
+    @PostMapping("/words-to-number")
+    public ResponseEntity<WordsToNumberResponse> convertWordsToNumber(@Valid @RequestBody WordsRequest request) {
+        LOGGER.info("convertWordsToNumber controller hits");
+        return ResponseEntity.ok(new WordsToNumberResponse(wordsToNumberService.convertToNumber(request.getWords())));
+    }
 }
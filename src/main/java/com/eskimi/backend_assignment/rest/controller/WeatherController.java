@@ -1,6 +1,8 @@
 package com.eskimi.backend_assignment.rest.controller;
 
 import com.eskimi.backend_assignment.model.request.DateDifferenceRequest;
+import com.eskimi.backend_assignment.model.request.LocationStatsRequest;
+import com.eskimi.backend_assignment.model.response.LocationsTemperatureResponse;
 import com.eskimi.backend_assignment.model.response.TemperatureResponse;
 import com.eskimi.backend_assignment.service.TemperatureStatsService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,7 +14,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/api/v1/weather")
@@ -45,6 +49,19 @@ public class WeatherController {
      *      "maxText": "positive twenty three",
      *      "averageText": "positive fifteen point four two"
      *  }
+     *
+     * With ?extended=true the response also has the median, p10, p90 and standard deviation of
+     * the daily mean temperatures, and the number of days whose mean was above
+     * weather.stats.above-threshold (daysAbove) or below weather.stats.below-threshold (daysBelow):
+     *  {
+     *      ...
+     *      "median": 15.1,
+     *      "p10": 12.34,
+     *      "p90": 19.02,
+     *      "standardDeviation": 2.41,
+     *      "daysAbove": 0,
+     *      "daysBelow": 9
+     *  }
      */
 
     /**
@@ -55,18 +72,92 @@ public class WeatherController {
      * "startDate": "2026-01-01",
      * "endDate": "2026-01-09"
      * }'
+     *
+     * curl -X 'POST' \
+     * 'http://localhost:8080/api/v1/weather/dhaka-stats?extended=true' \
+     * -H 'Content-Type: application/json' \
+     * -d '{
+     * "startDate": "2026-01-01",
+     * "endDate": "2026-01-09"
+     * }'
      */
 
     @Operation(
             summary = "To find and present the weather statics( temperature) of Dhaka,Bangladesh between two dates",
-            description = "Returns min, max and average temperature of Dhaka in both number and text format between startDate and endDate"
+            description = "Returns min, max and average temperature of Dhaka in both number and text format between startDate and endDate; "
+                    + "with extended=true also the median, p10, p90, standard deviation and threshold day counts of the daily means"
     )
     @PostMapping("/dhaka-stats")
-    public ResponseEntity<TemperatureResponse> getStats(@Valid @RequestBody DateDifferenceRequest request) {
+    public ResponseEntity<TemperatureResponse> getStats(@Valid @RequestBody DateDifferenceRequest request,
+                                                        @RequestParam(defaultValue = "false") boolean extended) {
         LOGGER.info("getStats api hits");
         TemperatureResponse response = temperatureStatsService.getTemperatureStats(
                 request.getStartDate(),
-                request.getEndDate());
+                request.getEndDate(),
+                extended);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * POST /api/v1/weather/dhaka-stats/async
+     * Same request, extended parameter and response as /dhaka-stats, but no server thread waits while Open-Meteo
+     * answers, so thousands of slow upstream calls can be pending at once
+     *
+     * curl -X 'POST' \
+     * 'http://localhost:8080/api/v1/weather/dhaka-stats/async' \
+     * -H 'Content-Type: application/json' \
+     * -d '{
+     * "startDate": "2026-01-01",
+     * "endDate": "2026-01-09"
+     * }'
+     */
+    @Operation(
+            summary = "Non-blocking variant of the Dhaka temperature statistics",
+            description = "Returns the same statistics as /dhaka-stats without holding a server thread while the weather data is fetched"
+    )
+    @PostMapping("/dhaka-stats/async")
+    public Mono<ResponseEntity<TemperatureResponse>> getStatsAsync(@Valid @RequestBody DateDifferenceRequest request,
+                                                                   @RequestParam(defaultValue = "false") boolean extended) {
+        LOGGER.info("getStatsAsync api hits");
+        return temperatureStatsService.getTemperatureStatsAsync(request.getStartDate(), request.getEndDate(), extended)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * POST /api/v1/weather/stats
+     * Gives temperature statistics of any number of locations over the same range. Up to 200
+     * locations are fetched from Open-Meteo with a single request
+     *
+     * curl -X 'POST' \
+     * 'http://localhost:8080/api/v1/weather/stats' \
+     * -H 'Content-Type: application/json' \
+     * -d '{
+     * "startDate": "2026-01-01",
+     * "endDate": "2026-01-09",
+     * "locations": [
+     *   {"name": "Dhaka", "latitude": 23.8103, "longitude": 90.4125},
+     *   {"name": "Chittagong", "latitude": 22.3569, "longitude": 91.7832}
+     * ]
+     * }'
+     *
+     * Response:
+     *  {
+     *      "locations": [
+     *          {"name": "Dhaka", "latitude": 23.8103, "longitude": 90.4125, "stats": {"min": 10.1, ...}},
+     *          {"name": "Chittagong", "latitude": 22.3569, "longitude": 91.7832, "stats": {"min": 13.4, ...}}
+     *      ]
+     *  }
+     */
+    @Operation(
+            summary = "To find the temperature statistics of several locations between two dates",
+            description = "Returns min, max and average temperature of every location, in the order of the request, in both number and text format"
+    )
+    @PostMapping("/stats")
+    public ResponseEntity<LocationsTemperatureResponse> getLocationStats(@Valid @RequestBody LocationStatsRequest request) {
+        LOGGER.info("getLocationStats api hits");
+        return ResponseEntity.ok(new LocationsTemperatureResponse(temperatureStatsService.getTemperatureStats(
+                request.getLocations(),
+                request.getStartDate(),
+                request.getEndDate())));
+    }
 }
@@ -0,0 +1,42 @@
+package com.eskimi.backend_assignment.rest.endpoint;
+
+import com.eskimi.backend_assignment.model.response.PrefetchStatusResponse;
+import com.eskimi.backend_assignment.service.weather.WeatherPrefetcher;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/weatherprefetch
+ * Status of the background weather prefetch
+ *
+ * Response:
+ *  {
+ *      "enabled": true,
+ *      "running": false,
+ *      "runs": 3,
+ *      "lastRunStarted": "2026-01-10T18:20:41.118Z",
+ *      "lastRunMillis": 412,
+ *      "lastRunRanges": 3,
+ *      "lastRunFailures": 0,
+ *      "lastError": null,
+ *      "nextRun": "2026-01-10T19:24:02.530Z"
+ *  }
+ *
+ * curl 'http://localhost:8080/actuator/weatherprefetch'
+ */
+@Component
+@Endpoint(id = "weatherprefetch")
+public class WeatherPrefetchEndpoint {
+
+    private final WeatherPrefetcher weatherPrefetcher;
+
+    public WeatherPrefetchEndpoint(WeatherPrefetcher weatherPrefetcher) {
+        this.weatherPrefetcher = weatherPrefetcher;
+    }
+
+    @ReadOperation
+    public PrefetchStatusResponse status() {
+        return weatherPrefetcher.getStatus();
+    }
+}
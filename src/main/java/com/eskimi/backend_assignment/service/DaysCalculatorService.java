@@ -1,10 +1,16 @@
 package com.eskimi.backend_assignment.service;
 
-import com.eskimi.backend_assignment.exception.InvalidDateException;
+import com.eskimi.backend_assignment.exception.DateErrorCode;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.ValidationResult;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendar;
+import com.eskimi.backend_assignment.util.EpochDays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.stream.LongStream;
+
 @Service
 public class DaysCalculatorService {
     private final Logger LOGGER = LoggerFactory.getLogger(DaysCalculatorService.class);
@@ -16,130 +22,78 @@ public class DaysCalculatorService {
      * @return Absolute number of days between the dates
      */
     public int calculateDays(String startDateStr, String endDateStr) {
-        int[] startDate = parseDate(startDateStr);
-        int[] endDate = parseDate(endDateStr);
-
-        validateDate(startDate);
-        validateDate(endDate);
-
-        int startDays = convertDateToDays(startDate);
-        int endDays = convertDateToDays(endDate);
-
-        return Math.abs(endDays - startDays);
+        return calculateDays(CalendarDate.parse(startDateStr), CalendarDate.parse(endDateStr));
     }
 
     /**
-     * Parse date string in YYYY-MM-DD format
+     * Same as {@link #calculateDays(String, String)} but reports invalid input as an error code
+     * instead of throwing, for callers where bad dates are expected (batch items, bulk imports)
      */
-    private int[] parseDate(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            throw new InvalidDateException("Date cannot be null or empty");
+    public ValidationResult<Integer> tryCalculateDays(String startDateStr, String endDateStr) {
+        ValidationResult<CalendarDate> startDate = CalendarDate.tryParse(startDateStr);
+        if (!startDate.isValid()) {
+            return ValidationResult.invalid(startDate.getErrorCode());
         }
-
-        String[] parts = dateStr.split("-");
-        if (parts.length != 3) {
-            throw new InvalidDateException("Invalid date format. Expected YYYY-MM-DD, got: " + dateStr);
-        }
-
-        try {
-            int year = Integer.parseInt(parts[0]);
-            int month = Integer.parseInt(parts[1]);
-            int day = Integer.parseInt(parts[2]);
-            return new int[]{year, month, day};
-        } catch (NumberFormatException e) {
-            throw new InvalidDateException("Invalid date values in: " + dateStr);
+        ValidationResult<CalendarDate> endDate = CalendarDate.tryParse(endDateStr);
+        if (!endDate.isValid()) {
+            return ValidationResult.invalid(endDate.getErrorCode());
         }
+        return ValidationResult.valid(calculateDays(startDate.getValue(), endDate.getValue()));
     }
 
     /**
-     * Validate if the date is valid
+     * Calculate the number of days between two already validated dates
+     * @return Absolute number of days between the dates
      */
-    private void validateDate(int[] date) {
-        int year = date[0];
-        int month = date[1];
-        int day = date[2];
-
-        if (year < 1 || year > 9999) {
-            throw new InvalidDateException("Year must be between 1 and 9999, got: " + year);
-        }
-
-        if (month < 1 || month > 12) {
-            throw new InvalidDateException("Month must be between 1 and 12, got: " + month);
-        }
-
-        int maxDay = getDaysInMonth(year, month);
-        if (day < 1 || day > maxDay) {
-            throw new InvalidDateException(
-                    String.format("Day must be between 1 and %d for month %d, got: %d", maxDay, month, day)
-            );
-        }
+    public int calculateDays(CalendarDate startDate, CalendarDate endDate) {
+        return (int) Math.abs(endDate.toEpochDay() - startDate.toEpochDay());
     }
 
     /**
-     * Convert a date to the total number of days since year 1
+     * Calculate the number of business days between two dates: the days from the earlier date
+     * (inclusive) to the later one (exclusive) that are neither weekend nor holiday.
+     * Constant time regardless of the range length, see {@link HolidayCalendar}.
      */
-    private int convertDateToDays(int[] date) {
-        int year = date[0];
-        int month = date[1];
-        int day = date[2];
-
-        int totalDays = 0;
-
-        // Add days for all complete years before the given year
-        for (int y = 1; y < year; y++) {
-            totalDays += isLeapYear(y) ? 366 : 365;
-        }
-
-        // Add days for all complete months in the current year
-        for (int m = 1; m < month; m++) {
-            totalDays += getDaysInMonth(year, m);
-        }
-
-        // Add the remaining days in the current month
-        totalDays += day;
+    public int calculateBusinessDays(CalendarDate startDate, CalendarDate endDate, HolidayCalendar calendar) {
+        return calendar.countBusinessDays(startDate, endDate);
+    }
 
-        return totalDays;
+    /**
+     * Add a number of days to a date, a negative number subtracts
+     * @return the shifted date, which must still be within 0001-01-01..9999-12-31
+     */
+    public CalendarDate addDays(CalendarDate date, long days) {
+        return tryAddDays(date, days).orElseThrow();
     }
 
     /**
-     * Check if a year is a leap year
-     * Leap year rules:
-     * - Divisible by 4
-     * - Exception: divisible by 100 (not a leap year)
-     * - Exception to exception: divisible by 400 (is a leap year)
+     * Same as {@link #addDays(CalendarDate, long)} but reports an out of range result as an error code
      */
-    private boolean isLeapYear(int year) {
-        if (year % 400 == 0) {
-            return true;
+    public ValidationResult<CalendarDate> tryAddDays(CalendarDate date, long days) {
+        long maxShift = EpochDays.MAX_EPOCH_DAY - EpochDays.MIN_EPOCH_DAY;
+        long result = date.toEpochDay() + days;
+        if (days < -maxShift || days > maxShift
+                || result < EpochDays.MIN_EPOCH_DAY || result > EpochDays.MAX_EPOCH_DAY) {
+            return ValidationResult.invalid(DateErrorCode.DATE_OUT_OF_RANGE);
         }
-        if (year % 100 == 0) {
-            return false;
-        }
-        return year % 4 == 0;
+        return ValidationResult.valid(CalendarDate.ofEpochDay(result));
     }
 
     /**
-     * Get the number of days in a specific month
+     * Every step-th date from startDate to endDate, both inclusive.
+     * The stream is generated lazily from an epoch-day counter, so even the full
+     * 0001..9999 range is never held in memory.
+     * @return epoch days of the dates in the range
      */
-    private int getDaysInMonth(int year, int month) {
-        switch (month) {
-            case 1:  // January
-            case 3:  // March
-            case 5:  // May
-            case 7:  // July
-            case 8:  // August
-            case 10: // October
-            case 12: // December
-                return 31;
-            case 4:  // April
-            case 6:  // June
-            case 9:  // September
-            case 11: // November
-                return 30;
-            case 2:  // February
-                return isLeapYear(year) ? 29 : 28;
-            default:
-                throw new InvalidDateException("Invalid month: " + month);
+    public LongStream enumerateDates(CalendarDate startDate, CalendarDate endDate, int step) {
+        if (step < 1) {
+            throw DateErrorCode.INVALID_STEP.exception();
+        }
+        if (startDate.isAfter(endDate)) {
+            throw DateErrorCode.START_AFTER_END.exception();
         }
+
+        long end = endDate.toEpochDay();
+        return LongStream.iterate(startDate.toEpochDay(), day -> day <= end, day -> day + step);
     }
 }
@@ -1,5 +1,9 @@
 package com.eskimi.backend_assignment.service;
 
+import com.eskimi.backend_assignment.exception.InvalidNumberException;
+import com.eskimi.backend_assignment.model.Words;
+import com.eskimi.backend_assignment.service.words.EnglishWordsEngine;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngine;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -8,94 +12,81 @@ import java.math.RoundingMode;
 @Service
 public class NumberToWordsService {
 
-    private static final String[] ONES = {
-            "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
-    };
+    public static final BigDecimal MAX_NUMBER = BigDecimal.valueOf(Long.MAX_VALUE);
 
-    private static final String[] ONES_FOR_INTEGER = {
-            "", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
-    };
-
-    private static final String[] TENS = {
-            "", "", "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"
-    };
-
-    private static final String[] TEENS = {
-            "ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen",
-            "sixteen", "seventeen", "eighteen", "nineteen"
-    };
+    // Up to 16 digits at scale 0..2 still fit in a long when brought to hundredths,
+    // and up to 18 digits once already at scale 2
+    private static final int MAX_UNSCALED_PRECISION = 16;
+    private static final int MAX_HUNDREDTHS_PRECISION = 18;
+    private static final long[] TO_HUNDREDTHS = {100, 10, 1};
 
+    /**
+     * Convert a number to words, rounded to 2 decimal places. The input may have any scale.
+     * @param number 0 to {@link #MAX_NUMBER}
+     */
     public String convertToWords(BigDecimal number) {
-        // Round to 2 decimal places to handle floating-point precision
-        number = number.setScale(2, RoundingMode.HALF_UP);
-
-        // Split into integer and decimal parts
-        BigDecimal integerPart = number.setScale(0, RoundingMode.DOWN);
-        BigDecimal decimalPart = number.subtract(integerPart);
-
-        StringBuilder result = new StringBuilder();
-
-        // Convert integer part
-        int intValue = integerPart.intValue();
-        if (intValue == 0) {
-            result.append("zero");
-        } else {
-            result.append(convertIntegerToWords(intValue));
-        }
-
-        // Convert decimal part if exists
-        if (decimalPart.compareTo(BigDecimal.ZERO) > 0) {
-            result.append(" point");
-
-            // Format decimal part to always have exactly 2 digits
-            String decimalStr = String.format("%.2f", decimalPart.doubleValue()).substring(2);
+        return toWords(number).toString();
+    }
 
-            for (char digit : decimalStr.toCharArray()) {
-                int digitValue = Character.getNumericValue(digit);
-                // Use ONES array which includes "zero" at index 0
-                result.append(" ").append(ONES[digitValue]);
-            }
-        }
+    /**
+     * Convert a number given in hundredths to words, e.g. 3640 is "thirty six point four zero".
+     * Same output as {@link #convertToWords(BigDecimal)} for the same value, without BigDecimal.
+     * @param hundredths 0 to Long.MAX_VALUE, that is up to 92233720368547758.07
+     */
+    public String convertToWords(long hundredths) {
+        return toWords(hundredths).toString();
+    }
 
-        return result.toString().trim();
+    /**
+     * Same as {@link #convertToWords(BigDecimal)}, but returns the words in a form that is
+     * written to JSON responses without building the text first
+     */
+    public Words toWords(BigDecimal number) {
+        return toWords(number, EnglishWordsEngine.INSTANCE);
     }
 
-    private String convertIntegerToWords(int number) {
-        if (number == 0) {
-            return "";
+    /**
+     * Same as {@link #toWords(BigDecimal)}, spelled in the engine's language
+     */
+    public Words toWords(BigDecimal number, NumberWordsEngine engine) {
+        // Up to 2 decimals needs no rounding, only the unscaled value
+        int scale = number.scale();
+        if (scale >= 0 && scale <= 2 && number.precision() <= MAX_UNSCALED_PRECISION) {
+            return toWords(number.unscaledValue().longValue() * TO_HUNDREDTHS[scale], engine);
         }
 
-        StringBuilder result = new StringBuilder();
-
-        // Handle hundreds
-        int hundreds = number / 100;
-        if (hundreds > 0) {
-            result.append(ONES_FOR_INTEGER[hundreds]).append(" hundred");
-            number %= 100;
-            if (number > 0) {
-                result.append(" ");
-            }
+        // Round to 2 decimal places to handle floating-point precision
+        number = number.setScale(2, RoundingMode.HALF_UP);
+        if (number.signum() < 0 || number.compareTo(MAX_NUMBER) > 0) {
+            throw new InvalidNumberException("Number must be between 0 and " + MAX_NUMBER + ", got: " + number);
+        }
+        if (number.precision() <= MAX_HUNDREDTHS_PRECISION) {
+            return toWords(number.unscaledValue().longValue(), engine);
         }
 
-        // Handle tens and ones
-        if (number >= 10 && number < 20) {
-            result.append(TEENS[number - 10]);
-        } else {
-            int tens = number / 10;
-            int ones = number % 10;
+        long integerPart = number.longValue();
+        // unscaled = integerPart * 100 + decimals; the low 32 bits are enough to recover the decimals
+        int decimals = number.unscaledValue().intValue() - (int) integerPart * 100;
+        return Words.of(engine, integerPart, decimals);
+    }
 
-            if (tens > 0) {
-                result.append(TENS[tens]);
-                if (ones > 0) {
-                    result.append(" ");
-                }
-            }
+    /**
+     * Same as {@link #convertToWords(long)}, but returns the words in a form that is
+     * written to JSON responses without building the text first
+     */
+    public Words toWords(long hundredths) {
+        return toWords(hundredths, EnglishWordsEngine.INSTANCE);
+    }
 
-            if (ones > 0) {
-                result.append(ONES_FOR_INTEGER[ones]);
-            }
+    /**
+     * Same as {@link #toWords(long)}, spelled in the engine's language
+     */
+    public Words toWords(long hundredths, NumberWordsEngine engine) {
+        if (hundredths < 0) {
+            throw new InvalidNumberException("Number must be between 0 and " + MAX_NUMBER
+                    + ", got: " + BigDecimal.valueOf(hundredths, 2));
         }
-
-        return result.toString();
+        // 0.00..999.99 is a single table lookup when written or turned into a String
+        return Words.of(engine, hundredths / 100, (int) (hundredths % 100));
     }
 }
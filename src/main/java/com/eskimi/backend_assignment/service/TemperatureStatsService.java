@@ -1,115 +1,421 @@
 package com.eskimi.backend_assignment.service;
 
-import com.eskimi.backend_assignment.exception.InvalidDateException;
+import com.eskimi.backend_assignment.exception.DateErrorCode;
+import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.ValidationResult;
+import com.eskimi.backend_assignment.model.Words;
+import com.eskimi.backend_assignment.model.request.Location;
+import com.eskimi.backend_assignment.model.response.LocationTemperatureResponse;
 import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
 import com.eskimi.backend_assignment.model.response.TemperatureResponse;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureIndex;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot.DayRange;
+import com.eskimi.backend_assignment.service.weather.TemperatureStatsCache;
+import com.eskimi.backend_assignment.util.Hundredths;
+import com.eskimi.backend_assignment.util.SeriesStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 @Service
 public class TemperatureStatsService {
 
+    // Upstream requests per range at most; missing days further apart are fetched together
+    private static final int MAX_GAP_REQUESTS = 4;
+
     private final WeatherService weatherService;
     private final TemperatureTextConverter temperatureTextConverter;
+    private final TemperatureStatsCache temperatureStatsCache;
+    private final DailyTemperatureSnapshot dailyTemperatureSnapshot;
+    private final double aboveThreshold;
+    private final double belowThreshold;
+    private final Clock clock;
 
+    @Autowired
     public TemperatureStatsService(WeatherService weatherService,
-                                   TemperatureTextConverter temperatureTextConverter) {
+                                   TemperatureTextConverter temperatureTextConverter,
+                                   TemperatureStatsCache temperatureStatsCache,
+                                   DailyTemperatureSnapshot dailyTemperatureSnapshot,
+                                   @Value("${weather.stats.above-threshold:30}") double aboveThreshold,
+                                   @Value("${weather.stats.below-threshold:20}") double belowThreshold) {
+        this(weatherService, temperatureTextConverter, temperatureStatsCache, dailyTemperatureSnapshot,
+                aboveThreshold, belowThreshold, Clock.system(WeatherService.DHAKA_ZONE));
+    }
+
+    /**
+     * @param aboveThreshold daily mean temperature that the days of {@code daysAbove} exceed
+     * @param belowThreshold daily mean temperature that the days of {@code daysBelow} stay under
+     * @param clock          decides what today is, in the zone the daily values are reported in
+     */
+    public TemperatureStatsService(WeatherService weatherService,
+                                   TemperatureTextConverter temperatureTextConverter,
+                                   TemperatureStatsCache temperatureStatsCache,
+                                   DailyTemperatureSnapshot dailyTemperatureSnapshot,
+                                   double aboveThreshold, double belowThreshold, Clock clock) {
         this.weatherService = weatherService;
         this.temperatureTextConverter = temperatureTextConverter;
+        this.temperatureStatsCache = temperatureStatsCache;
+        this.dailyTemperatureSnapshot = dailyTemperatureSnapshot;
+        this.aboveThreshold = aboveThreshold;
+        this.belowThreshold = belowThreshold;
+        this.clock = clock;
     }
 
     public TemperatureResponse getTemperatureStats(String startDate, String endDate) {
-        validateDates(startDate, endDate);
+        return getTemperatureStats(CalendarDate.parse(startDate), CalendarDate.parse(endDate));
+    }
 
-        OpenMeteoResponse weatherData = weatherService.getTemperatureData(startDate, endDate);
+    /**
+     * Statistics of a validated range, served from {@link TemperatureStatsCache} when possible
+     */
+    public TemperatureResponse getTemperatureStats(CalendarDate startDate, CalendarDate endDate) {
+        return getTemperatureStats(startDate, endDate, false);
+    }
 
-        if (weatherData == null || weatherData.getDaily() == null) {
+    /**
+     * @param extended also compute the median, p10, p90, standard deviation and threshold counts
+     *                 of the daily mean temperatures, which needs the daily values of the range
+     *                 rather than the snapshot's index
+     */
+    public TemperatureResponse getTemperatureStats(CalendarDate startDate, CalendarDate endDate, boolean extended) {
+        validateDates(startDate, endDate).orElseThrow();
+        return temperatureStatsCache.get(startDate, endDate, extended,
+                () -> computeTemperatureStats(startDate, endDate, extended));
+    }
+
+    public Mono<TemperatureResponse> getTemperatureStatsAsync(CalendarDate startDate, CalendarDate endDate) {
+        return getTemperatureStatsAsync(startDate, endDate, false);
+    }
+
+    /**
+     * Same as {@link #getTemperatureStats(CalendarDate, CalendarDate, boolean)}, but a cache miss
+     * waits for the upstream response without blocking a thread. Invalid dates throw right away.
+     */
+    public Mono<TemperatureResponse> getTemperatureStatsAsync(CalendarDate startDate, CalendarDate endDate,
+                                                              boolean extended) {
+        validateDates(startDate, endDate).orElseThrow();
+
+        TemperatureResponse cached = temperatureStatsCache.getIfPresent(startDate, endDate, extended);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        DailyTemperatureIndex.Summary summary = extended ? null : dailyTemperatureSnapshot.summarize(
+                startDate.toEpochDay(), endDate.toEpochDay());
+        if (summary != null) {
+            TemperatureResponse response = toResponse(summary);
+            temperatureStatsCache.put(startDate, endDate, response);
+            return Mono.just(response);
+        }
+        List<DayRange> gaps = dailyTemperatureSnapshot.missingRanges(
+                startDate.toEpochDay(), endDate.toEpochDay(), MAX_GAP_REQUESTS);
+        Mono<OpenMeteoResponse.Daily> daily = assemble(startDate, endDate, gaps, this::fetchDailyAsync);
+
+        return daily.map(values -> toResponse(values, extended))
+                .doOnNext(response -> temperatureStatsCache.put(startDate, endDate, extended, response));
+    }
+
+    /**
+     * Fetches the days of a validated range again, recorded or not, as Open-Meteo revises recent
+     * days after its model updates. New and revised values are recorded, and when there are any
+     * the cached statistics of every range containing one of the days are dropped.
+     * @return number of days recorded with new or revised values
+     */
+    public int refreshDays(CalendarDate startDate, CalendarDate endDate) {
+        validateDates(startDate, endDate).orElseThrow();
+
+        int updated = fetchAndRecord(new DayRange(startDate.toEpochDay(), endDate.toEpochDay()));
+        if (updated > 0) {
+            temperatureStatsCache.invalidate(startDate, endDate);
+        }
+        return updated;
+    }
+
+    /**
+     * Statistics of every location over the same validated range. The weather data of all
+     * locations comes from as few upstream requests as possible, see
+     * {@link WeatherService#getTemperatureData(List, String, String)}, and the statistics of the
+     * locations are computed in parallel.
+     * @return one entry per location, in the order of the locations
+     */
+    public List<LocationTemperatureResponse> getTemperatureStats(List<Location> locations,
+                                                                 CalendarDate startDate, CalendarDate endDate) {
+        validateDates(startDate, endDate).orElseThrow();
+
+        List<OpenMeteoResponse> weatherData = weatherService.getTemperatureData(
+                locations, startDate.toString(), endDate.toString());
+        if (weatherData == null || weatherData.size() != locations.size()) {
             throw new RuntimeException("No weather data available");
         }
 
-        OpenMeteoResponse.Daily daily = weatherData.getDaily();
+        return IntStream.range(0, locations.size())
+                .parallel()
+                .mapToObj(i -> {
+                    Location location = locations.get(i);
+                    OpenMeteoResponse.Daily daily = weatherData.get(i).getDaily();
+                    if (daily == null) {
+                        throw new RuntimeException("No weather data available");
+                    }
+                    return new LocationTemperatureResponse(location.getName(), location.getLatitude(),
+                            location.getLongitude(), toResponse(daily));
+                })
+                .toList();
+    }
+
+    private TemperatureResponse computeTemperatureStats(CalendarDate startDate, CalendarDate endDate,
+                                                        boolean extended) {
+        // A range recorded before, possibly by an earlier run, is answered by the index
+        DailyTemperatureIndex.Summary summary = extended ? null : dailyTemperatureSnapshot.summarize(
+                startDate.toEpochDay(), endDate.toEpochDay());
+        if (summary != null) {
+            return toResponse(summary);
+        }
+
+        // Otherwise only the days not recorded yet are fetched
+        List<DayRange> gaps = dailyTemperatureSnapshot.missingRanges(
+                startDate.toEpochDay(), endDate.toEpochDay(), MAX_GAP_REQUESTS);
+        // A single gap is fetched on this thread, several at once
+        Function<DayRange, Mono<OpenMeteoResponse.Daily>> fetch = gaps.size() == 1
+                ? gap -> Mono.fromSupplier(() -> fetchDaily(gap))
+                : this::fetchDailyAsync;
+        return toResponse(assemble(startDate, endDate, gaps, fetch).block(), extended);
+    }
+
+    /**
+     * Daily values of a range: recorded days read from the snapshot, the gaps between them
+     * fetched upstream concurrently, merged in day order
+     */
+    private Mono<OpenMeteoResponse.Daily> assemble(CalendarDate startDate, CalendarDate endDate, List<DayRange> gaps,
+                                                   Function<DayRange, Mono<OpenMeteoResponse.Daily>> fetch) {
+        List<Mono<OpenMeteoResponse.Daily>> parts = new ArrayList<>(gaps.size() * 2 + 1);
+        long next = startDate.toEpochDay();
+        for (DayRange gap : gaps) {
+            if (gap.startDay() > next) {
+                parts.add(recorded(next, gap.startDay() - 1, fetch));
+            }
+            parts.add(fetch.apply(gap));
+            next = gap.endDay() + 1;
+        }
+        if (next <= endDate.toEpochDay()) {
+            parts.add(recorded(next, endDate.toEpochDay(), fetch));
+        }
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        return Flux.mergeSequential(parts)
+                .collectList()
+                .map(dailies -> new OpenMeteoResponse.Daily(
+                        concat(dailies, OpenMeteoResponse.Daily::getTemperatureMax),
+                        concat(dailies, OpenMeteoResponse.Daily::getTemperatureMin),
+                        concat(dailies, OpenMeteoResponse.Daily::getTemperatureMean)));
+    }
+
+    private static double[] concat(List<OpenMeteoResponse.Daily> dailies,
+                                   Function<OpenMeteoResponse.Daily, double[]> column) {
+        int days = 0;
+        for (OpenMeteoResponse.Daily daily : dailies) {
+            double[] part = column.apply(daily);
+            days += part == null ? 0 : part.length;
+        }
+        double[] values = new double[days];
+        int next = 0;
+        for (OpenMeteoResponse.Daily daily : dailies) {
+            double[] part = column.apply(daily);
+            if (part != null) {
+                System.arraycopy(part, 0, values, next, part.length);
+                next += part.length;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Recorded days of a range. A day can still come up short, when another thread is rewriting
+     * it with revised values as the merged gap of an earlier request, so then the days are fetched.
+     */
+    private Mono<OpenMeteoResponse.Daily> recorded(long startDay, long endDay,
+                                                   Function<DayRange, Mono<OpenMeteoResponse.Daily>> fetch) {
+        return Mono.fromSupplier(() -> dailyTemperatureSnapshot.read(startDay, endDay))
+                .switchIfEmpty(Mono.defer(() -> fetch.apply(new DayRange(startDay, endDay))));
+    }
+
+    private TemperatureResponse toResponse(OpenMeteoResponse.Daily daily) {
+        return toResponse(daily, false);
+    }
+
+    private TemperatureResponse toResponse(OpenMeteoResponse.Daily daily, boolean extended) {
+        double[] means = daily.getTemperatureMean();
+        if (!extended) {
+            return toResponse(calculateMin(daily.getTemperatureMin()),
+                    calculateMax(daily.getTemperatureMax()),
+                    calculateAverage(means));
+        }
 
-        // Calculate statistics
-        Double minTemp = calculateMin(daily.getTemperatureMin());
-        Double maxTemp = calculateMax(daily.getTemperatureMax());
-        Double avgTemp = calculateAverage(daily.getTemperatureMean());
+        // The extended statistics all describe the daily means, without any there is nothing to compute them from
+        if (means == null) {
+            throw noValues("mean");
+        }
+        // One sweep over the daily means gives the average along with the extended statistics
+        SeriesStatistics.Summary summary = SeriesStatistics.summarize(means, aboveThreshold, belowThreshold);
+        if (summary.count() == 0) {
+            throw noValues("mean");
+        }
+        TemperatureResponse response = toResponse(calculateMin(daily.getTemperatureMin()),
+                calculateMax(daily.getTemperatureMax()),
+                round(summary.mean()));
+        response.setMedian(round(summary.median()));
+        response.setP10(round(summary.p10()));
+        response.setP90(round(summary.p90()));
+        response.setStandardDeviation(round(summary.standardDeviation()));
+        response.setDaysAbove(summary.above());
+        response.setDaysBelow(summary.below());
+        return response;
+    }
 
+    private TemperatureResponse toResponse(DailyTemperatureIndex.Summary summary) {
+        return toResponse(round(summary.min()), round(summary.max()), round(summary.mean()));
+    }
+
+    private TemperatureResponse toResponse(double minTemp, double maxTemp, double avgTemp) {
         // Convert to text
-        String minText = temperatureTextConverter.convertTemperatureToText(minTemp);
-        String maxText = temperatureTextConverter.convertTemperatureToText(maxTemp);
-        String avgText = temperatureTextConverter.convertTemperatureToText(avgTemp);
+        Words minText = temperatureTextConverter.toTemperatureWords(minTemp);
+        Words maxText = temperatureTextConverter.toTemperatureWords(maxTemp);
+        Words avgText = temperatureTextConverter.toTemperatureWords(avgTemp);
 
         return new TemperatureResponse(minTemp, maxTemp, avgTemp, minText, maxText, avgText);
     }
 
-    private void validateDates(String startDate, String endDate) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private OpenMeteoResponse.Daily fetchDaily(DayRange range) {
+        OpenMeteoResponse.Daily daily = fetchUpstream(range);
+        dailyTemperatureSnapshot.append(range.startDay(), daily);
+        return daily;
+    }
 
-        try {
-            LocalDate start = LocalDate.parse(startDate, formatter);
-            LocalDate end = LocalDate.parse(endDate, formatter);
-            LocalDate today = LocalDate.now();
+    private int fetchAndRecord(DayRange range) {
+        return dailyTemperatureSnapshot.append(range.startDay(), fetchUpstream(range));
+    }
 
-            if (start.isAfter(end)) {
-                throw new InvalidDateException("Start date must be before or equal to end date");
-            }
+    private OpenMeteoResponse.Daily fetchUpstream(DayRange range) {
+        OpenMeteoResponse weatherData = weatherService.getTemperatureData(
+                CalendarDate.ofEpochDay(range.startDay()).toString(), CalendarDate.ofEpochDay(range.endDay()).toString());
 
-            if (start.isAfter(today)) {
-                throw new InvalidDateException("Start date cannot be in the future");
-            }
+        if (weatherData == null || weatherData.getDaily() == null) {
+            throw new RuntimeException("No weather data available");
+        }
+        return weatherData.getDaily();
+    }
 
-            // Open-Meteo historical data limitation
-            LocalDate minDate = LocalDate.now().minusYears(1);
-            if (start.isBefore(minDate)) {
-                throw new InvalidDateException(
-                        "Start date is too far in the past. Maximum historical data is 1 year");
-            }
+    private Mono<OpenMeteoResponse.Daily> fetchDailyAsync(DayRange range) {
+        return weatherService.getTemperatureDataAsync(
+                        CalendarDate.ofEpochDay(range.startDay()).toString(),
+                        CalendarDate.ofEpochDay(range.endDay()).toString())
+                .filter(weatherData -> weatherData.getDaily() != null)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("No weather data available")))
+                .map(weatherData -> {
+                    dailyTemperatureSnapshot.appendAsync(range.startDay(), weatherData.getDaily());
+                    return weatherData.getDaily();
+                });
+    }
+
+    /**
+     * Check that a range can be served from the historical weather data
+     * @return ok, or the reason the range is rejected
+     */
+    public ValidationResult<Void> validateDates(CalendarDate start, CalendarDate end) {
+        // Dhaka's today, as for the cache and the snapshot, whatever the zone of the host
+        LocalDate today = LocalDate.now(clock);
+
+        if (start.isAfter(end)) {
+            return ValidationResult.invalid(DateErrorCode.START_AFTER_END);
+        }
+
+        if (start.toEpochDay() > today.toEpochDay()) {
+            return ValidationResult.invalid(DateErrorCode.START_IN_FUTURE);
+        }
 
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateException("Invalid date format. Use YYYY-MM-DD");
+        // Open-Meteo historical data limitation
+        long minDay = today.minusYears(1).toEpochDay();
+        if (start.toEpochDay() < minDay) {
+            return ValidationResult.invalid(DateErrorCode.START_TOO_FAR_IN_PAST);
         }
+        return ValidationResult.ok();
     }
 
-    private Double calculateMin(List<Double> temperatures) {
-        if (temperatures == null || temperatures.isEmpty()) {
-            return null;
+    /**
+     * Days without a value (NaN) are left out
+     * @throws WeatherApiException when no day has one, as the statistics would have nothing to show
+     */
+    private double calculateMin(double[] temperatures) {
+        if (temperatures == null) {
+            throw noValues("minimum");
+        }
+        double min = Double.POSITIVE_INFINITY;
+        int days = 0;
+        for (double temperature : temperatures) {
+            if (!Double.isNaN(temperature)) {
+                min = Math.min(min, temperature);
+                days++;
+            }
         }
-        return round(temperatures.stream()
-                .mapToDouble(Double::doubleValue)
-                .min()
-                .orElse(0.0));
+        if (days == 0) {
+            throw noValues("minimum");
+        }
+        return round(min);
     }
 
-    private Double calculateMax(List<Double> temperatures) {
-        if (temperatures == null || temperatures.isEmpty()) {
-            return null;
+    private double calculateMax(double[] temperatures) {
+        if (temperatures == null) {
+            throw noValues("maximum");
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        int days = 0;
+        for (double temperature : temperatures) {
+            if (!Double.isNaN(temperature)) {
+                max = Math.max(max, temperature);
+                days++;
+            }
         }
-        return round(temperatures.stream()
-                .mapToDouble(Double::doubleValue)
-                .max()
-                .orElse(0.0));
+        if (days == 0) {
+            throw noValues("maximum");
+        }
+        return round(max);
     }
 
-    private Double calculateAverage(List<Double> temperatures) {
-        if (temperatures == null || temperatures.isEmpty()) {
-            return null;
+    private double calculateAverage(double[] temperatures) {
+        if (temperatures == null) {
+            throw noValues("mean");
         }
-        return round(temperatures.stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0));
+        double sum = 0;
+        int days = 0;
+        for (double temperature : temperatures) {
+            if (!Double.isNaN(temperature)) {
+                sum += temperature;
+                days++;
+            }
+        }
+        if (days == 0) {
+            throw noValues("mean");
+        }
+        return round(sum / days);
+    }
+
+    private static WeatherApiException noValues(String column) {
+        return new WeatherApiException("Weather API returned no daily " + column + " temperatures");
     }
 
-    private Double round(double value) {
-        return BigDecimal.valueOf(value)
-                .setScale(2, RoundingMode.HALF_UP)
-                .doubleValue();
+    private double round(double value) {
+        return Hundredths.roundToDouble(value);
     }
 }
 
@@ -1,5 +1,8 @@
 package com.eskimi.backend_assignment.service;
 
+import com.eskimi.backend_assignment.model.Words;
+import com.eskimi.backend_assignment.util.Hundredths;
+import com.fasterxml.jackson.core.io.SerializedString;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -8,6 +11,12 @@ import java.math.RoundingMode;
 @Service
 public class TemperatureTextConverter {
 
+    private static final SerializedString MINUS = new SerializedString("minus ");
+    private static final SerializedString POSITIVE = new SerializedString("positive ");
+
+    // Beyond this the rounded value in hundredths may not fit in a long
+    private static final double MAX_PRIMITIVE_TEMPERATURE = 1e16;
+
     private final NumberToWordsService numberToWordsService;
 
     public TemperatureTextConverter(NumberToWordsService numberToWordsService) {
@@ -20,27 +29,53 @@ public class TemperatureTextConverter {
      * @return
      */
     public String convertTemperatureToText(Double temperature) {
+        return toTemperatureWords(temperature).toString();
+    }
+
+    /**
+     * Same as {@link #convertTemperatureToText(Double)} without boxing or BigDecimal
+     */
+    public String convertTemperatureToText(double temperature) {
+        return toTemperatureWords(temperature).toString();
+    }
+
+    /**
+     * Same as {@link #convertTemperatureToText(Double)}, but returns the words in a form that is
+     * written to JSON responses without building the text first
+     */
+    public Words toTemperatureWords(Double temperature) {
         if (temperature == null) {
-            return "";
+            return Words.EMPTY;
+        }
+        return toTemperatureWords(temperature.doubleValue());
+    }
+
+    public Words toTemperatureWords(double temperature) {
+        if (!(Math.abs(temperature) < MAX_PRIMITIVE_TEMPERATURE)) {
+            return toTemperatureWords(BigDecimal.valueOf(temperature));
         }
 
+        // Round to 2 decimal places, half up like BigDecimal
+        long hundredths = Hundredths.round(temperature);
+        SerializedString prefix = hundredths < 0 ? MINUS : POSITIVE;
+        return numberToWordsService.toWords(Math.abs(hundredths)).withPrefix(prefix);
+    }
+
+    private Words toTemperatureWords(BigDecimal temperature) {
         // Round to 2 decimal places
-        BigDecimal temp = BigDecimal.valueOf(temperature)
-                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal temp = temperature.setScale(2, RoundingMode.HALF_UP);
 
-        String prefix;
+        SerializedString prefix;
         BigDecimal absTemp;
 
         if (temp.compareTo(BigDecimal.ZERO) < 0) {
-            prefix = "minus";
+            prefix = MINUS;
             absTemp = temp.abs();
         } else {
-            prefix = "positive";
+            prefix = POSITIVE;
             absTemp = temp;
         }
 
-        String numberWords = numberToWordsService.convertToWords(absTemp);
-
-        return prefix + " " + numberWords;
+        return numberToWordsService.toWords(absTemp).withPrefix(prefix);
     }
 }
@@ -1,44 +1,208 @@
 package com.eskimi.backend_assignment.service;
 
 import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.model.request.Location;
 import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.weather.OpenMeteoResponseReader;
+import com.eskimi.backend_assignment.service.weather.UpstreamResilience;
+import com.eskimi.backend_assignment.util.SingleFlight;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class WeatherService {
 
-    private static final String OPEN_METEO_URL = "https://api.open-meteo.com/v1/forecast";
+    /**
+     * Time zone the daily values are reported in, which decides what "today" is
+     */
+    public static final ZoneId DHAKA_ZONE = ZoneId.of("Asia/Dhaka");
+
     private static final double DHAKA_LATITUDE = 23.8103;
     private static final double DHAKA_LONGITUDE = 90.4125;
+    // A year of daily values is ~15 KB per location
+    private static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+    private static final UpstreamLocations DHAKA = UpstreamLocations.of(
+            List.of(new Location("Dhaka", DHAKA_LATITUDE, DHAKA_LONGITUDE)));
 
+    private final ConnectionProvider connectionProvider;
     private final WebClient webClient;
+    private final UpstreamResilience upstreamResilience;
+    private final int maxLocationsPerCall;
+    private final SingleFlight<UpstreamRequest, List<OpenMeteoResponse>> inFlightRequests = new SingleFlight<>();
 
-    public WeatherService(WebClient.Builder webClientBuilder) {
+    /**
+     * @param maxConnections open connections to Open-Meteo; further requests wait for one
+     *                       without holding a thread
+     * @param maxLocationsPerCall locations fetched by one upstream request, more are split over several
+     * @param upstreamResilience circuit breaker, bulkhead and hedging around every upstream request
+     */
+    public WeatherService(WebClient.Builder webClientBuilder,
+                          @Value("${weather.open-meteo.url:https://api.open-meteo.com/v1/forecast}") String openMeteoUrl,
+                          @Value("${weather.open-meteo.max-connections:500}") int maxConnections,
+                          @Value("${weather.open-meteo.max-locations-per-call:200}") int maxLocationsPerCall,
+                          UpstreamResilience upstreamResilience) {
+        this.upstreamResilience = upstreamResilience;
+        this.maxLocationsPerCall = maxLocationsPerCall;
+        this.connectionProvider = ConnectionProvider.builder("open-meteo")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
         this.webClient = webClientBuilder
-                .baseUrl(OPEN_METEO_URL)
+                .baseUrl(openMeteoUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
                 .build();
     }
 
+    /**
+     * Daily temperatures of Dhaka. Concurrent calls for the same range share one upstream
+     * request and all get its response, or all get its {@link WeatherApiException}.
+     */
     public OpenMeteoResponse getTemperatureData(String startDate, String endDate) {
-        try {
-            return webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .queryParam("latitude", DHAKA_LATITUDE)
-                            .queryParam("longitude", DHAKA_LONGITUDE)
-                            .queryParam("start_date", startDate)
-                            .queryParam("end_date", endDate)
-                            .queryParam("daily", "temperature_2m_max,temperature_2m_min,temperature_2m_mean")
-                            .queryParam("timezone", "Asia/Dhaka")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(OpenMeteoResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-        } catch (Exception e) {
-            throw new WeatherApiException("Failed to fetch weather data: " + e.getMessage());
+        return first(fetchShared(DHAKA, startDate, endDate));
+    }
+
+    /**
+     * Same as {@link #getTemperatureData(String, String)} without blocking the calling thread.
+     * Shares in-flight requests with blocking callers.
+     */
+    public Mono<OpenMeteoResponse> getTemperatureDataAsync(String startDate, String endDate) {
+        return fetchSharedAsync(DHAKA, startDate, endDate).flatMap(responses -> Mono.justOrEmpty(first(responses)));
+    }
+
+    /**
+     * Daily temperatures of many locations. Open-Meteo takes comma separated coordinate lists,
+     * so up to {@code weather.open-meteo.max-locations-per-call} locations cost one upstream
+     * request; more are split into several requests that run concurrently.
+     * @return one response per location, in the order of the locations
+     */
+    public List<OpenMeteoResponse> getTemperatureData(List<Location> locations, String startDate, String endDate) {
+        return getTemperatureDataAsync(locations, startDate, endDate).block();
+    }
+
+    /**
+     * Same as {@link #getTemperatureData(List, String, String)} without blocking the calling thread
+     */
+    public Mono<List<OpenMeteoResponse>> getTemperatureDataAsync(List<Location> locations,
+                                                                 String startDate, String endDate) {
+        return Flux.range(0, (locations.size() + maxLocationsPerCall - 1) / maxLocationsPerCall)
+                .map(batch -> locations.subList(batch * maxLocationsPerCall,
+                        Math.min(locations.size(), (batch + 1) * maxLocationsPerCall)))
+                .flatMapSequential(batch -> fetchSharedAsync(UpstreamLocations.of(batch), startDate, endDate))
+                .flatMapIterable(responses -> responses)
+                .collectList();
+    }
+
+    private List<OpenMeteoResponse> fetchShared(UpstreamLocations locations, String startDate, String endDate) {
+        UpstreamRequest request = new UpstreamRequest(locations, startDate, endDate);
+        return inFlightRequests.execute(request, () -> fetchTemperatureData(locations, startDate, endDate).block());
+    }
+
+    private Mono<List<OpenMeteoResponse>> fetchSharedAsync(UpstreamLocations locations,
+                                                           String startDate, String endDate) {
+        UpstreamRequest request = new UpstreamRequest(locations, startDate, endDate);
+        // Cancelling one subscriber must not cancel the request the others are waiting for
+        return Mono.defer(() -> Mono.fromFuture(inFlightRequests.executeAsync(
+                request, () -> fetchTemperatureData(locations, startDate, endDate).toFuture()), true));
+    }
+
+    private static OpenMeteoResponse first(List<OpenMeteoResponse> responses) {
+        return responses == null || responses.isEmpty() ? null : responses.get(0);
+    }
+
+    /**
+     * @return number of calls that were answered by an identical request already in flight
+     */
+    public long getCoalescedRequests() {
+        return inFlightRequests.getSharedCalls();
+    }
+
+    private Mono<List<OpenMeteoResponse>> fetchTemperatureData(UpstreamLocations locations,
+                                                               String startDate, String endDate) {
+        return upstreamResilience.execute(() -> request(locations, startDate, endDate))
+                .onErrorMap(e -> !(e instanceof WeatherApiException),
+                        e -> new WeatherApiException("Failed to fetch weather data: " + e.getMessage()));
+    }
+
+    /**
+     * One upstream request. Open-Meteo answers a single location with an object and several with
+     * an array of objects in the order of the coordinates. The body is read straight from the
+     * pooled network buffers by {@link OpenMeteoResponseReader}, not through the JSON codec.
+     */
+    private Mono<List<OpenMeteoResponse>> request(UpstreamLocations locations, String startDate, String endDate) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("latitude", locations.latitudes())
+                        .queryParam("longitude", locations.longitudes())
+                        .queryParam("start_date", startDate)
+                        .queryParam("end_date", endDate)
+                        .queryParam("daily", "temperature_2m_max,temperature_2m_min,temperature_2m_mean")
+                        .queryParam("timezone", DHAKA_ZONE.getId())
+                        .build())
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> DataBufferUtils.join(body, MAX_BODY_BYTES))
+                .map(WeatherService::read)
+                .defaultIfEmpty(List.of())
+                .timeout(Duration.ofSeconds(10))
+                // An empty body is a failed request like any other, not a batch without weather data
+                .flatMap(responses -> responses.size() == locations.count()
+                        ? Mono.just(responses)
+                        : Mono.error(new WeatherApiException("Expected weather data of " + locations.count()
+                                + " locations, got " + responses.size())));
+    }
+
+    private static List<OpenMeteoResponse> read(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return OpenMeteoResponseReader.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    private record UpstreamRequest(UpstreamLocations locations, String startDate, String endDate) {
+    }
+
+    /**
+     * Coordinates in the comma separated form Open-Meteo takes
+     */
+    private record UpstreamLocations(String latitudes, String longitudes, int count) {
+        static UpstreamLocations of(List<Location> locations) {
+            return new UpstreamLocations(
+                    locations.stream().map(location -> coordinate(location.getLatitude()))
+                            .collect(Collectors.joining(",")),
+                    locations.stream().map(location -> coordinate(location.getLongitude()))
+                            .collect(Collectors.joining(",")),
+                    locations.size());
+        }
+
+        /**
+         * Plain decimal, never the scientific notation String.valueOf gives below 1e-3 or from 1e7
+         */
+        private static String coordinate(double degrees) {
+            return BigDecimal.valueOf(degrees).stripTrailingZeros().toPlainString();
         }
     }
 }
@@ -0,0 +1,23 @@
+package com.eskimi.backend_assignment.service;
+
+import com.eskimi.backend_assignment.service.words.EnglishWordsParser;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * The inverse of {@link NumberToWordsService}, for amounts received as English text
+ */
+@Service
+public class WordsToNumberService {
+
+    /**
+     * Convert English number words to a number, e.g. "thirty six point four zero" is 36.40.
+     * Accepts the output of {@link NumberToWordsService} and the temperature words of
+     * {@link TemperatureTextConverter}, which may start with "minus" or "positive".
+     * @throws com.eskimi.backend_assignment.exception.InvalidNumberException when the words are not a number
+     */
+    public BigDecimal convertToNumber(CharSequence words) {
+        return EnglishWordsParser.INSTANCE.parse(words);
+    }
+}
@@ -0,0 +1,152 @@
+package com.eskimi.backend_assignment.service.batch;
+
+import com.eskimi.backend_assignment.exception.InvalidDateException;
+import com.eskimi.backend_assignment.exception.InvalidNumberException;
+import com.eskimi.backend_assignment.model.response.BatchItemError;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streams a batch of JSON items (either a JSON array or NDJSON) through a handler
+ * and writes one NDJSON line per item. Items are read and written one at a time,
+ * so memory use does not depend on the batch size.
+ * <p>
+ * A bad item produces a {@link BatchItemError} line instead of failing the batch.
+ * Only malformed JSON stops the stream, since the parser cannot find the next item.
+ */
+@Component
+public class NdjsonBatchProcessor {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final Logger LOGGER = LoggerFactory.getLogger(NdjsonBatchProcessor.class);
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public NdjsonBatchProcessor(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * @param in       request body, a JSON array or newline delimited JSON items
+     * @param out      response body, receives one JSON line per item
+     * @param itemType type each item is bound to
+     * @param handler  converts a valid item to the object written for it
+     * @return number of items processed
+     */
+    public <T> long process(InputStream in, OutputStream out, Class<T> itemType,
+                            Function<T, ?> handler) throws IOException {
+        long index = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+
+            MappingIterator<T> items;
+            try {
+                items = objectMapper.readerFor(itemType).readValues(in);
+            } catch (JsonParseException e) {
+                writeLine(generator, error(index, "Malformed JSON", e.getOriginalMessage()));
+                return index;
+            }
+
+            try (items) {
+                while (true) {
+                    Object line;
+                    try {
+                        if (!items.hasNextValue()) {
+                            break;
+                        }
+                        line = handle(index, items.nextValue(), handler);
+                    } catch (JsonParseException e) {
+                        writeLine(generator, error(index, "Malformed JSON", e.getOriginalMessage()));
+                        break;
+                    } catch (InvalidDateException e) {
+                        // Thrown unwrapped by the date deserializer when Jackson's exception wrapping is off
+                        line = dateError(index, e);
+                    } catch (JsonMappingException e) {
+                        line = e.getCause() instanceof InvalidDateException invalidDate
+                                ? dateError(index, invalidDate)
+                                : error(index, "Invalid Item", e.getOriginalMessage());
+                    }
+                    writeLine(generator, line);
+                    index++;
+
+                    // Push results out whenever we would otherwise block waiting for more input
+                    if (in.available() == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        }
+        LOGGER.info("Processed batch of {} items", index);
+        return index;
+    }
+
+    private <T> Object handle(long index, T item, Function<T, ?> handler) {
+        if (item == null) {
+            return error(index, "Invalid Item", "Item cannot be null");
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new HashMap<>();
+            violations.forEach(violation ->
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+            return BatchItemError.builder()
+                    .index(index)
+                    .error("Validation Error")
+                    .errors(errors)
+                    .build();
+        }
+
+        try {
+            return handler.apply(item);
+        } catch (InvalidDateException e) {
+            return dateError(index, e);
+        } catch (InvalidNumberException e) {
+            return error(index, "Invalid Number", e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.error("Batch item {} failed", index, e);
+            return error(index, "Internal Server Error", e.getMessage());
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, Object line) throws IOException {
+        generator.writeObject(line);
+        generator.writeRaw('\n');
+    }
+
+    private BatchItemError dateError(long index, InvalidDateException e) {
+        return BatchItemError.builder()
+                .index(index)
+                .error("Invalid Date")
+                .code(e.getErrorCode() == null ? null : e.getErrorCode().name())
+                .message(e.getMessage())
+                .build();
+    }
+
+    private BatchItemError error(long index, String error, String message) {
+        return BatchItemError.builder()
+                .index(index)
+                .error(error)
+                .message(message)
+                .build();
+    }
+}
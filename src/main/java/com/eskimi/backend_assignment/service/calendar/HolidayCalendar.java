@@ -0,0 +1,109 @@
+package com.eskimi.backend_assignment.service.calendar;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.util.EpochDays;
+
+import java.time.DayOfWeek;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Business-day calendar over the full supported range 0001-01-01..9999-12-31.
+ * <p>
+ * Every day is one bit (set for a business day) in a flat bitset, which is simply the
+ * per-year bitsets laid end to end. Next to it sits a table with the number of business
+ * days before each 64-bit word. Counting the business days of any range is then two
+ * rank lookups, each one table read plus one popcount, no matter how long the range is.
+ * <p>
+ * Memory is about 680 KB per calendar and it is immutable once built.
+ */
+public final class HolidayCalendar {
+
+    private static final int TOTAL_DAYS = (int) (EpochDays.MAX_EPOCH_DAY - EpochDays.MIN_EPOCH_DAY + 1);
+
+    private final String name;
+    private final Set<DayOfWeek> weekend;
+    private final int holidayCount;
+    private final long[] businessDays;
+    private final int[] businessDaysBeforeWord;
+
+    public HolidayCalendar(String name, Set<DayOfWeek> weekend, Collection<CalendarDate> holidays) {
+        this.name = name;
+        this.weekend = Set.copyOf(weekend);
+
+        // One spare word so that the exclusive end of the range can be ranked without a special case
+        int words = (TOTAL_DAYS >>> 6) + 1;
+        businessDays = new long[words];
+
+        boolean[] weekendByIndex = new boolean[7];
+        for (DayOfWeek dayOfWeek : weekend) {
+            weekendByIndex[dayOfWeek.getValue() - 1] = true;
+        }
+
+        // 0001-01-01 is a Monday, so day index % 7 is the ISO day of week minus one
+        for (int index = 0; index < TOTAL_DAYS; index++) {
+            if (!weekendByIndex[index % 7]) {
+                businessDays[index >>> 6] |= 1L << index;
+            }
+        }
+
+        int removed = 0;
+        for (CalendarDate holiday : holidays) {
+            int index = toIndex(holiday.toEpochDay());
+            long bit = 1L << index;
+            if ((businessDays[index >>> 6] & bit) != 0) {
+                businessDays[index >>> 6] &= ~bit;
+                removed++;
+            }
+        }
+        holidayCount = removed;
+
+        businessDaysBeforeWord = new int[words + 1];
+        for (int word = 0; word < words; word++) {
+            businessDaysBeforeWord[word + 1] = businessDaysBeforeWord[word] + Long.bitCount(businessDays[word]);
+        }
+    }
+
+    /**
+     * Number of business days in [startDate, endDate), or in [endDate, startDate) when the
+     * dates are given in reverse, so it lines up with the calendar day difference.
+     */
+    public int countBusinessDays(CalendarDate startDate, CalendarDate endDate) {
+        int start = toIndex(startDate.toEpochDay());
+        int end = toIndex(endDate.toEpochDay());
+        return Math.abs(rank(end) - rank(start));
+    }
+
+    public boolean isBusinessDay(CalendarDate date) {
+        int index = toIndex(date.toEpochDay());
+        return (businessDays[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Number of business days before the given day index
+     */
+    private int rank(int index) {
+        int word = index >>> 6;
+        long below = (1L << index) - 1;
+        return businessDaysBeforeWord[word] + Long.bitCount(businessDays[word] & below);
+    }
+
+    private static int toIndex(long epochDay) {
+        return (int) (epochDay - EpochDays.MIN_EPOCH_DAY);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<DayOfWeek> getWeekend() {
+        return weekend;
+    }
+
+    /**
+     * Number of holidays that fall on a day that would otherwise be a business day
+     */
+    public int getHolidayCount() {
+        return holidayCount;
+    }
+}
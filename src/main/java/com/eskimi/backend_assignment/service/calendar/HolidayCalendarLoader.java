@@ -0,0 +1,150 @@
+package com.eskimi.backend_assignment.service.calendar;
+
+import com.eskimi.backend_assignment.exception.InvalidCalendarException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.ValidationResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads holiday calendar files.
+ * <p>
+ * CSV: one holiday per line as {@code YYYY-MM-DD[,description]}. Blank lines, a
+ * {@code date,...} header and {@code #} comments are skipped. A {@code # weekend: FRIDAY,SATURDAY}
+ * comment overrides the default weekend.
+ * <p>
+ * ICS: every VEVENT's all-day {@code DTSTART}..{@code DTEND} (end exclusive) is a holiday.
+ * An {@code X-WEEKEND:FRIDAY,SATURDAY} line overrides the default weekend.
+ */
+public final class HolidayCalendarLoader {
+
+    private static final String CSV_WEEKEND_DIRECTIVE = "# weekend:";
+    private static final String ICS_WEEKEND_PROPERTY = "X-WEEKEND:";
+
+    private HolidayCalendarLoader() {
+    }
+
+    /**
+     * @param name           calendar name
+     * @param fileName       used to pick the format by extension (.csv or .ics)
+     * @param reader         calendar file content
+     * @param defaultWeekend weekend used when the file does not declare one
+     */
+    public static HolidayCalendar load(String name, String fileName, Reader reader,
+                                       Set<DayOfWeek> defaultWeekend) throws IOException {
+        String lowerName = fileName.toLowerCase(Locale.ROOT);
+        if (lowerName.endsWith(".csv")) {
+            return loadCsv(name, reader, defaultWeekend);
+        }
+        if (lowerName.endsWith(".ics")) {
+            return loadIcs(name, reader, defaultWeekend);
+        }
+        throw new InvalidCalendarException("Unsupported calendar file: " + fileName);
+    }
+
+    public static HolidayCalendar loadCsv(String name, Reader reader, Set<DayOfWeek> defaultWeekend) throws IOException {
+        Set<DayOfWeek> weekend = defaultWeekend;
+        List<CalendarDate> holidays = new ArrayList<>();
+
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.regionMatches(true, 0, CSV_WEEKEND_DIRECTIVE, 0, CSV_WEEKEND_DIRECTIVE.length())) {
+                weekend = parseWeekend(line.substring(CSV_WEEKEND_DIRECTIVE.length()));
+                continue;
+            }
+            if (line.isEmpty() || line.startsWith("#") || line.regionMatches(true, 0, "date", 0, 4)) {
+                continue;
+            }
+
+            int comma = line.indexOf(',');
+            String date = (comma < 0 ? line : line.substring(0, comma)).strip();
+            holidays.add(parseDate(name, lineNumber, date));
+        }
+        return new HolidayCalendar(name, weekend, holidays);
+    }
+
+    public static HolidayCalendar loadIcs(String name, Reader reader, Set<DayOfWeek> defaultWeekend) throws IOException {
+        Set<DayOfWeek> weekend = defaultWeekend;
+        List<CalendarDate> holidays = new ArrayList<>();
+
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        CalendarDate eventStart = null;
+        CalendarDate eventEnd = null;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.regionMatches(true, 0, ICS_WEEKEND_PROPERTY, 0, ICS_WEEKEND_PROPERTY.length())) {
+                weekend = parseWeekend(line.substring(ICS_WEEKEND_PROPERTY.length()));
+            } else if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                eventStart = null;
+                eventEnd = null;
+            } else if (line.startsWith("DTSTART")) {
+                eventStart = parseIcsDate(name, lineNumber, line);
+            } else if (line.startsWith("DTEND")) {
+                eventEnd = parseIcsDate(name, lineNumber, line);
+            } else if (line.equalsIgnoreCase("END:VEVENT") && eventStart != null) {
+                holidays.add(eventStart);
+                if (eventEnd != null) {
+                    for (long day = eventStart.toEpochDay() + 1; day < eventEnd.toEpochDay(); day++) {
+                        holidays.add(CalendarDate.ofEpochDay(day));
+                    }
+                }
+                eventStart = null;
+            }
+        }
+        return new HolidayCalendar(name, weekend, holidays);
+    }
+
+    /**
+     * Reads the date of a DTSTART/DTEND line, e.g. DTSTART;VALUE=DATE:20250326 or DTSTART:20250326T000000Z
+     */
+    private static CalendarDate parseIcsDate(String name, int lineNumber, String line) {
+        String value = line.substring(line.indexOf(':') + 1).strip();
+        if (value.length() < 8) {
+            throw new InvalidCalendarException(
+                    "Invalid date in calendar " + name + " at line " + lineNumber + ": " + value);
+        }
+        String iso = value.substring(0, 4) + "-" + value.substring(4, 6) + "-" + value.substring(6, 8);
+        return parseDate(name, lineNumber, iso);
+    }
+
+    private static CalendarDate parseDate(String name, int lineNumber, String date) {
+        ValidationResult<CalendarDate> parsed = CalendarDate.tryParse(date);
+        if (!parsed.isValid()) {
+            throw new InvalidCalendarException("Invalid date in calendar " + name + " at line " + lineNumber
+                    + ": " + parsed.getErrorCode().getMessage() + " (" + date + ")");
+        }
+        return parsed.getValue();
+    }
+
+    /**
+     * Parse a comma separated list of day names, e.g. "FRIDAY,SATURDAY"
+     */
+    public static Set<DayOfWeek> parseWeekend(String days) {
+        Set<DayOfWeek> weekend = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : days.split(",")) {
+            if (!day.isBlank()) {
+                try {
+                    weekend.add(DayOfWeek.valueOf(day.strip().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidCalendarException("Invalid weekend day: " + day.strip());
+                }
+            }
+        }
+        return weekend;
+    }
+}
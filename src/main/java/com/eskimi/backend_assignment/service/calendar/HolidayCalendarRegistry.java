@@ -0,0 +1,82 @@
+package com.eskimi.backend_assignment.service.calendar;
+
+import com.eskimi.backend_assignment.exception.InvalidCalendarException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the named holiday calendars, loaded and precomputed once at startup.
+ * <p>
+ * Every .csv/.ics file matched by {@code calendar.holidays.locations} becomes a calendar named
+ * after the file (bd.csv becomes "bd"). A calendar named {@value #WEEKENDS_ONLY} with no
+ * holidays is always available and is used when no calendar is requested.
+ */
+@Component
+public class HolidayCalendarRegistry {
+    public static final String WEEKENDS_ONLY = "weekends";
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HolidayCalendarRegistry.class);
+
+    private final Map<String, HolidayCalendar> calendars;
+
+    public HolidayCalendarRegistry(
+            @Value("${calendar.holidays.locations:classpath*:calendars/*}") List<String> locations,
+            @Value("${calendar.default-weekend:SATURDAY,SUNDAY}") String defaultWeekend) throws IOException {
+        Set<DayOfWeek> weekend = HolidayCalendarLoader.parseWeekend(defaultWeekend);
+        Map<String, HolidayCalendar> loaded = new HashMap<>();
+        loaded.put(WEEKENDS_ONLY, new HolidayCalendar(WEEKENDS_ONLY, weekend, List.of()));
+
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (String location : locations) {
+            for (Resource resource : resolver.getResources(location)) {
+                String fileName = resource.getFilename();
+                if (fileName == null || !(fileName.endsWith(".csv") || fileName.endsWith(".ics"))) {
+                    continue;
+                }
+
+                String name = fileName.substring(0, fileName.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    HolidayCalendar calendar = HolidayCalendarLoader.load(name, fileName, reader, weekend);
+                    loaded.put(name, calendar);
+                    LOGGER.info("Loaded holiday calendar {} with {} holidays, weekend {}",
+                            name, calendar.getHolidayCount(), calendar.getWeekend());
+                }
+            }
+        }
+        this.calendars = Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * @param name calendar name, or null for the weekends-only calendar
+     */
+    public HolidayCalendar getCalendar(String name) {
+        String key = name == null || name.isBlank() ? WEEKENDS_ONLY : name.toLowerCase(Locale.ROOT);
+        HolidayCalendar calendar = calendars.get(key);
+        if (calendar == null) {
+            throw new InvalidCalendarException("Unknown holiday calendar: " + name
+                    + ". Available calendars: " + calendars.keySet());
+        }
+        return calendar;
+    }
+
+    public Set<String> getCalendarNames() {
+        return calendars.keySet();
+    }
+}
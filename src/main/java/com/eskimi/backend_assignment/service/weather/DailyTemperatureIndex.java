@@ -0,0 +1,175 @@
+package com.eskimi.backend_assignment.service.weather;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Minimum, maximum and mean of any range of days in constant time, over a fixed number of
+ * day positions of which any may be missing.
+ * <ul>
+ *     <li>min and max: sparse tables, entry {@code [k][i]} holds the extreme of the
+ *     {@code 2^k} days from position i, so any range is covered by two overlapping entries</li>
+ *     <li>mean: prefix sums with a second array carrying their rounding error, so a difference
+ *     of two prefixes is the sum of the range to within a few ulps however long it is</li>
+ *     <li>a prefix count of recorded days tells whether a range is complete</li>
+ * </ul>
+ * An update only recomputes the table entries that cover the changed days and the prefixes
+ * after them, so recording a batch of days costs about twice the size of the index, not a
+ * rebuild. Reads do not lock; a read that overlaps an update is retried under the lock.
+ */
+public final class DailyTemperatureIndex {
+
+    private final int size;
+    // Level 0 is the values themselves, +/-infinity for a missing day
+    private final double[][] minTable;
+    private final double[][] maxTable;
+    private final double[] means;
+    private final double[] meanPrefix;
+    private final double[] meanPrefixError;
+    private final int[] recordedPrefix;
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * @param size number of day positions, all missing at first
+     */
+    public DailyTemperatureIndex(int size) {
+        this.size = size;
+        int levels = size == 0 ? 1 : 32 - Integer.numberOfLeadingZeros(size);
+        minTable = new double[levels][];
+        maxTable = new double[levels][];
+        for (int level = 0; level < levels; level++) {
+            minTable[level] = new double[size - (1 << level) + 1];
+            maxTable[level] = new double[size - (1 << level) + 1];
+            Arrays.fill(minTable[level], Double.POSITIVE_INFINITY);
+            Arrays.fill(maxTable[level], Double.NEGATIVE_INFINITY);
+        }
+        means = new double[size];
+        Arrays.fill(means, Double.NaN);
+        meanPrefix = new double[size + 1];
+        meanPrefixError = new double[size + 1];
+        recordedPrefix = new int[size + 1];
+    }
+
+    /**
+     * Sets the days from position {@code from} on; a NaN in any of the three columns marks
+     * the day as missing
+     */
+    public void update(int from, double[] max, double[] min, double[] mean) {
+        int length = Math.min(max.length, Math.min(min.length, mean.length));
+        if (from < 0 || from + length > size) {
+            throw new IndexOutOfBoundsException("Days " + from + ".." + (from + length - 1) + " of " + size);
+        }
+        if (length == 0) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < length; i++) {
+                boolean recorded = !Double.isNaN(max[i]) && !Double.isNaN(min[i]) && !Double.isNaN(mean[i]);
+                maxTable[0][from + i] = recorded ? max[i] : Double.NEGATIVE_INFINITY;
+                minTable[0][from + i] = recorded ? min[i] : Double.POSITIVE_INFINITY;
+                means[from + i] = recorded ? mean[i] : Double.NaN;
+            }
+            int to = from + length - 1;
+            for (int level = 1; level < minTable.length; level++) {
+                int half = 1 << (level - 1);
+                int first = Math.max(0, from - (1 << level) + 1);
+                int last = Math.min(minTable[level].length - 1, to);
+                for (int i = first; i <= last; i++) {
+                    minTable[level][i] = Math.min(minTable[level - 1][i], minTable[level - 1][i + half]);
+                    maxTable[level][i] = Math.max(maxTable[level - 1][i], maxTable[level - 1][i + half]);
+                }
+            }
+            for (int i = from; i < size; i++) {
+                boolean recorded = !Double.isNaN(means[i]);
+                recordedPrefix[i + 1] = recordedPrefix[i] + (recorded ? 1 : 0);
+                addToPrefix(i, recorded ? means[i] : 0);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Compensated running sum: the exact error of each addition is carried in meanPrefixError
+     */
+    private void addToPrefix(int i, double value) {
+        double sum = meanPrefix[i] + value;
+        double error = twoSumError(meanPrefix[i], value, sum);
+        meanPrefix[i + 1] = sum;
+        meanPrefixError[i + 1] = meanPrefixError[i] + error;
+    }
+
+    /**
+     * @return a + b - sum exactly, for sum = a + b rounded
+     */
+    private static double twoSumError(double a, double b, double sum) {
+        double bVirtual = sum - a;
+        return (a - (sum - bVirtual)) + (b - bVirtual);
+    }
+
+    /**
+     * @return statistics of the positions from..to (inclusive), or null when any of them is missing
+     */
+    public Summary summarize(int from, int to) {
+        if (from < 0 || to >= size || from > to) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        Summary summary = read(from, to);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                summary = read(from, to);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return summary;
+    }
+
+    private Summary read(int from, int to) {
+        int days = to - from + 1;
+        if (recordedPrefix[to + 1] - recordedPrefix[from] != days) {
+            return null;
+        }
+        int level = 31 - Integer.numberOfLeadingZeros(days);
+        int second = to - (1 << level) + 1;
+        double min = Math.min(minTable[level][from], minTable[level][second]);
+        double max = Math.max(maxTable[level][from], maxTable[level][second]);
+
+        double difference = meanPrefix[to + 1] - meanPrefix[from];
+        double error = twoSumError(meanPrefix[to + 1], -meanPrefix[from], difference);
+        double sum = difference + (error + (meanPrefixError[to + 1] - meanPrefixError[from]));
+        return new Summary(min, max, sum / days, days);
+    }
+
+    /**
+     * @return number of recorded days among the positions from..to (inclusive)
+     */
+    public int recordedDays(int from, int to) {
+        if (from < 0 || to >= size || from > to) {
+            return 0;
+        }
+        long stamp = lock.tryOptimisticRead();
+        int recorded = recordedPrefix[to + 1] - recordedPrefix[from];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                recorded = recordedPrefix[to + 1] - recordedPrefix[from];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return recorded;
+    }
+
+    /**
+     * @param min  lowest daily minimum
+     * @param max  highest daily maximum
+     * @param mean average of the daily means
+     */
+    public record Summary(double min, double max, double mean, int days) {
+    }
+}
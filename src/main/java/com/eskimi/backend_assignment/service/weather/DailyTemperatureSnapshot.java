@@ -0,0 +1,411 @@
+package com.eskimi.backend_assignment.service.weather;
+
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.WeatherService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily max/min/mean temperatures of Dhaka kept in a memory-mapped file, so fetched history
+ * survives restarts. Opening maps the file and builds a {@link DailyTemperatureIndex} over the
+ * recorded days, so the min, max and mean of any recorded range come without reading it.
+ * <p>
+ * Layout, little-endian: a {@value #HEADER_BYTES}-byte header (magic, version, first epoch day,
+ * day count) followed by one {@value #SLOT_BYTES}-byte slot per day, at
+ * {@code HEADER_BYTES + (epochDay - firstDay) * SLOT_BYTES}:
+ * <pre>
+ *   max (double) | min (double) | mean (double) | commit (long)
+ * </pre>
+ * The commit word is a checksum of the day and its three values, never 0. A slot only counts
+ * when its commit word matches, so a write cut short by a crash, in any order the bytes reached
+ * the file, reads as a missing day and is fetched again. Days are written in place, nothing
+ * is ever rewritten in bulk, and each append is flushed to disk before returning.
+ * <p>
+ * Only days before today (in Dhaka) are recorded. Open-Meteo may still revise the latest of them,
+ * so appending a day again with other values overwrites it.
+ */
+@Component
+public class DailyTemperatureSnapshot {
+
+    static final int MAGIC = 0x45534B57; // "ESKW"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int SLOT_BYTES = 32;
+
+    private static final int MAX_OFFSET = 0;
+    private static final int MIN_OFFSET = 8;
+    private static final int MEAN_OFFSET = 16;
+    private static final int COMMIT_OFFSET = 24;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(DailyTemperatureSnapshot.class);
+
+    private final long firstDay;
+    private final int dayCount;
+    private final Clock clock;
+    private final MappedByteBuffer buffer;
+    private final DailyTemperatureIndex index;
+    // Not synchronized, so writers parked on it do not pin virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Writes for non-blocking callers, one at a time as the lock allows no more anyway
+    private final ExecutorService appendExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "weather-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public DailyTemperatureSnapshot(@Value("${weather.snapshot.file:data/dhaka-daily.bin}") Path file,
+                                    @Value("${weather.snapshot.first-day:2020-01-01}") String firstDay,
+                                    @Value("${weather.snapshot.days:18263}") int dayCount) {
+        this(file, LocalDate.parse(firstDay), dayCount, Clock.system(WeatherService.DHAKA_ZONE));
+    }
+
+    /**
+     * @param file     created when missing, or recreated when its header does not match
+     * @param firstDay first day that can be recorded
+     * @param dayCount number of days that can be recorded from firstDay on
+     * @param clock    decides which days are complete, in the zone of the weather data
+     */
+    public DailyTemperatureSnapshot(Path file, LocalDate firstDay, int dayCount, Clock clock) {
+        this.firstDay = firstDay.toEpochDay();
+        this.dayCount = dayCount;
+        this.clock = clock;
+
+        long start = System.nanoTime();
+        MappedByteBuffer mapped = null;
+        try {
+            mapped = map(file);
+            LOGGER.info("Mapped weather snapshot {} ({} days from {}) in {} us",
+                    file, dayCount, firstDay, (System.nanoTime() - start) / 1_000);
+            start = System.nanoTime();
+        } catch (IOException | RuntimeException e) {
+            // Serving without the snapshot only costs upstream calls
+            LOGGER.warn("Weather snapshot {} is not available, continuing without it: {}", file, e.toString());
+        }
+        this.buffer = mapped;
+        this.index = mapped == null ? null : new DailyTemperatureIndex(dayCount);
+        if (index != null) {
+            int recorded = refreshIndex(this.firstDay, this.firstDay + dayCount - 1);
+            LOGGER.info("Indexed {} recorded days of the weather snapshot in {} us",
+                    recorded, (System.nanoTime() - start) / 1_000);
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        long size = HEADER_BYTES + (long) dayCount * SLOT_BYTES;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean fresh = channel.size() != size;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (!fresh && (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+                    || mapped.getLong(8) != firstDay || mapped.getInt(16) != dayCount)) {
+                LOGGER.warn("Weather snapshot {} has a different layout, starting a new one", file);
+                fresh = true;
+            }
+            if (fresh) {
+                // Zeroed slots have no valid commit word, so they read as missing
+                channel.truncate(0);
+                mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                mapped.order(ByteOrder.LITTLE_ENDIAN);
+                mapped.putInt(4, VERSION);
+                mapped.putLong(8, firstDay);
+                mapped.putInt(16, dayCount);
+                // The magic goes last, a header without it is rebuilt on the next start
+                mapped.force();
+                mapped.putInt(0, MAGIC);
+                mapped.force();
+            }
+            return mapped;
+        }
+    }
+
+    public boolean isAvailable() {
+        return buffer != null;
+    }
+
+    /**
+     * @return the recorded values of every day from startDay to endDay, or null when any is missing
+     */
+    public OpenMeteoResponse.Daily read(long startDay, long endDay) {
+        if (buffer == null || startDay < firstDay || endDay >= firstDay + dayCount) {
+            return null;
+        }
+
+        int days = (int) (endDay - startDay + 1);
+        double[] max = new double[days];
+        double[] min = new double[days];
+        double[] mean = new double[days];
+        for (int i = 0; i < days; i++) {
+            long day = startDay + i;
+            int slot = slotOffset(day);
+            max[i] = buffer.getDouble(slot + MAX_OFFSET);
+            min[i] = buffer.getDouble(slot + MIN_OFFSET);
+            mean[i] = buffer.getDouble(slot + MEAN_OFFSET);
+            if (buffer.getLong(slot + COMMIT_OFFSET) != commitWord(day, max[i], min[i], mean[i])) {
+                return null;
+            }
+        }
+        return new OpenMeteoResponse.Daily(max, min, mean);
+    }
+
+    /**
+     * Days from startDay to endDay that are not recorded, e.g. to fetch only those upstream.
+     * When there are more than maxRanges stretches of them, the ones closest together are merged,
+     * so a merged range can include recorded days.
+     * @return missing ranges in ascending order, empty when every day is recorded
+     */
+    public List<DayRange> missingRanges(long startDay, long endDay, int maxRanges) {
+        // Complete and empty ranges are known from the index without a scan
+        int recordedDays = index == null ? 0 : index.recordedDays(
+                (int) Math.max(0, startDay - firstDay), (int) Math.min(dayCount - 1, endDay - firstDay));
+        if (recordedDays == endDay - startDay + 1) {
+            return List.of();
+        }
+        List<DayRange> ranges = new ArrayList<>();
+        if (recordedDays == 0) {
+            ranges.add(new DayRange(startDay, endDay));
+            return ranges;
+        }
+        long rangeStart = -1;
+        for (long day = startDay; day <= endDay; day++) {
+            boolean recorded = isRecorded(day);
+            if (!recorded && rangeStart < 0) {
+                rangeStart = day;
+            } else if (recorded && rangeStart >= 0) {
+                ranges.add(new DayRange(rangeStart, day - 1));
+                rangeStart = -1;
+            }
+        }
+        if (rangeStart >= 0) {
+            ranges.add(new DayRange(rangeStart, endDay));
+        }
+
+        while (ranges.size() > Math.max(1, maxRanges)) {
+            int closest = 0;
+            for (int i = 1; i < ranges.size() - 1; i++) {
+                if (ranges.get(i + 1).startDay() - ranges.get(i).endDay()
+                        < ranges.get(closest + 1).startDay() - ranges.get(closest).endDay()) {
+                    closest = i;
+                }
+            }
+            ranges.set(closest, new DayRange(ranges.get(closest).startDay(), ranges.get(closest + 1).endDay()));
+            ranges.remove(closest + 1);
+        }
+        return ranges;
+    }
+
+    /**
+     * @return min, max and mean of the recorded days from startDay to endDay in constant time,
+     * or null when any of them is missing
+     */
+    public DailyTemperatureIndex.Summary summarize(long startDay, long endDay) {
+        if (index == null || startDay < firstDay || endDay >= firstDay + dayCount) {
+            return null;
+        }
+        return index.summarize((int) (startDay - firstDay), (int) (endDay - firstDay));
+    }
+
+    private boolean isRecorded(long day) {
+        if (buffer == null || day < firstDay || day >= firstDay + dayCount) {
+            return false;
+        }
+        int slot = slotOffset(day);
+        return buffer.getLong(slot + COMMIT_OFFSET) == commitWord(day, buffer.getDouble(slot + MAX_OFFSET),
+                buffer.getDouble(slot + MIN_OFFSET), buffer.getDouble(slot + MEAN_OFFSET));
+    }
+
+    /**
+     * Whether the day is recorded with exactly these values, so rewriting it would change nothing
+     * but could be seen half done by a concurrent read
+     */
+    private boolean isRecorded(long day, double max, double min, double mean) {
+        int slot = slotOffset(day);
+        return buffer.getLong(slot + COMMIT_OFFSET) == commitWord(day, max, min, mean)
+                && Double.compare(buffer.getDouble(slot + MAX_OFFSET), max) == 0
+                && Double.compare(buffer.getDouble(slot + MIN_OFFSET), min) == 0
+                && Double.compare(buffer.getDouble(slot + MEAN_OFFSET), mean) == 0;
+    }
+
+    /**
+     * Records the complete days of an upstream response. Days already recorded with the same
+     * values are left as they are.
+     * @param startDay epoch day of the first value in the lists
+     * @return number of days written
+     */
+    public int append(long startDay, OpenMeteoResponse.Daily daily) {
+        if (buffer == null || daily == null || daily.getTemperatureMax() == null
+                || daily.getTemperatureMin() == null || daily.getTemperatureMean() == null) {
+            return 0;
+        }
+
+        long today = LocalDate.now(clock).toEpochDay();
+        int days = Math.min(daily.getTemperatureMax().length,
+                Math.min(daily.getTemperatureMin().length, daily.getTemperatureMean().length));
+        int recorded = 0;
+        writeLock.lock();
+        try {
+            for (int i = 0; i < days; i++) {
+                long day = startDay + i;
+                double max = daily.getTemperatureMax()[i];
+                double min = daily.getTemperatureMin()[i];
+                double mean = daily.getTemperatureMean()[i];
+                if (day >= today || day < firstDay || day >= firstDay + dayCount
+                        || Double.isNaN(max) || Double.isNaN(min) || Double.isNaN(mean)
+                        || isRecorded(day, max, min, mean)) {
+                    continue;
+                }
+                write(day, max, min, mean);
+                recorded++;
+            }
+            if (recorded > 0) {
+                int from = slotOffset(Math.max(startDay, firstDay));
+                buffer.force(from, Math.min(days * SLOT_BYTES, buffer.capacity() - from));
+                refreshIndex(Math.max(startDay, firstDay), Math.min(startDay + days, firstDay + dayCount) - 1);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return recorded;
+    }
+
+    /**
+     * Same as {@link #append(long, OpenMeteoResponse.Daily)} on a background thread, for callers
+     * that must not wait for the disk
+     */
+    public void appendAsync(long startDay, OpenMeteoResponse.Daily daily) {
+        if (buffer == null) {
+            return;
+        }
+        appendExecutor.execute(() -> {
+            try {
+                append(startDay, daily);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to record weather days in snapshot: {}", e.toString());
+            }
+        });
+    }
+
+    /**
+     * Waits until every append handed to {@link #appendAsync} so far is recorded
+     * @return false when they are not within the timeout, or appends are no longer taken
+     */
+    public boolean awaitAppends(Duration timeout) {
+        if (buffer == null) {
+            return true;
+        }
+        try {
+            // Appends run one at a time in order, so this one finishes after all earlier ones
+            CompletableFuture.runAsync(() -> { }, appendExecutor).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hands the days from fromDay to toDay, as they are in the file, to the index
+     * @return number of them that are recorded
+     */
+    private int refreshIndex(long fromDay, long toDay) {
+        int days = (int) (toDay - fromDay + 1);
+        double[] max = new double[days];
+        double[] min = new double[days];
+        double[] mean = new double[days];
+        int recorded = 0;
+        for (int i = 0; i < days; i++) {
+            long day = fromDay + i;
+            int slot = slotOffset(day);
+            max[i] = buffer.getDouble(slot + MAX_OFFSET);
+            min[i] = buffer.getDouble(slot + MIN_OFFSET);
+            mean[i] = buffer.getDouble(slot + MEAN_OFFSET);
+            if (buffer.getLong(slot + COMMIT_OFFSET) == commitWord(day, max[i], min[i], mean[i])) {
+                recorded++;
+            } else {
+                max[i] = Double.NaN;
+            }
+        }
+        index.update((int) (fromDay - firstDay), max, min, mean);
+        return recorded;
+    }
+
+    private void write(long day, double max, double min, double mean) {
+        int slot = slotOffset(day);
+        buffer.putDouble(slot + MAX_OFFSET, max);
+        buffer.putDouble(slot + MIN_OFFSET, min);
+        buffer.putDouble(slot + MEAN_OFFSET, mean);
+        buffer.putLong(slot + COMMIT_OFFSET, commitWord(day, max, min, mean));
+    }
+
+    private int slotOffset(long day) {
+        return HEADER_BYTES + (int) (day - firstDay) * SLOT_BYTES;
+    }
+
+    /**
+     * Checksum of a slot, never 0 so that an empty slot is never valid
+     */
+    static long commitWord(long day, double max, double min, double mean) {
+        long hash = day * 0x9E3779B97F4A7C15L;
+        hash = Long.rotateLeft(hash ^ Double.doubleToRawLongBits(max), 23) * 0xC2B2AE3D27D4EB4FL;
+        hash = Long.rotateLeft(hash ^ Double.doubleToRawLongBits(min), 23) * 0xC2B2AE3D27D4EB4FL;
+        hash = Long.rotateLeft(hash ^ Double.doubleToRawLongBits(mean), 23) * 0xC2B2AE3D27D4EB4FL;
+        return (hash ^ hash >>> 29) | 1;
+    }
+
+    /**
+     * Flushes recorded days to disk and stops taking asynchronous appends;
+     * appends already flush, this is for shutdown
+     */
+    @PreDestroy
+    public void flush() {
+        appendExecutor.shutdown();
+        if (buffer != null) {
+            try {
+                buffer.force();
+            } catch (UncheckedIOException e) {
+                LOGGER.warn("Failed to flush weather snapshot: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Epoch days from startDay to endDay, both inclusive
+     */
+    public record DayRange(long startDay, long endDay) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.eskimi.backend_assignment.service.weather;
+
+import com.eskimi.backend_assignment.model.response.OpenMeteoDailyDeserializer;
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an Open-Meteo response body straight from its bytes: one object for a single location,
+ * an array of them for several.
+ * <p>
+ * WebClient's JSON decoder first copies every token of the body into a token buffer, boxing each
+ * number on the way, and only then binds the copy. Reading the body directly lets
+ * {@link OpenMeteoDailyDeserializer} take the numbers from the parser's own character buffer.
+ */
+public final class OpenMeteoResponseReader {
+
+    private static final ObjectReader READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(OpenMeteoResponse.class);
+
+    private OpenMeteoResponseReader() {
+    }
+
+    /**
+     * @return the responses in the order of the body, empty for an empty body
+     */
+    public static List<OpenMeteoResponse> read(InputStream in) throws IOException {
+        List<OpenMeteoResponse> responses = new ArrayList<>(1);
+        try (MappingIterator<OpenMeteoResponse> values = READER.readValues(in)) {
+            while (values.hasNextValue()) {
+                responses.add(values.nextValue());
+            }
+        }
+        return responses;
+    }
+}
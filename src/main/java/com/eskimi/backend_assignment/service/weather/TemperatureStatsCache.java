@@ -0,0 +1,153 @@
+package com.eskimi.backend_assignment.service.weather;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.response.TemperatureResponse;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Complete temperature statistics responses by date range, the extended ones apart.
+ * <p>
+ * The daily values of a range that ended before today (in Dhaka) hardly ever change, so such
+ * entries never expire; they leave the cache when it is full, or are invalidated when a refresh
+ * finds revised values, see {@link #invalidate(CalendarDate, CalendarDate)}. A range that includes today
+ * is kept for {@code weather.stats-cache.current-range-ttl}. When full, Caffeine's W-TinyLFU
+ * policy keeps the frequently requested ranges rather than the most recent ones.
+ * <p>
+ * Size, hits, misses and evictions are published as the {@value #CACHE_NAME} cache metrics,
+ * and the hit ratio as {@value #HIT_RATIO_METRIC}, under /actuator/metrics.
+ */
+@Component
+public class TemperatureStatsCache {
+    public static final String CACHE_NAME = "weather.dhaka-stats";
+    public static final String HIT_RATIO_METRIC = "cache.hit.ratio";
+
+    private final Cache<DateRange, TemperatureResponse> cache;
+    private final Clock clock;
+
+    @Autowired
+    public TemperatureStatsCache(@Value("${weather.stats-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${weather.stats-cache.current-range-ttl:PT10M}") Duration currentRangeTtl,
+                                 MeterRegistry meterRegistry) {
+        this(maximumSize, currentRangeTtl, Clock.system(WeatherService.DHAKA_ZONE), Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METRIC, cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param clock  decides which ranges include today, in the zone of the weather data
+     * @param ticker measures the time to live of ranges that include today
+     */
+    public TemperatureStatsCache(long maximumSize, Duration currentRangeTtl, Clock clock, Ticker ticker) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new RangeExpiry(currentRangeTtl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public TemperatureResponse get(CalendarDate start, CalendarDate end, Supplier<TemperatureResponse> loader) {
+        return get(start, end, false, loader);
+    }
+
+    /**
+     * @param extended whether the response carries the extended statistics
+     * @param loader   computes the response on a miss; nothing is cached when it throws
+     */
+    public TemperatureResponse get(CalendarDate start, CalendarDate end, boolean extended,
+                                   Supplier<TemperatureResponse> loader) {
+        TemperatureResponse response = getIfPresent(start, end, extended);
+        if (response == null) {
+            // Loaded outside the cache so a slow upstream call never holds a lock other ranges need
+            response = loader.get();
+            put(start, end, extended, response);
+        }
+        return response;
+    }
+
+    /**
+     * @return the cached response, or null
+     */
+    public TemperatureResponse getIfPresent(CalendarDate start, CalendarDate end) {
+        return getIfPresent(start, end, false);
+    }
+
+    public TemperatureResponse getIfPresent(CalendarDate start, CalendarDate end, boolean extended) {
+        return cache.getIfPresent(new DateRange(start.toEpochDay(), end.toEpochDay(), extended));
+    }
+
+    public void put(CalendarDate start, CalendarDate end, TemperatureResponse response) {
+        put(start, end, false, response);
+    }
+
+    public void put(CalendarDate start, CalendarDate end, boolean extended, TemperatureResponse response) {
+        cache.put(new DateRange(start.toEpochDay(), end.toEpochDay(), extended), response);
+    }
+
+    /**
+     * Drops every cached range, plain or extended, that contains any day from start to end
+     */
+    public void invalidate(CalendarDate start, CalendarDate end) {
+        long startDay = start.toEpochDay();
+        long endDay = end.toEpochDay();
+        cache.asMap().keySet().removeIf(range -> range.startDay() <= endDay && range.endDay() >= startDay);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private record DateRange(long startDay, long endDay, boolean extended) {
+    }
+
+    private final class RangeExpiry implements Expiry<DateRange, TemperatureResponse> {
+        private final long currentRangeTtlNanos;
+
+        RangeExpiry(long currentRangeTtlNanos) {
+            this.currentRangeTtlNanos = currentRangeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(DateRange range, TemperatureResponse response, long currentTime) {
+            // Long.MAX_VALUE never expires
+            return range.endDay() < LocalDate.now(clock).toEpochDay() ? Long.MAX_VALUE : currentRangeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(DateRange range, TemperatureResponse response,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(range, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(DateRange range, TemperatureResponse response,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.eskimi.backend_assignment.service.weather;
+
+import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Guards the calls to Open-Meteo, applied in this order:
+ * <ul>
+ *     <li>bulkhead: at most {@code weather.resilience.max-concurrent-calls} calls in flight,
+ *     further calls are rejected right away</li>
+ *     <li>circuit breaker: while Open-Meteo keeps failing, calls are rejected right away
+ *     instead of each waiting for the timeout, see {@link CircuitBreaker}</li>
+ *     <li>hedging: a call still unanswered after the p95 latency of recent calls sends one
+ *     identical second request, and the first response wins. The second request takes a bulkhead
+ *     permit of its own and is not sent when none is free, so the limit holds for requests too</li>
+ * </ul>
+ * Rejections are {@link WeatherApiException}s like any other upstream failure. Client errors
+ * (4xx) do not count against the breaker, they say nothing about the upstream's health.
+ * <p>
+ * Published under /actuator/metrics: {@value #STATE_METRIC} (1 for the current state tag),
+ * {@value #FAILURE_RATE_METRIC}, {@value #REJECTED_METRIC} (by reason), {@value #IN_FLIGHT_METRIC},
+ * {@value #HEDGES_METRIC}, {@value #HEDGE_WINS_METRIC} and {@value #HEDGE_DELAY_METRIC}.
+ */
+@Component
+public class UpstreamResilience {
+    public static final String STATE_METRIC = "weather.upstream.circuit.state";
+    public static final String FAILURE_RATE_METRIC = "weather.upstream.circuit.failure.rate";
+    public static final String REJECTED_METRIC = "weather.upstream.rejected";
+    public static final String IN_FLIGHT_METRIC = "weather.upstream.in.flight";
+    public static final String HEDGES_METRIC = "weather.upstream.hedges";
+    public static final String HEDGE_WINS_METRIC = "weather.upstream.hedge.wins";
+    public static final String HEDGE_DELAY_METRIC = "weather.upstream.hedge.delay";
+
+    private final CircuitBreaker circuitBreaker;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final boolean hedgeEnabled;
+    private final long minHedgeDelayNanos;
+    private final LatencyWindow latencies = new LatencyWindow(128, 20);
+    private final LongAdder bulkheadRejections = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    @Autowired
+    public UpstreamResilience(@Value("${weather.resilience.circuit.window-size:20}") int windowSize,
+                              @Value("${weather.resilience.circuit.minimum-calls:10}") int minimumCalls,
+                              @Value("${weather.resilience.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                              @Value("${weather.resilience.circuit.open-duration:PT30S}") Duration openDuration,
+                              @Value("${weather.resilience.circuit.half-open-calls:3}") int halfOpenCalls,
+                              @Value("${weather.resilience.max-concurrent-calls:2000}") int maxConcurrentCalls,
+                              @Value("${weather.resilience.hedge.enabled:true}") boolean hedgeEnabled,
+                              @Value("${weather.resilience.hedge.min-delay:PT0.05S}") Duration minHedgeDelay,
+                              MeterRegistry meterRegistry) {
+        this(new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls,
+                System::nanoTime), maxConcurrentCalls, hedgeEnabled, minHedgeDelay);
+
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder(STATE_METRIC, circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .description("1 for the current state of the Open-Meteo circuit breaker")
+                    .register(meterRegistry);
+        }
+        Gauge.builder(FAILURE_RATE_METRIC, circuitBreaker, CircuitBreaker::getFailureRate)
+                .description("Failure percentage of recent Open-Meteo calls, -1 until enough calls")
+                .register(meterRegistry);
+        FunctionCounter.builder(REJECTED_METRIC, circuitBreaker, CircuitBreaker::getNotPermittedCalls)
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        FunctionCounter.builder(REJECTED_METRIC, bulkheadRejections, LongAdder::sum)
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, this, UpstreamResilience::getInFlightCalls)
+                .register(meterRegistry);
+        FunctionCounter.builder(HEDGES_METRIC, hedges, LongAdder::sum)
+                .description("Second requests sent for slow Open-Meteo calls")
+                .register(meterRegistry);
+        FunctionCounter.builder(HEDGE_WINS_METRIC, hedgeWins, LongAdder::sum)
+                .description("Second requests that answered first")
+                .register(meterRegistry);
+        Gauge.builder(HEDGE_DELAY_METRIC, this, resilience -> resilience.getHedgeDelayNanos() / 1e6)
+                .baseUnit("milliseconds")
+                .description("Wait before a second request is sent, -1 until enough calls")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param minHedgeDelay lower bound of the hedge delay, so a fast upstream is not sent every call twice
+     */
+    public UpstreamResilience(CircuitBreaker circuitBreaker, int maxConcurrentCalls, boolean hedgeEnabled,
+                              Duration minHedgeDelay) {
+        this.circuitBreaker = circuitBreaker;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.hedgeEnabled = hedgeEnabled;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+    }
+
+    /**
+     * @param call creates one upstream request; called again for a hedged request
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                bulkheadRejections.increment();
+                return Mono.error(new WeatherApiException("Too many concurrent weather requests, try again later"));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                return Mono.error(new WeatherApiException("Weather API is unavailable, failing fast until it recovers"));
+            }
+            // Exactly one outcome per permitted call, settled before the result is passed on
+            AtomicBoolean settled = new AtomicBoolean();
+            return hedged(call)
+                    .doOnSuccess(result -> settle(settled, circuitBreaker::onSuccess))
+                    .doOnError(error -> settle(settled, isUpstreamFailure(error)
+                            ? circuitBreaker::onFailure : circuitBreaker::release))
+                    .doOnCancel(() -> settle(settled, circuitBreaker::release));
+        });
+    }
+
+    private void settle(AtomicBoolean settled, Runnable outcome) {
+        if (settled.compareAndSet(false, true)) {
+            outcome.run();
+            bulkhead.release();
+        }
+    }
+
+    private <T> Mono<T> hedged(Supplier<Mono<T>> call) {
+        long delayNanos = hedgeEnabled ? getHedgeDelayNanos() : -1;
+        if (delayNanos < 0) {
+            return timed(call);
+        }
+
+        // A failed first request fails the call; only a slow one is hedged
+        Sinks.Empty<Void> primaryFailed = Sinks.empty();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Mono<T> primary = timed(call).doOnError(error -> {
+            failure.compareAndSet(null, error);
+            primaryFailed.tryEmitEmpty();
+        });
+        Mono<T> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                .takeUntilOther(primaryFailed.asMono())
+                .flatMap(tick -> {
+                    if (!bulkhead.tryAcquire()) {
+                        // No capacity for a second request, the first one answers alone
+                        return Mono.<T>empty();
+                    }
+                    hedges.increment();
+                    return timed(call)
+                            .doOnNext(result -> hedgeWins.increment())
+                            .doFinally(signal -> bulkhead.release());
+                })
+                .doOnError(error -> failure.compareAndSet(null, error));
+        return Mono.firstWithValue(primary, hedge)
+                .onErrorMap(error -> failure.get() != null ? failure.get() : error);
+    }
+
+    /**
+     * Records how long a request took. A request cut short by the winning other one only tells
+     * that it would have taken at least that long, so it cannot lower the p95: a cancelled second
+     * request is often cut off well before it could have answered.
+     */
+    private <T> Mono<T> timed(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return call.get()
+                    .doOnNext(result -> latencies.record(System.nanoTime() - started))
+                    .doOnCancel(() -> latencies.recordAtLeast(System.nanoTime() - started));
+        });
+    }
+
+    private static boolean isUpstreamFailure(Throwable error) {
+        return !(error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+
+    /**
+     * @return wait before a second request is sent, or -1 while too few calls are known
+     */
+    public long getHedgeDelayNanos() {
+        long p95 = latencies.getPercentileNanos();
+        return p95 < 0 ? -1 : Math.max(p95, minHedgeDelayNanos);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getInFlightCalls() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long getRejectedCalls() {
+        return bulkheadRejections.sum() + circuitBreaker.getNotPermittedCalls();
+    }
+
+    /**
+     * p95 of the latest request latencies, recomputed every few records rather than per call
+     */
+    private static final class LatencyWindow {
+        private static final int RECOMPUTE_EVERY = 16;
+
+        private final long[] samples;
+        private final int minimumSamples;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private volatile long percentileNanos = -1;
+
+        LatencyWindow(int size, int minimumSamples) {
+            this.samples = new long[size];
+            this.minimumSamples = minimumSamples;
+        }
+
+        void record(long nanos) {
+            lock.lock();
+            try {
+                samples[next] = nanos;
+                next = (next + 1) % samples.length;
+                count = Math.min(count + 1, samples.length);
+                if (count >= minimumSamples && (++sinceRecompute >= RECOMPUTE_EVERY || percentileNanos < 0)) {
+                    sinceRecompute = 0;
+                    long[] sorted = Arrays.copyOf(samples, count);
+                    Arrays.sort(sorted);
+                    percentileNanos = sorted[(int) Math.ceil(count * 0.95) - 1];
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * A latency known only to be at least nanos, counted as no faster than the current p95;
+         * left out while there is none
+         */
+        void recordAtLeast(long nanos) {
+            long percentile = percentileNanos;
+            if (percentile >= 0) {
+                record(Math.max(nanos, percentile));
+            }
+        }
+
+        long getPercentileNanos() {
+            return percentileNanos;
+        }
+    }
+}
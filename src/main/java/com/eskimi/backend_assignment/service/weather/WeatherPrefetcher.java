@@ -0,0 +1,290 @@
+package com.eskimi.backend_assignment.service.weather;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.response.PrefetchStatusResponse;
+import com.eskimi.backend_assignment.service.TemperatureStatsService;
+import com.eskimi.backend_assignment.service.WeatherService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fetches Dhaka weather ahead of the requests that need it, so /dhaka-stats is answered from the
+ * snapshot and the statistics cache instead of Open-Meteo:
+ * <ul>
+ *     <li>the last {@code weather.prefetch.recent-days} completed days, first, fetched again on
+ *     every run even when recorded, see {@link TemperatureStatsService#refreshDays}: the day that
+ *     just ended is recorded soon after Dhaka midnight, and values Open-Meteo revises later are
+ *     overwritten, along with the cached statistics of the ranges containing them</li>
+ *     <li>then the popular ranges, {@code weather.prefetch.ranges} days each, ending yesterday;
+ *     their statistics stay cached as completed ranges never expire</li>
+ * </ul>
+ * The popular ranges go through {@link TemperatureStatsService}, so they only fetch the days not
+ * recorded yet, and the recent days are in the {@link DailyTemperatureSnapshot} before they are
+ * asked for. Runs happen {@code after-midnight} past Dhaka midnight, when Open-Meteo has the
+ * previous day, and every {@code refresh-interval} in between, following Open-Meteo's hourly
+ * model updates and retrying what an earlier run could not fetch. Each run starts up to {@code jitter} later, so several instances do not call at the same
+ * moment, and warms at most {@code max-concurrent-fetches} ranges at once.
+ * <p>
+ * Runs on its own thread; the status is published at /actuator/weatherprefetch.
+ */
+@Component
+public class WeatherPrefetcher {
+    // Open-Meteo historical data limitation, see TemperatureStatsService#validateDates
+    private static final int MAX_RANGE_DAYS = 365;
+    private static final Duration RUN_TIMEOUT = Duration.ofMinutes(5);
+
+    private final Logger LOGGER = LoggerFactory.getLogger(WeatherPrefetcher.class);
+
+    private final TemperatureStatsService temperatureStatsService;
+    private final DailyTemperatureSnapshot dailyTemperatureSnapshot;
+    private final boolean enabled;
+    private final Duration initialDelay;
+    private final Duration afterMidnight;
+    private final Duration refreshInterval;
+    private final Duration jitter;
+    private final int recentDays;
+    private final List<Integer> rangeDays;
+    private final int maxConcurrentFetches;
+    private final Clock clock;
+    private final Random random;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "weather-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile long runs;
+    private volatile Instant lastRunStarted;
+    private volatile Long lastRunMillis;
+    private volatile int lastRunRanges;
+    private volatile int lastRunUpdatedDays;
+    private volatile int lastRunFailures;
+    private volatile String lastError;
+    private volatile Instant nextRun;
+
+    @Autowired
+    public WeatherPrefetcher(TemperatureStatsService temperatureStatsService,
+                             DailyTemperatureSnapshot dailyTemperatureSnapshot,
+                             @Value("${weather.prefetch.enabled:true}") boolean enabled,
+                             @Value("${weather.prefetch.initial-delay:PT10S}") Duration initialDelay,
+                             @Value("${weather.prefetch.after-midnight:PT20M}") Duration afterMidnight,
+                             @Value("${weather.prefetch.refresh-interval:PT1H}") Duration refreshInterval,
+                             @Value("${weather.prefetch.jitter:PT5M}") Duration jitter,
+                             @Value("${weather.prefetch.recent-days:7}") int recentDays,
+                             @Value("${weather.prefetch.ranges:7,30,90}") List<Integer> rangeDays,
+                             @Value("${weather.prefetch.max-concurrent-fetches:4}") int maxConcurrentFetches) {
+        this(temperatureStatsService, dailyTemperatureSnapshot, enabled, initialDelay, afterMidnight, refreshInterval, jitter, recentDays,
+                rangeDays, maxConcurrentFetches, Clock.system(WeatherService.DHAKA_ZONE), new Random());
+    }
+
+    /**
+     * @param clock  decides which days are complete and when Dhaka midnight is
+     * @param random source of the jitter
+     */
+    public WeatherPrefetcher(TemperatureStatsService temperatureStatsService,
+                             DailyTemperatureSnapshot dailyTemperatureSnapshot, boolean enabled,
+                             Duration initialDelay, Duration afterMidnight, Duration refreshInterval,
+                             Duration jitter, int recentDays, List<Integer> rangeDays, int maxConcurrentFetches,
+                             Clock clock, Random random) {
+        this.temperatureStatsService = temperatureStatsService;
+        this.dailyTemperatureSnapshot = dailyTemperatureSnapshot;
+        this.enabled = enabled;
+        this.initialDelay = initialDelay;
+        this.afterMidnight = afterMidnight;
+        this.refreshInterval = refreshInterval;
+        this.jitter = jitter;
+        this.recentDays = recentDays;
+        this.rangeDays = List.copyOf(rangeDays);
+        this.maxConcurrentFetches = Math.max(1, maxConcurrentFetches);
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * Schedules the first run once the application serves requests
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            schedule(initialDelay);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(Duration delay) {
+        nextRun = clock.instant().plus(delay);
+        try {
+            scheduler.schedule(() -> {
+                try {
+                    run();
+                } finally {
+                    schedule(nextRunDelay());
+                }
+            }, delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            nextRun = null;
+        }
+    }
+
+    /**
+     * Refreshes the recent days, then warms the popular ranges, and waits for them
+     * @return number of ranges that could not be warmed
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        Instant started = clock.instant();
+        long startNanos = System.nanoTime();
+        lastRunStarted = started;
+        AtomicInteger failures = new AtomicInteger();
+        AtomicReference<String> error = new AtomicReference<>();
+        try {
+            List<LocalDate[]> ranges = rangesToWarm();
+            lastRunRanges = ranges.size();
+            lastRunUpdatedDays = 0;
+            if (!ranges.isEmpty()) {
+                if (refresh(ranges.get(0), failures, error)) {
+                    // Now answered from the snapshot
+                    warm(ranges.get(0), failures, error).block(RUN_TIMEOUT);
+                }
+                // Days fetched on request are recorded in the background; the longer ranges that
+                // contain the recent days must find them recorded, or would fetch them again
+                if (!dailyTemperatureSnapshot.awaitAppends(RUN_TIMEOUT)) {
+                    LOGGER.warn("Weather prefetch: recent days not recorded yet, longer ranges may fetch them again");
+                }
+                Flux.fromIterable(ranges.subList(1, ranges.size()))
+                        .flatMap(range -> warm(range, failures, error), maxConcurrentFetches)
+                        .then()
+                        .block(RUN_TIMEOUT);
+            }
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            error.compareAndSet(null, e.toString());
+        } finally {
+            runs++;
+            lastRunMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            lastRunFailures = failures.get();
+            lastError = error.get();
+            running.set(false);
+        }
+
+        if (failures.get() > 0) {
+            LOGGER.warn("Weather prefetch: {} of {} ranges failed, first error: {}",
+                    failures.get(), lastRunRanges, error.get());
+        } else {
+            LOGGER.info("Weather prefetch: warmed {} ranges in {} ms, {} recent days new or revised",
+                    lastRunRanges, lastRunMillis, lastRunUpdatedDays);
+        }
+        return failures.get();
+    }
+
+    /**
+     * @return whether the days of the range could be fetched
+     */
+    private boolean refresh(LocalDate[] range, AtomicInteger failures, AtomicReference<String> error) {
+        try {
+            lastRunUpdatedDays = temperatureStatsService.refreshDays(
+                    CalendarDate.ofEpochDay(range[0].toEpochDay()), CalendarDate.ofEpochDay(range[1].toEpochDay()));
+            return true;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            error.compareAndSet(null, range[0] + ".." + range[1] + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private Mono<Void> warm(LocalDate[] range, AtomicInteger failures, AtomicReference<String> error) {
+        return Mono.defer(() -> temperatureStatsService.getTemperatureStatsAsync(
+                        CalendarDate.ofEpochDay(range[0].toEpochDay()), CalendarDate.ofEpochDay(range[1].toEpochDay())))
+                .then()
+                .onErrorResume(e -> {
+                    failures.incrementAndGet();
+                    error.compareAndSet(null, range[0] + ".." + range[1] + ": " + e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * @return start and end of the ranges to warm, the recent days first; all end yesterday
+     */
+    List<LocalDate[]> rangesToWarm() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate yesterday = today.minusDays(1);
+        Set<Integer> lengths = new LinkedHashSet<>();
+        lengths.add(recentDays);
+        lengths.addAll(rangeDays);
+
+        List<LocalDate[]> ranges = new ArrayList<>(lengths.size());
+        for (int days : lengths) {
+            if (days > 0) {
+                ranges.add(new LocalDate[]{today.minusDays(Math.min(days, MAX_RANGE_DAYS)), yesterday});
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * @return wait until the next run: the run after the next Dhaka midnight or the next
+     * refresh, whichever comes first, plus a random part of the jitter
+     */
+    public Duration nextRunDelay() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime afterToday = now.toLocalDate().atStartOfDay(now.getZone()).plus(afterMidnight);
+        ZonedDateTime afterNextMidnight = afterToday.isAfter(now)
+                ? afterToday
+                : now.toLocalDate().plusDays(1).atStartOfDay(now.getZone()).plus(afterMidnight);
+
+        Duration untilMidnightRun = Duration.between(now, afterNextMidnight);
+        Duration delay = untilMidnightRun.compareTo(refreshInterval) < 0 ? untilMidnightRun : refreshInterval;
+        long jitterMillis = jitter.toMillis();
+        return jitterMillis <= 0 ? delay : delay.plusMillis((long) (random.nextDouble() * jitterMillis));
+    }
+
+    public PrefetchStatusResponse getStatus() {
+        return PrefetchStatusResponse.builder()
+                .enabled(enabled)
+                .running(running.get())
+                .runs(runs)
+                .lastRunStarted(lastRunStarted)
+                .lastRunMillis(lastRunMillis)
+                .lastRunRanges(lastRunRanges)
+                .lastRunUpdatedDays(lastRunUpdatedDays)
+                .lastRunFailures(lastRunFailures)
+                .lastError(lastError)
+                .nextRun(nextRun)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * Bangla, e.g. 12345678.05 is "এক কোটি তেইশ লাখ পঁয়তাল্লিশ হাজার ছয় শত আটাত্তর দশমিক শূন্য পাঁচ".
+ * <p>
+ * Uses the Indian grouping: hundreds (শত), thousands (হাজার), lakhs (লাখ, 10^5) and crores
+ * (কোটি, 10^7). Every number below one hundred has its own word. Counts of crores above 99
+ * are read the same way, so 10^14 is "এক কোটি কোটি".
+ */
+public final class BanglaWordsEngine extends CompiledWordsEngine {
+
+    private static final String[] BELOW_HUNDRED = {
+            "শূন্য", "এক", "দুই", "তিন", "চার", "পাঁচ", "ছয়", "সাত", "আট", "নয়",
+            "দশ", "এগারো", "বারো", "তেরো", "চৌদ্দ", "পনেরো", "ষোল", "সতেরো", "আঠারো", "উনিশ",
+            "বিশ", "একুশ", "বাইশ", "তেইশ", "চব্বিশ", "পঁচিশ", "ছাব্বিশ", "সাতাশ", "আটাশ", "ঊনত্রিশ",
+            "ত্রিশ", "একত্রিশ", "বত্রিশ", "তেত্রিশ", "চৌত্রিশ", "পঁয়ত্রিশ", "ছত্রিশ", "সাঁইত্রিশ", "আটত্রিশ", "ঊনচল্লিশ",
+            "চল্লিশ", "একচল্লিশ", "বিয়াল্লিশ", "তেতাল্লিশ", "চুয়াল্লিশ", "পঁয়তাল্লিশ", "ছেচল্লিশ", "সাতচল্লিশ", "আটচল্লিশ", "ঊনপঞ্চাশ",
+            "পঞ্চাশ", "একান্ন", "বায়ান্ন", "তিপ্পান্ন", "চুয়ান্ন", "পঞ্চান্ন", "ছাপ্পান্ন", "সাতান্ন", "আটান্ন", "ঊনষাট",
+            "ষাট", "একষট্টি", "বাষট্টি", "তেষট্টি", "চৌষট্টি", "পঁয়ষট্টি", "ছেষট্টি", "সাতষট্টি", "আটষট্টি", "ঊনসত্তর",
+            "সত্তর", "একাত্তর", "বাহাত্তর", "তিয়াত্তর", "চুয়াত্তর", "পঁচাত্তর", "ছিয়াত্তর", "সাতাত্তর", "আটাত্তর", "ঊনআশি",
+            "আশি", "একাশি", "বিরাশি", "তিরাশি", "চুরাশি", "পঁচাশি", "ছিয়াশি", "সাতাশি", "আটাশি", "ঊননব্বই",
+            "নব্বই", "একানব্বই", "বিরানব্বই", "তিরানব্বই", "চুরানব্বই", "পঁচানব্বই", "ছিয়ানব্বই", "সাতানব্বই", "আটানব্বই", "নিরানব্বই"
+    };
+
+    private static final long CRORE = 10_000_000L;
+    private static final int THOUSAND = 1_000;
+    private static final int CRORE_IN_THOUSANDS = 10_000;
+
+    // Created after the word list above, which its constructor reads
+    public static final BanglaWordsEngine INSTANCE = new BanglaWordsEngine();
+
+    private final SerializedString[] groups = new SerializedString[1000];
+    // Lakhs and thousands together, by the count of thousands: 2345 is "তেইশ লাখ পঁয়তাল্লিশ হাজার"
+    private final SerializedString[] thousands = new SerializedString[CRORE_IN_THOUSANDS];
+    private final SerializedString crore = new SerializedString(" কোটি");
+
+    private BanglaWordsEngine() {
+        super("bn", BELOW_HUNDRED, "দশমিক");
+        for (int group = 1; group < groups.length; group++) {
+            groups[group] = new SerializedString(groupWords(group));
+        }
+        for (int count = 1; count < thousands.length; count++) {
+            thousands[count] = new SerializedString(thousandsWords(count));
+        }
+    }
+
+    @Override
+    protected void appendInteger(long number, FragmentSink sink) throws IOException {
+        long crores = number / CRORE;
+        int rest = (int) (number % CRORE);
+        if (crores > 0) {
+            appendInteger(crores, sink);
+            sink.append(crore);
+        }
+        boolean first = crores == 0;
+        first = append(thousands, rest / THOUSAND, first, sink);
+        append(groups, rest % THOUSAND, first, sink);
+    }
+
+    /**
+     * Appends fragments[index] unless index is 0
+     * @return whether nothing has been appended yet
+     */
+    private static boolean append(SerializedString[] fragments, int index, boolean first,
+                                  FragmentSink sink) throws IOException {
+        if (index == 0) {
+            return first;
+        }
+        if (!first) {
+            sink.append(SPACE);
+        }
+        sink.append(fragments[index]);
+        return false;
+    }
+
+    /**
+     * Words of 1..9999 thousands, e.g. 105 is "এক লাখ পাঁচ হাজার"
+     */
+    private static String thousandsWords(int count) {
+        int lakhs = count / 100;
+        int thousands = count % 100;
+        if (lakhs == 0) {
+            return BELOW_HUNDRED[thousands] + " হাজার";
+        }
+        String lakhWords = BELOW_HUNDRED[lakhs] + " লাখ";
+        return thousands == 0 ? lakhWords : lakhWords + " " + BELOW_HUNDRED[thousands] + " হাজার";
+    }
+
+    /**
+     * Words of 1..999
+     */
+    private static String groupWords(int number) {
+        int hundreds = number / 100;
+        int rest = number % 100;
+        if (hundreds == 0) {
+            return BELOW_HUNDRED[rest];
+        }
+        String hundredWords = BELOW_HUNDRED[hundreds] + " শত";
+        return rest == 0 ? hundredWords : hundredWords + " " + BELOW_HUNDRED[rest];
+    }
+}
@@ -0,0 +1,130 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base of the language engines. A language only describes how an integer is made of words;
+ * everything is compiled into flat tables of pre-encoded fragments when the engine is created,
+ * so the per-call work is the same for every language:
+ * <ul>
+ *     <li>0.00..999.99 is one entry of a {@link NumberWordTable}, built at startup for the
+ *     preloaded languages and on first use for the others</li>
+ *     <li>larger values are a handful of cached group, scale and decimal fragments</li>
+ * </ul>
+ */
+public abstract class CompiledWordsEngine implements NumberWordsEngine {
+
+    protected static final SerializedString SPACE = new SerializedString(" ");
+
+    private static final int TABLE_LIMIT = NumberWordTable.SIZE / 100;
+
+    private final String language;
+    private final String zero;
+    private final SerializedString[] decimalFragments = new SerializedString[100];
+    private volatile NumberWordTable table;
+    // Not synchronized: callers waiting for a table being built must not pin virtual threads
+    private final ReentrantLock tableLock = new ReentrantLock();
+
+    /**
+     * Receives the fragments of a number in order
+     */
+    @FunctionalInterface
+    protected interface FragmentSink {
+        void append(SerializedString fragment) throws IOException;
+    }
+
+    /**
+     * @param language         ISO 639 language code
+     * @param digits           words of 0..9, used for zero and for the decimals
+     * @param decimalSeparator word between the integer part and the decimals, e.g. "point"
+     */
+    protected CompiledWordsEngine(String language, String[] digits, String decimalSeparator) {
+        this.language = language;
+        this.zero = digits[0];
+        decimalFragments[0] = new SerializedString("");
+        for (int decimals = 1; decimals < decimalFragments.length; decimals++) {
+            decimalFragments[decimals] = new SerializedString(
+                    " " + decimalSeparator + " " + digits[decimals / 10] + " " + digits[decimals % 10]);
+        }
+    }
+
+    /**
+     * Emits the words of a positive integer as fragments, including the spaces between them
+     */
+    protected abstract void appendInteger(long number, FragmentSink sink) throws IOException;
+
+    @Override
+    public String getLanguage() {
+        return language;
+    }
+
+    @Override
+    public String toWords(long integerPart, int decimals) {
+        if (integerPart < TABLE_LIMIT) {
+            return table().get((int) integerPart * 100 + decimals);
+        }
+        return compose(integerPart, decimals);
+    }
+
+    @Override
+    public void writeTo(JsonGenerator generator, long integerPart, int decimals) throws IOException {
+        if (integerPart < TABLE_LIMIT) {
+            generator.writeRaw(table().getEncoded((int) integerPart * 100 + decimals));
+            return;
+        }
+        appendInteger(integerPart, generator::writeRaw);
+        if (decimals != 0) {
+            generator.writeRaw(decimalFragments[decimals]);
+        }
+    }
+
+    @Override
+    public void preload() {
+        table();
+    }
+
+    private String compose(long integerPart, int decimals) {
+        StringBuilder result = new StringBuilder(64);
+        if (integerPart == 0) {
+            result.append(zero);
+        } else {
+            try {
+                appendInteger(integerPart, fragment -> result.append(fragment.getValue()));
+            } catch (IOException e) {
+                // Appending to a StringBuilder does not throw
+                throw new UncheckedIOException(e);
+            }
+        }
+        return result.append(decimalFragments[decimals].getValue()).toString();
+    }
+
+    private NumberWordTable table() {
+        NumberWordTable result = table;
+        if (result == null) {
+            tableLock.lock();
+            try {
+                result = table;
+                if (result == null) {
+                    result = NumberWordTable.build(language, hundredths -> compose(hundredths / 100, hundredths % 100));
+                    table = result;
+                }
+            } finally {
+                tableLock.unlock();
+            }
+        }
+        return result;
+    }
+
+    protected static SerializedString[] fragments(String[] words) {
+        SerializedString[] fragments = new SerializedString[words.length];
+        for (int i = 0; i < words.length; i++) {
+            fragments[i] = new SerializedString(words[i]);
+        }
+        return fragments;
+    }
+}
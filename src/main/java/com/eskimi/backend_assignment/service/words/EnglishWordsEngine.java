@@ -0,0 +1,111 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * English, e.g. 1234567.05 is
+ * "one million two hundred thirty four thousand five hundred sixty seven point zero five".
+ * <p>
+ * The integer part is split into 3-digit groups, each followed by its scale word
+ * (thousand, million, ... quintillion).
+ */
+public final class EnglishWordsEngine extends CompiledWordsEngine {
+
+    // Package-private, the words parser is built from the same vocabulary
+    static final String[] ONES = {
+            "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
+    };
+
+    private static final String[] ONES_FOR_INTEGER = {
+            "", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
+    };
+
+    static final String[] TENS = {
+            "", "", "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"
+    };
+
+    static final String[] TEENS = {
+            "ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen",
+            "sixteen", "seventeen", "eighteen", "nineteen"
+    };
+
+    // Long.MAX_VALUE has 7 groups, the highest one in the quintillions
+    static final String[] SCALES = {
+            "", " thousand", " million", " billion", " trillion", " quadrillion", " quintillion"
+    };
+
+    static final String HUNDRED = "hundred";
+    static final String POINT = "point";
+
+    // Created after the word lists above, which its constructor reads
+    public static final EnglishWordsEngine INSTANCE = new EnglishWordsEngine();
+
+    private final SerializedString[] groups = new SerializedString[1000];
+    private final SerializedString[] scales = fragments(SCALES);
+
+    private EnglishWordsEngine() {
+        super("en", ONES, POINT);
+        for (int group = 0; group < groups.length; group++) {
+            groups[group] = new SerializedString(groupWords(group));
+        }
+    }
+
+    @Override
+    protected void appendInteger(long number, FragmentSink sink) throws IOException {
+        int scale = ThousandGroups.highestScale(number);
+        boolean first = true;
+        for (; scale >= 0; scale--) {
+            int group = ThousandGroups.group(number, scale);
+            if (group != 0) {
+                if (!first) {
+                    sink.append(SPACE);
+                }
+                sink.append(groups[group]);
+                if (scale > 0) {
+                    sink.append(scales[scale]);
+                }
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Words of 1..999
+     */
+    private static String groupWords(int number) {
+        StringBuilder result = new StringBuilder();
+
+        // Handle hundreds
+        int hundreds = number / 100;
+        if (hundreds > 0) {
+            result.append(ONES_FOR_INTEGER[hundreds]).append(" ").append(HUNDRED);
+            number %= 100;
+            if (number > 0) {
+                result.append(" ");
+            }
+        }
+
+        // Handle tens and ones
+        if (number >= 10 && number < 20) {
+            result.append(TEENS[number - 10]);
+        } else {
+            int tens = number / 10;
+            int ones = number % 10;
+
+            if (tens > 0) {
+                result.append(TENS[tens]);
+                if (ones > 0) {
+                    result.append(" ");
+                }
+            }
+
+            if (ones > 0) {
+                result.append(ONES_FOR_INTEGER[ones]);
+            }
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,244 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.eskimi.backend_assignment.exception.InvalidNumberException;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Reads English number words back into a number, the inverse of {@link EnglishWordsEngine}:
+ * "nine hundred ninety nine point nine nine" is 999.99 and the temperature form
+ * "minus fifteen point four two" is -15.42.
+ * <p>
+ * The input is read once, char by char. Letters walk a trie built from the engine's word lists,
+ * and each word is fed to a small state machine as soon as it ends, so no tokens, substrings
+ * or regular expressions are created. Words may be separated by spaces, tabs, newlines or
+ * hyphens ("twenty-one") and are matched case-insensitively.
+ */
+public final class EnglishWordsParser {
+
+    public static final EnglishWordsParser INSTANCE = new EnglishWordsParser();
+
+    private static final int ALPHABET = 26;
+    private static final int MAX_DECIMALS = 18;
+    private static final long[] SCALE_VALUES = {
+            1L, 1_000L, 1_000_000L, 1_000_000_000L, 1_000_000_000_000L, 1_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+
+    // A token is kind << 8 | value; 0 means the trie node ends no word
+    private static final int DIGIT = 1;
+    private static final int TEEN = 2;
+    private static final int TENS = 3;
+    private static final int HUNDRED = 4;
+    private static final int SCALE = 5;
+    private static final int POINT = 6;
+    private static final int MINUS = 7;
+    private static final int POSITIVE = 8;
+
+    // Where the parser is within the current 3-digit group
+    private static final int GROUP_START = 0;
+    private static final int AFTER_UNIT = 1;
+    private static final int AFTER_HUNDRED = 2;
+    private static final int AFTER_TENS = 3;
+    private static final int GROUP_DONE = 4;
+    private static final int AFTER_ZERO = 5;
+
+    // Trie nodes: children[node * ALPHABET + letter] is the child node, 0 for none
+    private int[] children = new int[ALPHABET * 128];
+    private int[] tokens = new int[128];
+    private int nodeCount = 1;
+
+    private EnglishWordsParser() {
+        for (int digit = 0; digit < EnglishWordsEngine.ONES.length; digit++) {
+            add(EnglishWordsEngine.ONES[digit], DIGIT, digit);
+        }
+        for (int teen = 0; teen < EnglishWordsEngine.TEENS.length; teen++) {
+            add(EnglishWordsEngine.TEENS[teen], TEEN, 10 + teen);
+        }
+        for (int tens = 2; tens < EnglishWordsEngine.TENS.length; tens++) {
+            add(EnglishWordsEngine.TENS[tens], TENS, tens);
+        }
+        for (int scale = 1; scale < EnglishWordsEngine.SCALES.length; scale++) {
+            add(EnglishWordsEngine.SCALES[scale].strip(), SCALE, scale);
+        }
+        add(EnglishWordsEngine.HUNDRED, HUNDRED, 0);
+        add(EnglishWordsEngine.POINT, POINT, 0);
+        // The sign prefixes of temperature words
+        add("minus", MINUS, 0);
+        add("positive", POSITIVE, 0);
+
+        children = Arrays.copyOf(children, nodeCount * ALPHABET);
+        tokens = Arrays.copyOf(tokens, nodeCount);
+    }
+
+    private void add(String word, int kind, int value) {
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int slot = node * ALPHABET + word.charAt(i) - 'a';
+            if (children[slot] == 0) {
+                if (nodeCount == tokens.length) {
+                    children = Arrays.copyOf(children, children.length * 2);
+                    tokens = Arrays.copyOf(tokens, tokens.length * 2);
+                }
+                children[slot] = nodeCount++;
+            }
+            node = children[slot];
+        }
+        tokens[node] = kind << 8 | value;
+    }
+
+    /**
+     * @param words e.g. "one thousand two hundred point zero five"
+     * @return the number, with as many decimals as there are digit words after "point"
+     * @throws InvalidNumberException when the words are not a number or it exceeds Long.MAX_VALUE
+     */
+    public BigDecimal parse(CharSequence words) {
+        State state = new State();
+        int node = 0;
+        int wordStart = -1;
+        int length = words.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? words.charAt(i) : ' ';
+            int letter = (c | 0x20) - 'a';
+            if (letter >= 0 && letter < ALPHABET) {
+                if (wordStart < 0) {
+                    wordStart = i;
+                    node = 0;
+                }
+                // -1 marks a word that already left the trie
+                if (node >= 0) {
+                    node = children[node * ALPHABET + letter];
+                    node = node == 0 ? -1 : node;
+                }
+            } else if (c == ' ' || c == '-' || c == '\t' || c == '\n' || c == '\r') {
+                if (wordStart >= 0) {
+                    int token = node > 0 ? tokens[node] : 0;
+                    if (token == 0) {
+                        throw new InvalidNumberException("Unknown number word: "
+                                + words.subSequence(wordStart, i));
+                    }
+                    state.accept(token, words, wordStart, i);
+                    wordStart = -1;
+                }
+            } else {
+                throw new InvalidNumberException("Unexpected character '" + c + "' at position " + i);
+            }
+        }
+        return state.finish();
+    }
+
+    /**
+     * Parse progress of one input
+     */
+    private static final class State {
+        private boolean signAllowed = true;
+        private boolean negative;
+        private boolean hasNumber;
+        private long total;
+        private int group;
+        private int stage = GROUP_START;
+        private int lastScale = SCALE_VALUES.length;
+        private boolean inDecimals;
+        private long decimals;
+        private int decimalDigits;
+
+        void accept(int token, CharSequence words, int start, int end) {
+            int kind = token >>> 8;
+            int value = token & 0xFF;
+            boolean valid = inDecimals ? acceptDecimal(kind, value) : acceptInteger(kind, value);
+            if (!valid) {
+                throw new InvalidNumberException("Unexpected number word '" + words.subSequence(start, end)
+                        + "' at position " + start);
+            }
+            signAllowed = false;
+        }
+
+        private boolean acceptDecimal(int kind, int value) {
+            if (kind != DIGIT || decimalDigits == MAX_DECIMALS) {
+                return false;
+            }
+            decimals = decimals * 10 + value;
+            decimalDigits++;
+            return true;
+        }
+
+        private boolean acceptInteger(int kind, int value) {
+            switch (kind) {
+                case MINUS, POSITIVE -> {
+                    negative = kind == MINUS;
+                    return signAllowed;
+                }
+                case DIGIT -> {
+                    if (value == 0) {
+                        stage = hasNumber ? -1 : AFTER_ZERO;
+                    } else if (stage == GROUP_START) {
+                        stage = AFTER_UNIT;
+                    } else if (stage == AFTER_HUNDRED || stage == AFTER_TENS) {
+                        stage = GROUP_DONE;
+                    } else {
+                        return false;
+                    }
+                    group += value;
+                }
+                case TEEN, TENS -> {
+                    if (stage != GROUP_START && stage != AFTER_HUNDRED) {
+                        return false;
+                    }
+                    stage = kind == TEEN ? GROUP_DONE : AFTER_TENS;
+                    group += kind == TEEN ? value : value * 10;
+                }
+                case HUNDRED -> {
+                    if (stage != AFTER_UNIT) {
+                        return false;
+                    }
+                    stage = AFTER_HUNDRED;
+                    group *= 100;
+                }
+                case SCALE -> {
+                    if (stage == GROUP_START || stage == AFTER_ZERO || value >= lastScale) {
+                        return false;
+                    }
+                    total = add(total, group, SCALE_VALUES[value]);
+                    group = 0;
+                    stage = GROUP_START;
+                    lastScale = value;
+                }
+                case POINT -> {
+                    if (!hasNumber) {
+                        return false;
+                    }
+                    total = add(total, group, 1);
+                    inDecimals = true;
+                }
+                default -> {
+                    return false;
+                }
+            }
+            hasNumber = stage >= 0;
+            return hasNumber;
+        }
+
+        BigDecimal finish() {
+            if (!hasNumber) {
+                throw new InvalidNumberException("No number words found");
+            }
+            if (inDecimals && decimalDigits == 0) {
+                throw new InvalidNumberException("Expected digit words after point");
+            }
+            long integerPart = inDecimals ? total : add(total, group, 1);
+            BigDecimal number = decimalDigits == 0
+                    ? BigDecimal.valueOf(integerPart)
+                    : BigDecimal.valueOf(integerPart).add(BigDecimal.valueOf(decimals, decimalDigits));
+            return negative ? number.negate() : number;
+        }
+
+        private static long add(long total, int group, long scale) {
+            try {
+                return Math.addExact(total, Math.multiplyExact(group, scale));
+            } catch (ArithmeticException e) {
+                throw new InvalidNumberException("Number must be at most " + Long.MAX_VALUE);
+            }
+        }
+    }
+}
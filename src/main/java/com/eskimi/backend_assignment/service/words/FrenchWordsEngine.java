@@ -0,0 +1,125 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+
+/**
+ * French, e.g. 1280071.05 is "un million deux cent quatre-vingt mille soixante et onze virgule zéro cinq".
+ * <p>
+ * Follows the traditional spelling: hyphens below one hundred, "et un" in 21..71,
+ * "cents" and "quatre-vingts" only when nothing follows them or a noun (million, milliard)
+ * follows them, and an invariable "mille" that takes no "un".
+ */
+public final class FrenchWordsEngine extends CompiledWordsEngine {
+
+    private static final String[] UNITS = {
+            "zéro", "un", "deux", "trois", "quatre", "cinq", "six", "sept", "huit", "neuf",
+            "dix", "onze", "douze", "treize", "quatorze", "quinze", "seize", "dix-sept", "dix-huit", "dix-neuf"
+    };
+
+    private static final String[] TENS = {
+            "", "", "vingt", "trente", "quarante", "cinquante", "soixante"
+    };
+
+    private static final String MILLE = " mille";
+
+    // Scale nouns from 10^6 up, singular and plural
+    private static final String[] SCALES = {
+            "", "", " million", " milliard", " billion", " billiard", " trillion"
+    };
+    private static final String[] SCALES_PLURAL = {
+            "", "", " millions", " milliards", " billions", " billiards", " trillions"
+    };
+
+    // Created after the word lists above, which its constructor reads
+    public static final FrenchWordsEngine INSTANCE = new FrenchWordsEngine();
+
+    private final SerializedString[] groups = new SerializedString[1000];
+    private final SerializedString[] groupsBeforeMille = new SerializedString[1000];
+    private final SerializedString mille = new SerializedString(MILLE.strip());
+    private final SerializedString milleSuffix = new SerializedString(MILLE);
+    private final SerializedString[] scales = fragments(SCALES);
+    private final SerializedString[] scalesPlural = fragments(SCALES_PLURAL);
+
+    private FrenchWordsEngine() {
+        super("fr", UNITS, "virgule");
+        for (int group = 0; group < groups.length; group++) {
+            groups[group] = new SerializedString(groupWords(group, true));
+            groupsBeforeMille[group] = new SerializedString(groupWords(group, false));
+        }
+    }
+
+    @Override
+    protected void appendInteger(long number, FragmentSink sink) throws IOException {
+        int scale = ThousandGroups.highestScale(number);
+        boolean first = true;
+        for (; scale >= 0; scale--) {
+            int group = ThousandGroups.group(number, scale);
+            if (group == 0) {
+                continue;
+            }
+            if (!first) {
+                sink.append(SPACE);
+            }
+            if (scale == 0) {
+                sink.append(groups[group]);
+            } else if (scale == 1) {
+                // "mille", never "un mille"
+                if (group == 1) {
+                    sink.append(mille);
+                } else {
+                    sink.append(groupsBeforeMille[group]);
+                    sink.append(milleSuffix);
+                }
+            } else {
+                sink.append(groups[group]);
+                sink.append(group == 1 ? scales[scale] : scalesPlural[scale]);
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * Words of 1..999
+     * @param last whether nothing but a noun follows, which is when "cent" and "vingt" take an s
+     */
+    private static String groupWords(int number, boolean last) {
+        if (number == 0) {
+            return "";
+        }
+        int hundreds = number / 100;
+        int rest = number % 100;
+        if (hundreds == 0) {
+            return belowHundred(rest, last);
+        }
+
+        String hundredWords = hundreds == 1 ? "cent" : UNITS[hundreds] + " cent";
+        if (rest == 0) {
+            return hundreds > 1 && last ? hundredWords + "s" : hundredWords;
+        }
+        return hundredWords + " " + belowHundred(rest, last);
+    }
+
+    private static String belowHundred(int number, boolean last) {
+        if (number < 20) {
+            return UNITS[number];
+        }
+        if (number < 70) {
+            int tens = number / 10;
+            int units = number % 10;
+            if (units == 0) {
+                return TENS[tens];
+            }
+            return units == 1 ? TENS[tens] + " et un" : TENS[tens] + "-" + UNITS[units];
+        }
+        if (number < 80) {
+            // 70..79 count on from soixante: soixante-dix, soixante et onze, soixante-douze...
+            return number == 71 ? "soixante et onze" : "soixante-" + UNITS[number - 60];
+        }
+        if (number == 80) {
+            return last ? "quatre-vingts" : "quatre-vingt";
+        }
+        return "quatre-vingt-" + UNITS[number - 80];
+    }
+}
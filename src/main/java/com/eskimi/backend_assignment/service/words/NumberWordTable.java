@@ -0,0 +1,97 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.IntFunction;
+
+/**
+ * Prebuilt words for every two-decimal value from 0.00 to 999.99, indexed by the value in
+ * hundredths (36.40 is index 3640). A lookup is a single array read and returns a shared String.
+ * <p>
+ * Each entry is a {@link SerializedString}, which also caches its UTF-8 bytes the first time it
+ * is written to a response, so Jackson copies them straight into its output buffer afterwards.
+ * English and French entries are stored by the JVM as compact Latin-1 byte arrays and take
+ * about 10.5 MB of heap; Bangla needs UTF-16 and about twice that. Every entry's cached UTF-8
+ * bytes add about as much again, see {@link #footprintBytes()}.
+ */
+public final class NumberWordTable {
+    public static final int SIZE = 100_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NumberWordTable.class);
+
+    // Object header and field sizes of a 64-bit JVM with compressed oops
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int STRING_OBJECT_BYTES = 24;
+    private static final int SERIALIZED_STRING_OBJECT_BYTES = 32;
+
+    private final SerializedString[] words;
+
+    private NumberWordTable(SerializedString[] words) {
+        this.words = words;
+    }
+
+    /**
+     * @param language  language of the words, for logging
+     * @param converter computes the words of a value given in hundredths
+     */
+    public static NumberWordTable build(String language, IntFunction<String> converter) {
+        long start = System.nanoTime();
+        SerializedString[] words = new SerializedString[SIZE];
+        for (int hundredths = 0; hundredths < SIZE; hundredths++) {
+            words[hundredths] = new SerializedString(converter.apply(hundredths));
+        }
+        NumberWordTable table = new NumberWordTable(words);
+        LOGGER.info("Built {} number word table with {} entries in {} ms, ~{} KB of heap",
+                language, SIZE, (System.nanoTime() - start) / 1_000_000, table.footprintBytes() / 1024);
+        return table;
+    }
+
+    public static boolean contains(long hundredths) {
+        return hundredths >= 0 && hundredths < SIZE;
+    }
+
+    /**
+     * @param hundredths value times 100, must satisfy {@link #contains(long)}
+     */
+    public String get(int hundredths) {
+        return words[hundredths].getValue();
+    }
+
+    /**
+     * Same words as {@link #get(int)}, for writing to a JSON generator as pre-encoded UTF-8
+     */
+    public SerializableString getEncoded(int hundredths) {
+        return words[hundredths];
+    }
+
+    /**
+     * Estimated retained heap of the table: the reference array plus each entry's wrapper,
+     * String and backing array (Latin-1, or UTF-16 when a char does not fit), padded to 8 bytes.
+     * Cached UTF-8 bytes are not included.
+     */
+    public long footprintBytes() {
+        long bytes = align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * words.length);
+        for (SerializedString word : words) {
+            bytes += SERIALIZED_STRING_OBJECT_BYTES + STRING_OBJECT_BYTES
+                    + align(ARRAY_HEADER_BYTES + (long) word.charLength() * bytesPerChar(word.getValue()));
+        }
+        return bytes;
+    }
+
+    private static int bytesPerChar(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return 2;
+            }
+        }
+        return 1;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
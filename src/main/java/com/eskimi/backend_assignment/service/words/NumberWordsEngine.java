@@ -0,0 +1,33 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Spells out non-negative numbers with two decimals in one language.
+ */
+public interface NumberWordsEngine {
+
+    /**
+     * @return ISO 639 language code, e.g. "en"
+     */
+    String getLanguage();
+
+    /**
+     * @param integerPart 0 to {@link Long#MAX_VALUE}
+     * @param decimals    the two decimal digits as 0..99, spelled digit by digit when non-zero
+     */
+    String toWords(long integerPart, int decimals);
+
+    /**
+     * Writes the same words as {@link #toWords(long, int)} as raw UTF-8, without quotes
+     */
+    void writeTo(JsonGenerator generator, long integerPart, int decimals) throws IOException;
+
+    /**
+     * Builds any lookup tables up front, instead of on the first call that needs them
+     */
+    default void preload() {
+    }
+}
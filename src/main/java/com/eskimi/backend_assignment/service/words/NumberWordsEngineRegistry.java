@@ -0,0 +1,73 @@
+package com.eskimi.backend_assignment.service.words;
+
+import com.eskimi.backend_assignment.exception.UnsupportedLanguageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the number words engine of every supported language. English is the default.
+ * <p>
+ * The word tables of the languages listed in {@code number.words.preload} are built at startup,
+ * so no request pays for building them. Each table takes 10-20 MB of heap, see {@link NumberWordTable},
+ * so only English, the default, is preloaded unless configured; the others are built on first use.
+ */
+@Component
+public class NumberWordsEngineRegistry {
+
+    private static final List<NumberWordsEngine> ENGINES = List.of(
+            EnglishWordsEngine.INSTANCE, BanglaWordsEngine.INSTANCE, FrenchWordsEngine.INSTANCE);
+
+    private final Map<String, NumberWordsEngine> engines = Collections.unmodifiableMap(ENGINES.stream()
+            .collect(Collectors.toMap(NumberWordsEngine::getLanguage, Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+
+    public NumberWordsEngineRegistry(@Value("${number.words.preload:en}") List<String> preload) {
+        for (String language : preload) {
+            if (!language.isBlank()) {
+                resolve(language, null).preload();
+            }
+        }
+    }
+
+    /**
+     * Picks the engine for a request
+     * @param language explicitly requested language code, e.g. from a query parameter; wins over the locale
+     * @param locale   locale resolved from the Accept-Language header, may be null
+     */
+    public NumberWordsEngine resolve(String language, Locale locale) {
+        if (language != null && !language.isBlank()) {
+            NumberWordsEngine engine = engines.get(language.strip().toLowerCase(Locale.ROOT));
+            if (engine == null) {
+                throw new UnsupportedLanguageException("Unsupported language: " + language
+                        + ". Supported languages: " + getLanguages());
+            }
+            return engine;
+        }
+        if (locale != null) {
+            NumberWordsEngine engine = engines.get(locale.getLanguage());
+            if (engine != null) {
+                return engine;
+            }
+        }
+        return EnglishWordsEngine.INSTANCE;
+    }
+
+    public Set<String> getLanguages() {
+        return engines.keySet();
+    }
+
+    /**
+     * The supported languages as locales, in order of preference
+     */
+    public static List<Locale> supportedLocales() {
+        return ENGINES.stream().map(engine -> Locale.forLanguageTag(engine.getLanguage())).toList();
+    }
+}
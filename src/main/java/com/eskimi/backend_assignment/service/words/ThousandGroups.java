@@ -0,0 +1,33 @@
+package com.eskimi.backend_assignment.service.words;
+
+/**
+ * Splits a long into 3-digit groups: group 0 is the units, group 1 the thousands and so on.
+ */
+final class ThousandGroups {
+
+    private static final long[] UNITS = {
+            1L, 1_000L, 1_000_000L, 1_000_000_000L, 1_000_000_000_000L, 1_000_000_000_000_000L,
+            1_000_000_000_000_000_000L
+    };
+
+    private ThousandGroups() {
+    }
+
+    /**
+     * @return index of the highest non-zero group of a positive number
+     */
+    static int highestScale(long number) {
+        int scale = 0;
+        while (scale + 1 < UNITS.length && UNITS[scale + 1] <= number) {
+            scale++;
+        }
+        return scale;
+    }
+
+    /**
+     * @return the 3-digit group at the given scale, 0..999
+     */
+    static int group(long number, int scale) {
+        return (int) (number / UNITS[scale] % 1000);
+    }
+}
@@ -0,0 +1,180 @@
+package com.eskimi.backend_assignment.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calls to a dependency that keeps failing, so callers fail fast instead of waiting
+ * for it to time out.
+ * <ul>
+ *     <li>CLOSED: calls pass, and the outcomes of the last {@code windowSize} calls are kept.
+ *     Once at least {@code minimumCalls} are known and the failure rate reaches the threshold,
+ *     the breaker opens</li>
+ *     <li>OPEN: calls are rejected until {@code openDuration} has passed</li>
+ *     <li>HALF_OPEN: up to {@code halfOpenCalls} trial calls pass. If they all succeed the
+ *     breaker closes with an empty window; one failure opens it again</li>
+ * </ul>
+ * Every permitted call must end in exactly one of {@link #onSuccess()}, {@link #onFailure()}
+ * or {@link #release()}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+    // Not synchronized, so callers waiting on it do not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder notPermittedCalls = new LongAdder();
+
+    private volatile State state = State.CLOSED;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param windowSize           number of most recent calls the failure rate is taken over
+     * @param minimumCalls         calls needed before the failure rate is acted on
+     * @param failureRateThreshold failure percentage, 1..100, that opens the breaker
+     * @param openDuration         time calls are rejected before trial calls are let through
+     * @param halfOpenCalls        trial calls that must succeed to close the breaker
+     * @param nanoTime             time source, {@code System::nanoTime} outside tests
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, Duration openDuration,
+                          int halfOpenCalls, LongSupplier nanoTime) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize
+                || failureRateThreshold < 1 || failureRateThreshold > 100 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return whether the call may go ahead; a rejected call must not report an outcome
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+                halfOpenPermits--;
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        notPermittedCalls.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                record(false);
+            } else if (state == State.HALF_OPEN && ++halfOpenSuccesses >= halfOpenCalls) {
+                state = State.CLOSED;
+                windowNext = 0;
+                windowCalls = 0;
+                windowFailures = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                record(true);
+                if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+                    open();
+                }
+            } else if (state == State.HALF_OPEN) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends a permitted call without an outcome, e.g. one that was cancelled or failed for a
+     * reason that says nothing about the dependency's health
+     */
+    public void release() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls - halfOpenSuccesses) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            windowFailures -= window[windowNext] ? 1 : 0;
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failure;
+        windowFailures += failure ? 1 : 0;
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+
+    public State getState() {
+        // An expired OPEN state still reads as OPEN until the next call asks for permission
+        return state;
+    }
+
+    /**
+     * @return failure percentage of the current window, or -1 below the minimum number of calls
+     */
+    public float getFailureRate() {
+        lock.lock();
+        try {
+            return windowCalls < minimumCalls ? -1 : windowFailures * 100f / windowCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of calls rejected so far
+     */
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+}
@@ -0,0 +1,143 @@
+package com.eskimi.backend_assignment.util;
+
+/**
+ * Constant-time conversions between proleptic Gregorian dates and epoch days
+ * (days since 1970-01-01, the same numbering as {@link java.time.LocalDate#toEpochDay()}).
+ * <p>
+ * Uses the closed-form civil calendar algorithms: the year is shifted so that it starts in
+ * March, which puts the leap day at the very end and lets month offsets be computed with a
+ * single linear expression. Cost is the same for every year in 1..9999.
+ * <p>
+ * Dates coming back from {@link #toPackedDate(long)} are packed into a single int as
+ * {@code year << 9 | month << 5 | day}, which keeps natural ordering and avoids allocating.
+ */
+public final class EpochDays {
+
+    public static final int MIN_YEAR = 1;
+    public static final int MAX_YEAR = 9999;
+
+    /** Epoch day of 0001-01-01. */
+    public static final long MIN_EPOCH_DAY = -719162;
+
+    /** Epoch day of 9999-12-31. */
+    public static final long MAX_EPOCH_DAY = 2932896;
+
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int DAYS_0000_03_01_TO_1970_01_01 = 719468;
+
+    private EpochDays() {
+    }
+
+    /**
+     * Convert a date to days since 1970-01-01. The date is assumed to be valid.
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_0000_03_01_TO_1970_01_01;
+    }
+
+    /**
+     * Convert days since 1970-01-01 back to a packed date.
+     */
+    public static int toPackedDate(long epochDay) {
+        long z = epochDay + DAYS_0000_03_01_TO_1970_01_01;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        int dayOfEra = (int) (z - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return pack(year, month, day);
+    }
+
+    public static int pack(int year, int month, int day) {
+        return year << 9 | month << 5 | day;
+    }
+
+    public static int year(int packedDate) {
+        return packedDate >>> 9;
+    }
+
+    public static int month(int packedDate) {
+        return (packedDate >>> 5) & 0xF;
+    }
+
+    public static int day(int packedDate) {
+        return packedDate & 0x1F;
+    }
+
+    public static long toEpochDay(int packedDate) {
+        return toEpochDay(year(packedDate), month(packedDate), day(packedDate));
+    }
+
+    /**
+     * Format a packed date as YYYY-MM-DD.
+     */
+    public static String format(int packedDate) {
+        char[] chars = new char[10];
+        format(packedDate, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Write a packed date as YYYY-MM-DD into the buffer, which needs 10 free chars from offset.
+     */
+    public static void format(int packedDate, char[] buffer, int offset) {
+        int year = year(packedDate);
+        int month = month(packedDate);
+        int day = day(packedDate);
+        buffer[offset] = (char) ('0' + year / 1000);
+        buffer[offset + 1] = (char) ('0' + year / 100 % 10);
+        buffer[offset + 2] = (char) ('0' + year / 10 % 10);
+        buffer[offset + 3] = (char) ('0' + year % 10);
+        buffer[offset + 4] = '-';
+        buffer[offset + 5] = (char) ('0' + month / 10);
+        buffer[offset + 6] = (char) ('0' + month % 10);
+        buffer[offset + 7] = '-';
+        buffer[offset + 8] = (char) ('0' + day / 10);
+        buffer[offset + 9] = (char) ('0' + day % 10);
+    }
+
+    /**
+     * Write a packed date as YYYY-MM-DD ASCII bytes into the buffer, which needs 10 free bytes from offset.
+     */
+    public static void formatAscii(int packedDate, byte[] buffer, int offset) {
+        int year = year(packedDate);
+        int month = month(packedDate);
+        int day = day(packedDate);
+        buffer[offset] = (byte) ('0' + year / 1000);
+        buffer[offset + 1] = (byte) ('0' + year / 100 % 10);
+        buffer[offset + 2] = (byte) ('0' + year / 10 % 10);
+        buffer[offset + 3] = (byte) ('0' + year % 10);
+        buffer[offset + 4] = '-';
+        buffer[offset + 5] = (byte) ('0' + month / 10);
+        buffer[offset + 6] = (byte) ('0' + month % 10);
+        buffer[offset + 7] = '-';
+        buffer[offset + 8] = (byte) ('0' + day / 10);
+        buffer[offset + 9] = (byte) ('0' + day % 10);
+    }
+
+    /**
+     * Leap year rules:
+     * - Divisible by 4
+     * - Exception: divisible by 100 (not a leap year)
+     * - Exception to exception: divisible by 400 (is a leap year)
+     */
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            return isLeapYear(year) ? 29 : 28;
+        }
+        // 30-day months are April, June, September and November
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+}
@@ -0,0 +1,55 @@
+package com.eskimi.backend_assignment.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Rounds doubles to two decimal places with integer arithmetic, giving exactly what
+ * {@code BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP)} gives.
+ * <p>
+ * BigDecimal.valueOf rounds the shortest decimal representation of the double (Double.toString),
+ * not its exact binary value, so 1.005 becomes 1.01 even though the double is slightly below 1.005.
+ * That decimal is within half an ulp of the double, so value * 100 only rounds differently when
+ * it lies within a few ulps of a .5 tie. Those rare values, and values too large for a long
+ * number of hundredths, fall back to BigDecimal.
+ */
+public final class Hundredths {
+
+    // |value| * 100 stays well below 2^53, so the fraction of value * 100 is computed exactly
+    private static final double MAX_FAST_VALUE = 1e13;
+    // value * 100 is at most ~2 ulps away from the decimal's hundredths, see class comment
+    private static final int TIE_MARGIN_ULPS = 256;
+
+    private Hundredths() {
+    }
+
+    /**
+     * @return value rounded half up to two decimals, times 100
+     * @throws NumberFormatException if value is NaN or infinite, like BigDecimal.valueOf
+     * @throws ArithmeticException   if the result does not fit in a long
+     */
+    public static long round(double value) {
+        double magnitude = Math.abs(value);
+        if (magnitude < MAX_FAST_VALUE) {
+            double scaled = magnitude * 100;
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > TIE_MARGIN_ULPS * Math.ulp(scaled)) {
+                long hundredths = (long) floor + (fraction > 0.5 ? 1 : 0);
+                return value < 0 ? -hundredths : hundredths;
+            }
+        }
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @return value rounded half up to two decimals
+     */
+    public static double roundToDouble(double value) {
+        if (Math.abs(value) < MAX_FAST_VALUE) {
+            // Both operands are exact, so the division gives the double nearest to the decimal
+            return round(value) / 100.0;
+        }
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
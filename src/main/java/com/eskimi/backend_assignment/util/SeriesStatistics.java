@@ -0,0 +1,318 @@
+package com.eskimi.backend_assignment.util;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of a series of doubles: count, min, max, mean, standard deviation, median,
+ * p10, p90 and the number of values above and below two thresholds, NaN values left out.
+ * <ul>
+ *     <li>one sweep over the series computes everything but the quantiles. It goes block by
+ *     block: the values of a block that are not NaN are copied out, then summed in four
+ *     independent lanes, so no addition waits for the one before and no comparison branches</li>
+ *     <li>sums are Kahan-compensated, so a mean over a million values is as accurate as over ten.
+ *     The variance comes from the squares of the values shifted by the first one, so the single
+ *     pass does not cancel when the spread is small compared to the values</li>
+ *     <li>the quantiles come from the copy: a histogram over min..max tells which bucket holds
+ *     each wanted rank, and only those few buckets are gathered and selected in</li>
+ * </ul>
+ * The JDK Vector API would need the incubator module on Java 17; the four lanes give the JIT the
+ * same independent work to schedule, without it.
+ */
+public final class SeriesStatistics {
+    // Values copied out and summed at a time, small enough to stay in the L1 cache
+    private static final int BLOCK = 1024;
+    private static final int BUCKETS = 4096;
+    // Partitions per selection before falling back to sorting, so a bad pivot sequence stays n log n
+    private static final int MAX_PARTITIONS = 64;
+
+    private SeriesStatistics() {
+    }
+
+    /**
+     * @param values series, NaN for a missing value
+     * @param above  values strictly above it are counted
+     * @param below  values strictly below it are counted
+     * @return statistics of the values that are not NaN; all NaN and zero counts when there are none
+     */
+    public static Summary summarize(double[] values, double above, double below) {
+        double shift = Double.NaN;
+        for (int i = 0; i < values.length && Double.isNaN(shift); i++) {
+            shift = values[i];
+        }
+        if (Double.isNaN(shift)) {
+            return Summary.EMPTY;
+        }
+
+        double[] present = new double[values.length];
+        int count = 0;
+        double min0 = Double.POSITIVE_INFINITY, min1 = min0, min2 = min0, min3 = min0;
+        double max0 = Double.NEGATIVE_INFINITY, max1 = max0, max2 = max0, max3 = max0;
+        // Per lane: sum of the values and sum of squares of the shifted values, each with its Kahan compensation
+        double sum0 = 0, sum1 = 0, sum2 = 0, sum3 = 0;
+        double sumError0 = 0, sumError1 = 0, sumError2 = 0, sumError3 = 0;
+        double squares0 = 0, squares1 = 0, squares2 = 0, squares3 = 0;
+        double squaresError0 = 0, squaresError1 = 0, squaresError2 = 0, squaresError3 = 0;
+        long aboveCount = 0;
+        long belowCount = 0;
+
+        for (int blockStart = 0; blockStart < values.length; blockStart += BLOCK) {
+            int blockEnd = Math.min(values.length, blockStart + BLOCK);
+            int i = count;
+            for (int j = blockStart; j < blockEnd; j++) {
+                double value = values[j];
+                if (value == value) {
+                    present[count++] = value;
+                }
+            }
+
+            for (int lastLane = count - 3; i < lastLane; i += 4) {
+                double x0 = present[i], x1 = present[i + 1], x2 = present[i + 2], x3 = present[i + 3];
+                min0 = x0 < min0 ? x0 : min0;
+                min1 = x1 < min1 ? x1 : min1;
+                min2 = x2 < min2 ? x2 : min2;
+                min3 = x3 < min3 ? x3 : min3;
+                max0 = x0 > max0 ? x0 : max0;
+                max1 = x1 > max1 ? x1 : max1;
+                max2 = x2 > max2 ? x2 : max2;
+                max3 = x3 > max3 ? x3 : max3;
+
+                double d0 = x0 - shift, d1 = x1 - shift, d2 = x2 - shift, d3 = x3 - shift;
+                double corrected, next;
+                corrected = x0 - sumError0; next = sum0 + corrected; sumError0 = (next - sum0) - corrected; sum0 = next;
+                corrected = x1 - sumError1; next = sum1 + corrected; sumError1 = (next - sum1) - corrected; sum1 = next;
+                corrected = x2 - sumError2; next = sum2 + corrected; sumError2 = (next - sum2) - corrected; sum2 = next;
+                corrected = x3 - sumError3; next = sum3 + corrected; sumError3 = (next - sum3) - corrected; sum3 = next;
+                corrected = d0 * d0 - squaresError0; next = squares0 + corrected;
+                squaresError0 = (next - squares0) - corrected; squares0 = next;
+                corrected = d1 * d1 - squaresError1; next = squares1 + corrected;
+                squaresError1 = (next - squares1) - corrected; squares1 = next;
+                corrected = d2 * d2 - squaresError2; next = squares2 + corrected;
+                squaresError2 = (next - squares2) - corrected; squares2 = next;
+                corrected = d3 * d3 - squaresError3; next = squares3 + corrected;
+                squaresError3 = (next - squares3) - corrected; squares3 = next;
+
+                aboveCount += isNegative(above - x0) + isNegative(above - x1)
+                        + isNegative(above - x2) + isNegative(above - x3);
+                belowCount += isNegative(x0 - below) + isNegative(x1 - below)
+                        + isNegative(x2 - below) + isNegative(x3 - below);
+            }
+            for (; i < count; i++) {
+                double x0 = present[i];
+                min0 = x0 < min0 ? x0 : min0;
+                max0 = x0 > max0 ? x0 : max0;
+                double d0 = x0 - shift;
+                double corrected, next;
+                corrected = x0 - sumError0; next = sum0 + corrected; sumError0 = (next - sum0) - corrected; sum0 = next;
+                corrected = d0 * d0 - squaresError0; next = squares0 + corrected;
+                squaresError0 = (next - squares0) - corrected; squares0 = next;
+                aboveCount += isNegative(above - x0);
+                belowCount += isNegative(x0 - below);
+            }
+        }
+
+        double min = Math.min(Math.min(min0, min1), Math.min(min2, min3));
+        double max = Math.max(Math.max(max0, max1), Math.max(max2, max3));
+        double mean = combine(sum0, sumError0, sum1, sumError1, sum2, sumError2, sum3, sumError3) / count;
+        double shiftedSquares = combine(squares0, squaresError0, squares1, squaresError1,
+                squares2, squaresError2, squares3, squaresError3);
+        double shiftedMean = mean - shift;
+        double variance = Math.max(0, shiftedSquares / count - shiftedMean * shiftedMean);
+
+        double[] quantiles = quantiles(present, count, min, max, 0.1, 0.5, 0.9);
+        return new Summary(count, min, max, mean, Math.sqrt(variance),
+                quantiles[1], quantiles[0], quantiles[2], (int) aboveCount, (int) belowCount);
+    }
+
+    /**
+     * @return 1 when the difference is negative, without a branch; a zero difference is not
+     */
+    private static long isNegative(double difference) {
+        return Double.doubleToRawLongBits(difference) >>> 63;
+    }
+
+    /**
+     * Total of the four lanes and their compensations, with Neumaier's variant of Kahan's
+     * summation, which also holds when an addend is larger than the running total
+     */
+    private static double combine(double sum0, double error0, double sum1, double error1,
+                                  double sum2, double error2, double sum3, double error3) {
+        double[] parts = {sum0, sum1, sum2, sum3, -error0, -error1, -error2, -error3};
+        double total = 0;
+        double compensation = 0;
+        for (double part : parts) {
+            double next = total + part;
+            compensation += Math.abs(total) >= Math.abs(part) ? (total - next) + part : (part - next) + total;
+            total = next;
+        }
+        return total + compensation;
+    }
+
+    /**
+     * Quantiles of the values that are not NaN, interpolated between the closest ranks
+     * (numpy's and R's default, type 7)
+     * @param quantiles each in 0..1
+     * @return one value per quantile, NaN when there are no values
+     */
+    public static double[] quantiles(double[] values, double... quantiles) {
+        double[] present = new double[values.length];
+        int count = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            if (value == value) {
+                present[count++] = value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        return quantiles(present, count, min, max, quantiles);
+    }
+
+    /**
+     * @param values the first count entries are the values, reordered
+     */
+    private static double[] quantiles(double[] values, int count, double min, double max, double... quantiles) {
+        double[] result = new double[quantiles.length];
+        if (count == 0 || min == max) {
+            Arrays.fill(result, count == 0 ? Double.NaN : min);
+            return result;
+        }
+
+        // Bucket of every value, then the first rank in each bucket
+        double scale = BUCKETS / (max - min);
+        int[] firstRank = new int[BUCKETS + 1];
+        for (int i = 0; i < count; i++) {
+            firstRank[bucket(values[i], min, scale) + 1]++;
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            firstRank[b + 1] += firstRank[b];
+        }
+
+        // The ranks each quantile is interpolated between, and the buckets holding them
+        int[] ranks = new int[quantiles.length * 2];
+        double[] fractions = new double[quantiles.length];
+        int[] group = new int[BUCKETS];
+        Arrays.fill(group, -1);
+        int groups = 0;
+        for (int q = 0; q < quantiles.length; q++) {
+            double position = quantiles[q] * (count - 1);
+            ranks[2 * q] = (int) position;
+            ranks[2 * q + 1] = Math.min(ranks[2 * q] + 1, count - 1);
+            fractions[q] = position - ranks[2 * q];
+        }
+        int[] rankBucket = new int[ranks.length];
+        for (int r = 0; r < ranks.length; r++) {
+            int b = bucketOfRank(firstRank, ranks[r]);
+            rankBucket[r] = b;
+            if (group[b] < 0) {
+                group[b] = groups++;
+            }
+        }
+
+        // Only the values of those buckets are gathered
+        double[][] gathered = new double[groups][];
+        int[] filled = new int[groups];
+        for (int b = 0; b < BUCKETS; b++) {
+            if (group[b] >= 0) {
+                gathered[group[b]] = new double[firstRank[b + 1] - firstRank[b]];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            double value = values[i];
+            int g = group[bucket(value, min, scale)];
+            if (g >= 0) {
+                gathered[g][filled[g]++] = value;
+            }
+        }
+
+        for (int q = 0; q < quantiles.length; q++) {
+            double lower = rankValue(gathered, group, firstRank, rankBucket[2 * q], ranks[2 * q]);
+            if (fractions[q] > 0) {
+                double upper = rankValue(gathered, group, firstRank, rankBucket[2 * q + 1], ranks[2 * q + 1]);
+                lower += fractions[q] * (upper - lower);
+            }
+            result[q] = lower;
+        }
+        return result;
+    }
+
+    private static int bucket(double value, double min, double scale) {
+        // The maximum lands one past the last bucket; a scale that overflowed lands everything in 0
+        int bucket = (int) ((value - min) * scale);
+        return bucket < 0 ? 0 : Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static int bucketOfRank(int[] firstRank, int rank) {
+        int b = Arrays.binarySearch(firstRank, 0, BUCKETS + 1, rank);
+        if (b < 0) {
+            return -b - 2;
+        }
+        // Several buckets start at this rank when the ones before it are empty; it is in the last
+        while (b < BUCKETS && firstRank[b + 1] == rank) {
+            b++;
+        }
+        return b;
+    }
+
+    private static double rankValue(double[][] gathered, int[] group, int[] firstRank, int bucket, int rank) {
+        double[] values = gathered[group[bucket]];
+        int local = rank - firstRank[bucket];
+        select(values, 0, values.length - 1, local);
+        return values[local];
+    }
+
+    /**
+     * Moves the value of the given rank among values[from..to] to index rank, smaller or equal
+     * values before it and larger or equal values after it
+     */
+    private static void select(double[] values, int from, int to, int rank) {
+        int lo = from;
+        int hi = to;
+        for (int partitions = 0; lo < hi; partitions++) {
+            if (partitions == MAX_PARTITIONS) {
+                Arrays.sort(values, lo, hi + 1);
+                return;
+            }
+            // Hoare partition around the median of three; equal values are split between both sides
+            int middle = (lo + hi) >>> 1;
+            double pivot = medianOfThree(values[lo], values[middle], values[hi]);
+            int i = lo - 1;
+            int j = hi + 1;
+            while (true) {
+                do {
+                    i++;
+                } while (values[i] < pivot);
+                do {
+                    j--;
+                } while (values[j] > pivot);
+                if (i >= j) {
+                    break;
+                }
+                double swap = values[i];
+                values[i] = values[j];
+                values[j] = swap;
+            }
+            if (rank <= j) {
+                hi = j;
+            } else {
+                lo = j + 1;
+            }
+        }
+    }
+
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * @param count             values that are not NaN
+     * @param standardDeviation population standard deviation
+     * @param above             values above the upper threshold
+     * @param below             values below the lower threshold
+     */
+    public record Summary(int count, double min, double max, double mean, double standardDeviation,
+                          double median, double p10, double p90, int above, int below) {
+        static final Summary EMPTY = new Summary(0, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                Double.NaN, Double.NaN, Double.NaN, 0, 0);
+    }
+}
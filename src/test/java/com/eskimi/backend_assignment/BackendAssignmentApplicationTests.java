@@ -3,7 +3,10 @@ package com.eskimi.backend_assignment;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"weather.snapshot.file=target/test-data/dhaka-daily.bin",
+		"weather.prefetch.enabled=false"
+})
 class BackendAssignmentApplicationTests {
 
 	@Test
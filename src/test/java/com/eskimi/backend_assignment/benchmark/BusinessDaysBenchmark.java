@@ -0,0 +1,73 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendar;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business-day count over ranges from one year to several centuries: precomputed
+ * bitset rank lookup against walking the range day by day.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="BusinessDaysBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BusinessDaysBenchmark {
+
+    private static final Set<DayOfWeek> WEEKEND = EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+
+    @Param({"1", "100", "500", "2000"})
+    private int years;
+
+    private HolidayCalendar calendar;
+    private Set<Long> holidayDays;
+    private CalendarDate start;
+    private CalendarDate end;
+
+    @Setup
+    public void setUp() {
+        List<CalendarDate> holidays = new ArrayList<>();
+        holidayDays = new HashSet<>();
+        for (int year = 1000; year <= 3500; year++) {
+            for (int[] monthDay : new int[][]{{2, 21}, {3, 26}, {4, 14}, {5, 1}, {12, 16}}) {
+                CalendarDate holiday = CalendarDate.of(year, monthDay[0], monthDay[1]);
+                holidays.add(holiday);
+                holidayDays.add(holiday.toEpochDay());
+            }
+        }
+        calendar = new HolidayCalendar("bench", WEEKEND, holidays);
+        start = CalendarDate.of(1200, 3, 1);
+        end = CalendarDate.of(1200 + years, 3, 1);
+    }
+
+    @Benchmark
+    public int bitsetRank() {
+        return calendar.countBusinessDays(start, end);
+    }
+
+    @Benchmark
+    public int dayByDay() {
+        int count = 0;
+        for (long day = start.toEpochDay(); day < end.toEpochDay(); day++) {
+            int dayOfWeek = Math.floorMod(day + 3, 7) + 1;
+            if (!WEEKEND.contains(DayOfWeek.of(dayOfWeek)) && !holidayDays.contains(day)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,73 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.util.EpochDays;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the closed-form epoch-day conversion with the per-year loop that
+ * DaysCalculatorService used before.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="EpochDaysBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EpochDaysBenchmark {
+
+    @Param({"1", "1970", "2024", "5000", "9999"})
+    private int year;
+
+    private int[] randomYears;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        randomYears = new int[1024];
+        for (int i = 0; i < randomYears.length; i++) {
+            randomYears[i] = 1 + random.nextInt(9999);
+        }
+    }
+
+    @Benchmark
+    public long closedForm() {
+        return EpochDays.toEpochDay(year, 7, 15);
+    }
+
+    @Benchmark
+    public long yearLoop() {
+        return legacyConvertDateToDays(year, 7, 15);
+    }
+
+    @Benchmark
+    public long closedFormFullRange() {
+        int y = randomYears[index++ & 1023];
+        return EpochDays.toEpochDay(y, 7, 15);
+    }
+
+    @Benchmark
+    public long yearLoopFullRange() {
+        int y = randomYears[index++ & 1023];
+        return legacyConvertDateToDays(y, 7, 15);
+    }
+
+    // Previous implementation, kept here as the baseline
+    private static int legacyConvertDateToDays(int year, int month, int day) {
+        int totalDays = 0;
+        for (int y = 1; y < year; y++) {
+            totalDays += EpochDays.isLeapYear(y) ? 366 : 365;
+        }
+        for (int m = 1; m < month; m++) {
+            totalDays += EpochDays.lengthOfMonth(year, m);
+        }
+        return totalDays + day;
+    }
+}
@@ -0,0 +1,93 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.request.Location;
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.UpstreamResilience;
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Weather data of 200 cities fetched with one request carrying comma separated coordinates,
+ * against 200 concurrent single-city requests, from a local stub that answers every request
+ * after a fixed delay and, like Open-Meteo, returns an array for several locations.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="MultiLocationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiLocationBenchmark {
+
+    private static final int CITIES = 200;
+    private static final String CITY_BODY = "{\"daily\":{\"temperature_2m_max\":[30.5,31.0],"
+            + "\"temperature_2m_min\":[20.25,21.0],\"temperature_2m_mean\":[25.0,26.0]}}";
+
+    @Param({"20", "100"})
+    private long upstreamDelayMillis;
+
+    private DisposableServer server;
+    private WeatherService weatherService;
+    private List<Location> cities;
+
+    @Setup
+    public void setUp() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/v1/forecast", (request, response) -> {
+                    String latitudes = request.uri().replaceAll(".*latitude=([^&]*).*", "$1");
+                    int locations = latitudes.split("%2C|,").length;
+                    String body = locations == 1 ? CITY_BODY
+                            : IntStream.range(0, locations).mapToObj(i -> CITY_BODY)
+                            .collect(Collectors.joining(",", "[", "]"));
+                    return response.header("Content-Type", "application/json")
+                            .sendString(Mono.delay(Duration.ofMillis(upstreamDelayMillis)).map(tick -> body));
+                }))
+                .bindNow();
+        weatherService = new WeatherService(WebClient.builder(),
+                "http://127.0.0.1:" + server.port() + "/v1/forecast", CITIES, CITIES,
+                new UpstreamResilience(new CircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3, System::nanoTime),
+                        CITIES, false, Duration.ofMillis(50)));
+        cities = IntStream.range(0, CITIES)
+                .mapToObj(i -> new Location("City " + i, -60 + i * 0.5, -170 + i * 1.5))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        weatherService.close();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public List<OpenMeteoResponse> batched() {
+        return weatherService.getTemperatureData(cities, "2025-01-01", "2025-01-02");
+    }
+
+    @Benchmark
+    public List<OpenMeteoResponse> individual() {
+        return Flux.fromIterable(cities)
+                .flatMapSequential(city -> weatherService.getTemperatureDataAsync(
+                        List.of(city), "2025-01-01", "2025-01-02"), CITIES)
+                .flatMapIterable(responses -> responses)
+                .collectList()
+                .block();
+    }
+}
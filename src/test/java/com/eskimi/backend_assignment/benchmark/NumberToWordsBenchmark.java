@@ -0,0 +1,160 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.TemperatureTextConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number to words for random values in 0.00..999.99: the precomputed table lookup against
+ * the BigDecimal/String.format path NumberToWordsService used before, plus the scale-group
+ * path for 18-digit values, the primitive long/double entry points, and temperature text with
+ * integer against BigDecimal rounding. Add -prof gc to see the allocation per call.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="NumberToWordsBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberToWordsBenchmark {
+
+    private static final String[] ONES = {
+            "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
+    };
+    private static final String[] ONES_FOR_INTEGER = {
+            "", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
+    };
+    private static final String[] TENS = {
+            "", "", "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"
+    };
+    private static final String[] TEENS = {
+            "ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen",
+            "sixteen", "seventeen", "eighteen", "nineteen"
+    };
+
+    private final NumberToWordsService service = new NumberToWordsService();
+    private final TemperatureTextConverter temperatureTextConverter = new TemperatureTextConverter(service);
+
+    private BigDecimal[] numbers;
+    private BigDecimal[] largeNumbers;
+    private long[] hundredths;
+    private double[] temperatures;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        numbers = new BigDecimal[1024];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = BigDecimal.valueOf(random.nextInt(100_000), 2);
+        }
+        hundredths = new long[1024];
+        temperatures = new double[1024];
+        for (int i = 0; i < hundredths.length; i++) {
+            hundredths[i] = random.nextInt(100_000);
+            temperatures[i] = (random.nextDouble() - 0.5) * 100;
+        }
+        // 18 integer digits with 2 decimals
+        largeNumbers = new BigDecimal[1024];
+        for (int i = 0; i < largeNumbers.length; i++) {
+            long integerPart = 100_000_000_000_000_000L + (random.nextLong() & Long.MAX_VALUE) % 900_000_000_000_000_000L;
+            largeNumbers[i] = BigDecimal.valueOf(integerPart).add(BigDecimal.valueOf(random.nextInt(100), 2));
+        }
+        // Build the table outside the measurement
+        service.convertToWords(BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public String tableLookup() {
+        return service.convertToWords(numbers[index++ & 1023]);
+    }
+
+    @Benchmark
+    public String longHundredths() {
+        return service.convertToWords(hundredths[index++ & 1023]);
+    }
+
+    @Benchmark
+    public String temperaturePrimitive() {
+        return temperatureTextConverter.convertTemperatureToText(temperatures[index++ & 1023]);
+    }
+
+    @Benchmark
+    public String temperatureBigDecimal() {
+        // The previous TemperatureTextConverter rounding, on top of the current words engine
+        BigDecimal temp = BigDecimal.valueOf(temperatures[index++ & 1023]).setScale(2, RoundingMode.HALF_UP);
+        String prefix = temp.signum() < 0 ? "minus" : "positive";
+        return prefix + " " + service.convertToWords(temp.abs());
+    }
+
+    @Benchmark
+    public String scaleGroups18Digits() {
+        return service.convertToWords(largeNumbers[index++ & 1023]);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacyConvertToWords(numbers[index++ & 1023]);
+    }
+
+    // Previous implementation, kept here as the baseline
+    private static String legacyConvertToWords(BigDecimal number) {
+        number = number.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal integerPart = number.setScale(0, RoundingMode.DOWN);
+        BigDecimal decimalPart = number.subtract(integerPart);
+
+        StringBuilder result = new StringBuilder();
+        int intValue = integerPart.intValue();
+        if (intValue == 0) {
+            result.append("zero");
+        } else {
+            result.append(legacyConvertIntegerToWords(intValue));
+        }
+
+        if (decimalPart.compareTo(BigDecimal.ZERO) > 0) {
+            result.append(" point");
+            String decimalStr = String.format("%.2f", decimalPart.doubleValue()).substring(2);
+            for (char digit : decimalStr.toCharArray()) {
+                result.append(" ").append(ONES[Character.getNumericValue(digit)]);
+            }
+        }
+        return result.toString().trim();
+    }
+
+    private static String legacyConvertIntegerToWords(int number) {
+        StringBuilder result = new StringBuilder();
+        int hundreds = number / 100;
+        if (hundreds > 0) {
+            result.append(ONES_FOR_INTEGER[hundreds]).append(" hundred");
+            number %= 100;
+            if (number > 0) {
+                result.append(" ");
+            }
+        }
+        if (number >= 10 && number < 20) {
+            result.append(TEENS[number - 10]);
+        } else {
+            int tens = number / 10;
+            int ones = number % 10;
+            if (tens > 0) {
+                result.append(TENS[tens]);
+                if (ones > 0) {
+                    result.append(" ");
+                }
+            }
+            if (ones > 0) {
+                result.append(ONES_FOR_INTEGER[ones]);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.response.NumberResponse;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngine;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngineRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same conversions in every language, to check that no language is slower per call:
+ * words as a String and as a JSON response, for table-sized and 18-digit values.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="NumberWordsLocaleBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberWordsLocaleBenchmark {
+
+    @Param({"en", "bn", "fr"})
+    private String language;
+
+    @Param({"3", "18"})
+    private int digits;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NumberToWordsService service = new NumberToWordsService();
+    // Discards the output and, unlike OutputStream.nullOutputStream(), can be closed and reused
+    private final OutputStream out = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private NumberWordsEngine engine;
+    private long[] hundredths;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        engine = new NumberWordsEngineRegistry(List.of(language)).resolve(language, null);
+        Random random = new Random(42);
+        hundredths = new long[1024];
+        for (int i = 0; i < hundredths.length; i++) {
+            hundredths[i] = digits == 3
+                    ? random.nextInt(100_000)
+                    : 10_000_000_000_000_000L + (random.nextLong() & Long.MAX_VALUE) % 90_000_000_000_000_000L;
+        }
+    }
+
+    private long next() {
+        return hundredths[index++ & 1023];
+    }
+
+    @Benchmark
+    public String toText() {
+        return service.toWords(next(), engine).toString();
+    }
+
+    @Benchmark
+    public void toJson() throws IOException {
+        objectMapper.writeValue(out, new NumberResponse(service.toWords(next(), engine)));
+    }
+}
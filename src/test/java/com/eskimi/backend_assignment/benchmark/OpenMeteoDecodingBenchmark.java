@@ -0,0 +1,121 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.weather.OpenMeteoResponseReader;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Decoding a year of daily Open-Meteo values, shaped like the real response (time column,
+ * units, metadata): with WebClient's JSON decoder into boxed {@code List<Double>} columns as
+ * before, with the same decoder into {@code double[]} columns, and with
+ * {@link OpenMeteoResponseReader} straight from the body buffer as WeatherService does now.
+ * <p>
+ * Run with -prof gc to see the allocation per response (gc.alloc.rate.norm):
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="OpenMeteoDecodingBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OpenMeteoDecodingBenchmark {
+
+    @Param({"366"})
+    private int days;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Jackson2JsonDecoder decoder = new Jackson2JsonDecoder(objectMapper);
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        String time = IntStream.range(0, days)
+                .mapToObj(day -> '"' + start.plusDays(day).toString() + '"')
+                .collect(Collectors.joining(","));
+        body = ("{\"latitude\":23.8,\"longitude\":90.4,\"generationtime_ms\":0.31,\"utc_offset_seconds\":21600,"
+                + "\"timezone\":\"Asia/Dhaka\",\"timezone_abbreviation\":\"GMT+6\",\"elevation\":9.0,"
+                + "\"daily_units\":{\"time\":\"iso8601\",\"temperature_2m_max\":\"°C\","
+                + "\"temperature_2m_min\":\"°C\",\"temperature_2m_mean\":\"°C\"},"
+                + "\"daily\":{\"time\":[" + time + "],"
+                + "\"temperature_2m_max\":[" + column(random, 30) + "],"
+                + "\"temperature_2m_min\":[" + column(random, 20) + "],"
+                + "\"temperature_2m_mean\":[" + column(random, 25) + "]}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String column(Random random, double around) {
+        return IntStream.range(0, days)
+                .mapToObj(day -> String.format(Locale.ROOT, "%.1f", around + random.nextGaussian() * 4))
+                .collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public List<BoxedResponse> boxedListsDecoder() {
+        return decode(BoxedResponse.class);
+    }
+
+    @Benchmark
+    public List<OpenMeteoResponse> primitiveColumnsDecoder() {
+        return decode(OpenMeteoResponse.class);
+    }
+
+    @Benchmark
+    public List<OpenMeteoResponse> streamingReader() throws IOException {
+        DataBuffer buffer = bufferFactory.wrap(body);
+        return OpenMeteoResponseReader.read(buffer.asInputStream(true));
+    }
+
+    /**
+     * As {@code bodyToFlux(type).collectList()} decodes a response
+     */
+    private <T> List<T> decode(Class<T> type) {
+        Flux<DataBuffer> buffers = Flux.just(bufferFactory.wrap(body));
+        return decoder.decode(buffers, ResolvableType.forClass(type), MediaType.APPLICATION_JSON, Collections.emptyMap())
+                .cast(type)
+                .collectList()
+                .block();
+    }
+
+    /**
+     * The response model as it was, with boxed columns
+     */
+    public static class BoxedResponse {
+        @JsonProperty("daily")
+        public BoxedDaily daily;
+    }
+
+    public static class BoxedDaily {
+        @JsonProperty("temperature_2m_max")
+        public List<Double> temperatureMax;
+        @JsonProperty("temperature_2m_min")
+        public List<Double> temperatureMin;
+        @JsonProperty("temperature_2m_mean")
+        public List<Double> temperatureMean;
+    }
+}
@@ -0,0 +1,113 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureIndex;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Min, max and mean of a recorded range of days: the constant-time answer of the snapshot's
+ * index against reading the days and scanning them once per statistic, as every request did
+ * before. Also the cost of recording one day into an index of 50 years.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="RangeStatsBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RangeStatsBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(1976, 1, 1);
+    private static final int DAYS = 18263;
+
+    @Param({"1", "5", "20", "50"})
+    private int years;
+
+    private Path directory;
+    private DailyTemperatureSnapshot snapshot;
+    private DailyTemperatureIndex index;
+    private long startDay;
+    private long endDay;
+    private int updatedDay;
+    private final double[] oneDay = {25.0};
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("range-stats-benchmark");
+        snapshot = new DailyTemperatureSnapshot(directory.resolve("snapshot.bin"), FIRST_DAY, DAYS,
+                Clock.systemDefaultZone());
+        Random random = new Random(3);
+        double[] max = new double[DAYS];
+        double[] min = new double[DAYS];
+        double[] mean = new double[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            mean[i] = Math.round((25 + random.nextGaussian() * 5) * 10) / 10.0;
+            max[i] = mean[i] + 5;
+            min[i] = mean[i] - 5;
+        }
+        snapshot.append(FIRST_DAY.toEpochDay(), new OpenMeteoResponse.Daily(max, min, mean));
+        index = new DailyTemperatureIndex(DAYS);
+        index.update(0, max, min, mean);
+
+        int rangeDays = Math.min(DAYS, years * 365);
+        startDay = FIRST_DAY.toEpochDay() + (DAYS - rangeDays) / 2;
+        endDay = startDay + rangeDays - 1;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        snapshot.flush();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public DailyTemperatureIndex.Summary index() {
+        return snapshot.summarize(startDay, endDay);
+    }
+
+    @Benchmark
+    public double[] scan() {
+        OpenMeteoResponse.Daily daily = snapshot.read(startDay, endDay);
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : daily.getTemperatureMin()) {
+            min = Math.min(min, value);
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : daily.getTemperatureMax()) {
+            max = Math.max(max, value);
+        }
+        double sum = 0;
+        for (double value : daily.getTemperatureMean()) {
+            sum += value;
+        }
+        return new double[]{min, max, sum / daily.getTemperatureMean().length};
+    }
+
+    /**
+     * Recording one day anywhere in 50 years, the worst case being the first day
+     */
+    @Benchmark
+    public DailyTemperatureIndex recordDay() {
+        updatedDay = (updatedDay + 7919) % DAYS;
+        index.update(updatedDay, oneDay, oneDay, oneDay);
+        return index;
+    }
+}
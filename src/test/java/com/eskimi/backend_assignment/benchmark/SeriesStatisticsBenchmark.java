@@ -0,0 +1,84 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.util.SeriesStatistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
+
+/**
+ * Min, max, mean, standard deviation, median, p10/p90 and threshold counts of a series of
+ * temperatures with one value in a hundred missing: the single-pass kernel against computing each
+ * statistic separately, streams for min, max and mean, a second pass for the deviation, a sorted
+ * copy for the quantiles and another pass per threshold.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="SeriesStatisticsBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeriesStatisticsBenchmark {
+
+    private static final double ABOVE = 30;
+    private static final double BELOW = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int points;
+
+    private double[] series;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(5);
+        series = new double[points];
+        for (int i = 0; i < points; i++) {
+            // Open-Meteo values have one decimal, so the series has many ties
+            series[i] = random.nextInt(100) == 0
+                    ? Double.NaN
+                    : Math.round((25 + random.nextGaussian() * 5) * 10) / 10.0;
+        }
+    }
+
+    @Benchmark
+    public SeriesStatistics.Summary singlePass() {
+        return SeriesStatistics.summarize(series, ABOVE, BELOW);
+    }
+
+    @Benchmark
+    public void separatePasses(Blackhole blackhole) {
+        blackhole.consume(present().min().orElse(Double.NaN));
+        blackhole.consume(present().max().orElse(Double.NaN));
+        double mean = present().average().orElse(Double.NaN);
+        blackhole.consume(mean);
+        blackhole.consume(Math.sqrt(present().map(value -> (value - mean) * (value - mean)).average().orElse(0)));
+
+        double[] sorted = present().toArray();
+        Arrays.sort(sorted);
+        blackhole.consume(quantile(sorted, 0.1));
+        blackhole.consume(quantile(sorted, 0.5));
+        blackhole.consume(quantile(sorted, 0.9));
+
+        blackhole.consume(present().filter(value -> value > ABOVE).count());
+        blackhole.consume(present().filter(value -> value < BELOW).count());
+    }
+
+    private DoubleStream present() {
+        return Arrays.stream(series).filter(value -> !Double.isNaN(value));
+    }
+
+    private static double quantile(double[] sorted, double quantile) {
+        double position = quantile * (sorted.length - 1);
+        int rank = (int) position;
+        return rank + 1 < sorted.length
+                ? sorted[rank] + (position - rank) * (sorted[rank + 1] - sorted[rank])
+                : sorted[rank];
+    }
+}
@@ -0,0 +1,226 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.TemperatureStatsService;
+import com.eskimi.backend_assignment.service.TemperatureTextConverter;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import com.eskimi.backend_assignment.service.weather.TemperatureStatsCache;
+import com.eskimi.backend_assignment.service.weather.UpstreamResilience;
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Blocking temperature statistics requests against an upstream that answers after a delay,
+ * handled by a pool of 200 platform threads (Tomcat's default maximum) and by one virtual
+ * thread per request, as with {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * Every request is a distinct uncached range, so each one blocks in
+ * {@link WeatherService#getTemperatureData(String, String)} for the upstream delay. Reported per
+ * mode: throughput, p50/p99 latency, peak requests in flight, and the growth of heap and resident
+ * memory per request in flight. Not a JMH benchmark: the figures of interest are latency
+ * percentiles and memory under a burst of concurrent requests, not the time of one operation.
+ * <p>
+ * The virtual mode needs Java 21 or later and is skipped on older runtimes.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=com.eskimi.backend_assignment.benchmark.VirtualThreadsBenchmark \
+ * -Dexec.args="[requests=2000] [upstream delay ms=200]"
+ */
+public class VirtualThreadsBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int WARMUP_REQUESTS = 400;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Duration delay = Duration.ofMillis(args.length > 1 ? Long.parseLong(args[1]) : 200);
+
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/v1/forecast", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(delay).map(tick -> "{\"daily\":{\"temperature_2m_max\":[30.5],"
+                                + "\"temperature_2m_min\":[20.25],\"temperature_2m_mean\":[25.0]}}"))))
+                .bindNow();
+        try {
+            System.out.printf("%d requests, upstream delay %d ms, Java %s%n%n",
+                    requests, delay.toMillis(), Runtime.version().feature());
+            System.out.printf("%-10s %12s %9s %9s %10s %14s %14s%n",
+                    "mode", "requests/s", "p50 ms", "p99 ms", "in flight", "heap/req KB", "rss/req KB");
+
+            run("platform", () -> Executors.newFixedThreadPool(PLATFORM_THREADS), server.port(), requests, delay);
+            Supplier<ExecutorService> virtual = virtualThreadExecutor();
+            if (virtual == null) {
+                System.out.printf("%-10s skipped, virtual threads need Java 21%n", "virtual");
+            } else {
+                run("virtual", virtual, server.port(), requests, delay);
+            }
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    private static void run(String mode, Supplier<ExecutorService> executors, int port, int requests, Duration delay)
+            throws Exception {
+        Path snapshotDirectory = Files.createTempDirectory("virtual-threads-benchmark");
+        WeatherService weatherService = new WeatherService(WebClient.builder(),
+                "http://127.0.0.1:" + port + "/v1/forecast", requests, 200,
+                new UpstreamResilience(new CircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3, System::nanoTime),
+                        requests, false, Duration.ofMillis(50)));
+        // The snapshot covers none of the requested days and the cache is new for every round
+        Clock clock = Clock.systemDefaultZone();
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(snapshotDirectory.resolve("snapshot.bin"),
+                LocalDate.now().minusYears(3), 10, clock);
+        TemperatureTextConverter textConverter = new TemperatureTextConverter(new NumberToWordsService());
+        try {
+            round(new TemperatureStatsService(weatherService, textConverter, newCache(), snapshot, 30, 20, clock),
+                    executors, Math.min(WARMUP_REQUESTS, requests), delay);
+            Result result = round(new TemperatureStatsService(weatherService, textConverter, newCache(), snapshot,
+                    30, 20, clock), executors, requests, delay);
+
+            System.out.printf("%-10s %12.0f %9.1f %9.1f %10d %14.1f %14.1f%n", mode,
+                    requests / (result.elapsedNanos / 1e9),
+                    result.latencies[requests / 2] / 1e6,
+                    result.latencies[(int) Math.ceil(requests * 0.99) - 1] / 1e6,
+                    result.peakInFlight,
+                    result.heapGrowth / 1024.0 / result.peakInFlight,
+                    result.rssGrowth < 0 ? Double.NaN : result.rssGrowth / 1024.0 / result.peakInFlight);
+        } finally {
+            weatherService.close();
+            snapshot.flush();
+        }
+    }
+
+    private static Result round(TemperatureStatsService service, Supplier<ExecutorService> executors, int requests,
+                                Duration delay) throws Exception {
+        LocalDate today = LocalDate.now();
+        long[] latencies = new long[requests];
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicLong peakRss = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(requests);
+
+        System.gc();
+        long baseHeap = usedHeap();
+        long baseRss = residentMemory();
+
+        // Samples memory while requests are parked on the upstream
+        ExecutorService sampler = Executors.newSingleThreadExecutor();
+        sampler.execute(() -> {
+            while (done.getCount() > 0) {
+                peakHeap.accumulateAndGet(usedHeap(), Math::max);
+                peakRss.accumulateAndGet(residentMemory(), Math::max);
+                try {
+                    Thread.sleep(Math.max(1, delay.toMillis() / 10));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long started = System.nanoTime();
+        ExecutorService pool = executors.get();
+        try {
+            for (int i = 0; i < requests; i++) {
+                int request = i;
+                long submitted = System.nanoTime();
+                pool.execute(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        // Distinct ranges of the last year, so no request is cached or coalesced
+                        LocalDate start = today.minusDays(360).plusDays(request % 340);
+                        LocalDate end = start.plusDays(request / 340);
+                        service.getTemperatureStats(CalendarDate.parse(start.toString()),
+                                CalendarDate.parse(end.toString()));
+                    } finally {
+                        inFlight.decrementAndGet();
+                        latencies[request] = System.nanoTime() - submitted;
+                        done.countDown();
+                    }
+                });
+            }
+            if (!done.await(5, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Requests did not finish");
+            }
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - started;
+        sampler.shutdownNow();
+
+        Arrays.sort(latencies);
+        return new Result(latencies, elapsed, peakInFlight.get(),
+                peakHeap.get() - baseHeap, baseRss < 0 ? -1 : peakRss.get() - baseRss);
+    }
+
+    private static TemperatureStatsCache newCache() {
+        return new TemperatureStatsCache(10_000, Duration.ofMinutes(10), Clock.systemDefaultZone(),
+                Ticker.systemTicker());
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * @return resident set size in bytes, or -1 where /proc is not available
+     */
+    private static long residentMemory() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux
+        }
+        return -1;
+    }
+
+    /**
+     * Newer-JDK executor looked up reflectively, the code base targets Java 17
+     */
+    private static Supplier<ExecutorService> virtualThreadExecutor() {
+        try {
+            var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return () -> {
+                try {
+                    return (ExecutorService) method.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, int peakInFlight, long heapGrowth, long rssGrowth) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.model.response.NumberResponse;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a number-to-words response: words as a String that Jackson encodes to UTF-8,
+ * against the pre-encoded fragments of {@link com.eskimi.backend_assignment.model.Words}.
+ * Add -prof gc to compare the allocation per response.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="WordsSerializationBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordsSerializationBenchmark {
+
+    @Param({"3", "18"})
+    private int digits;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NumberToWordsService service = new NumberToWordsService();
+    // Discards the output and, unlike OutputStream.nullOutputStream(), can be closed and reused
+    private final OutputStream out = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private BigDecimal[] numbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        numbers = new BigDecimal[1024];
+        for (int i = 0; i < numbers.length; i++) {
+            long integerPart = digits == 3
+                    ? random.nextInt(1000)
+                    : 100_000_000_000_000_000L + (random.nextLong() & Long.MAX_VALUE) % 900_000_000_000_000_000L;
+            numbers[i] = BigDecimal.valueOf(integerPart).add(BigDecimal.valueOf(random.nextInt(100), 2));
+        }
+        service.convertToWords(BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public void stringWords() throws IOException {
+        objectMapper.writeValue(out, new StringNumberResponse(service.convertToWords(numbers[index++ & 1023])));
+    }
+
+    @Benchmark
+    public void utf8Fragments() throws IOException {
+        objectMapper.writeValue(out, new NumberResponse(service.toWords(numbers[index++ & 1023])));
+    }
+
+    // The response as it was before, with the words as a String
+    public static class StringNumberResponse {
+        public final String words;
+
+        StringNumberResponse(String words) {
+            this.words = words;
+        }
+    }
+}
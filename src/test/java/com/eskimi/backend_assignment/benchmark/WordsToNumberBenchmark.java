@@ -0,0 +1,102 @@
+package com.eskimi.backend_assignment.benchmark;
+
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.WordsToNumberService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Words-to-number throughput: the single-pass trie parser against the usual approach of
+ * splitting on a regex and looking every word up in a HashMap.
+ * <p>
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="WordsToNumberBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordsToNumberBenchmark {
+
+    private static final Map<String, Integer> WORDS = new HashMap<>();
+
+    static {
+        String[] ones = {"zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine",
+                "ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen",
+                "eighteen", "nineteen"};
+        String[] tens = {"twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"};
+        String[] scales = {"thousand", "million", "billion", "trillion", "quadrillion", "quintillion"};
+        for (int i = 0; i < ones.length; i++) {
+            WORDS.put(ones[i], i);
+        }
+        for (int i = 0; i < tens.length; i++) {
+            WORDS.put(tens[i], (i + 2) * 10);
+        }
+        for (int i = 0; i < scales.length; i++) {
+            WORDS.put(scales[i], -(i + 1));
+        }
+    }
+
+    @Param({"3", "18"})
+    private int digits;
+
+    private final WordsToNumberService service = new WordsToNumberService();
+    private String[] inputs;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        NumberToWordsService numberToWordsService = new NumberToWordsService();
+        Random random = new Random(42);
+        inputs = new String[1024];
+        for (int i = 0; i < inputs.length; i++) {
+            long hundredths = digits == 3
+                    ? random.nextInt(100_000)
+                    : 10_000_000_000_000_000L + (random.nextLong() & Long.MAX_VALUE) % 90_000_000_000_000_000L;
+            inputs[i] = numberToWordsService.convertToWords(hundredths);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal trie() {
+        return service.convertToNumber(inputs[index++ & 1023]);
+    }
+
+    @Benchmark
+    public BigDecimal splitAndMap() {
+        String[] words = inputs[index++ & 1023].trim().split("\\s+");
+        long total = 0;
+        long group = 0;
+        int i = 0;
+        for (; i < words.length && !words[i].equals("point"); i++) {
+            if (words[i].equals("hundred")) {
+                group *= 100;
+                continue;
+            }
+            int value = WORDS.get(words[i]);
+            if (value < 0) {
+                total += group * (long) Math.pow(1000, -value);
+                group = 0;
+            } else {
+                group += value;
+            }
+        }
+        BigDecimal number = BigDecimal.valueOf(total + group);
+        if (i < words.length) {
+            StringBuilder decimals = new StringBuilder();
+            for (i++; i < words.length; i++) {
+                decimals.append(WORDS.get(words[i]));
+            }
+            number = number.add(new BigDecimal("0." + decimals));
+        }
+        return number;
+    }
+}
@@ -0,0 +1,103 @@
+package com.eskimi.backend_assignment.unit.model;
+
+import com.eskimi.backend_assignment.exception.DateErrorCode;
+import com.eskimi.backend_assignment.exception.InvalidDateException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.request.DateDifferenceRequest;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarDateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should parse a valid date once into packed and epoch-day form")
+    void testParse() {
+        CalendarDate date = CalendarDate.parse("2024-02-29");
+
+        assertEquals(2024, date.getYear());
+        assertEquals(2, date.getMonth());
+        assertEquals(29, date.getDay());
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), date.toEpochDay());
+        assertEquals("2024-02-29", date.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2024-1-01", "2024/01/01", "01-01-2024", "20x4-01-01", "10000-01-01",
+            "0000-01-01", "2024-00-01", "2024-13-01", "2024-01-00", "2024-01-32", "2023-02-29"})
+    @DisplayName("Should reject malformed or impossible dates")
+    void testInvalidDates(String text) {
+        assertThrows(InvalidDateException.class, () -> CalendarDate.parse(text));
+        char[] chars = ("  " + text + " ").toCharArray();
+        assertThrows(InvalidDateException.class, () -> CalendarDate.parse(chars, 2, text.length()));
+    }
+
+    @Test
+    @DisplayName("Should share one stackless exception per error code")
+    void testPreallocatedExceptions() {
+        InvalidDateException first = assertThrows(InvalidDateException.class, () -> CalendarDate.parse("2024-02-30"));
+        InvalidDateException second = assertThrows(InvalidDateException.class, () -> CalendarDate.parse("2023-04-31"));
+
+        assertSame(first, second);
+        assertEquals(DateErrorCode.DAY_OUT_OF_RANGE, first.getErrorCode());
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals(DateErrorCode.YEAR_OUT_OF_RANGE,
+                CalendarDate.tryParse("0000-01-01").getErrorCode());
+        assertEquals(CalendarDate.of(2024, 2, 29), CalendarDate.tryParse("2024-02-29").getValue());
+    }
+
+    @Test
+    @DisplayName("Should round trip through epoch days and compare by date")
+    void testEpochDayAndOrdering() {
+        CalendarDate first = CalendarDate.ofEpochDay(LocalDate.of(2023, 12, 31).toEpochDay());
+        CalendarDate second = CalendarDate.of(2024, 1, 1);
+
+        assertEquals("2023-12-31", first.toString());
+        assertTrue(first.isBefore(second));
+        assertTrue(second.isAfter(first));
+        assertEquals(CalendarDate.parse("2024-01-01"), second);
+        assertThrows(InvalidDateException.class, () -> CalendarDate.ofEpochDay(LocalDate.of(10000, 1, 1).toEpochDay()));
+    }
+
+    @Test
+    @DisplayName("Should deserialize and serialize dates as YYYY-MM-DD strings")
+    void testJson() throws Exception {
+        DateDifferenceRequest request = objectMapper.readValue(
+                "{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-12-31\"}", DateDifferenceRequest.class);
+
+        assertEquals(CalendarDate.of(2024, 1, 1), request.getStartDate());
+        assertEquals(CalendarDate.of(2024, 12, 31), request.getEndDate());
+        assertEquals("{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-12-31\"}",
+                objectMapper.writeValueAsString(request));
+    }
+
+    @Test
+    @DisplayName("Should serialize dates with leading zeros, in arrays, through a token buffer and to YAML")
+    void testJsonSerialization() throws Exception {
+        List<CalendarDate> dates = List.of(CalendarDate.of(1, 2, 3), CalendarDate.of(9999, 12, 31));
+
+        assertEquals("[\"0001-02-03\",\"9999-12-31\"]", objectMapper.writeValueAsString(dates));
+        assertEquals("0001-02-03", objectMapper.valueToTree(dates).get(0).asText());
+        // Generators of other formats need not take raw text
+        assertEquals("--- \"9999-12-31\"", new YAMLMapper().writeValueAsString(dates.get(1)).strip());
+    }
+
+    @Test
+    @DisplayName("Should surface InvalidDateException as the cause of a bad date in JSON")
+    void testJsonInvalidDate() {
+        JsonMappingException e = assertThrows(JsonMappingException.class, () -> objectMapper.readValue(
+                "{\"startDate\":\"2024-02-30\",\"endDate\":\"2024-12-31\"}", DateDifferenceRequest.class));
+        assertInstanceOf(InvalidDateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,105 @@
+package com.eskimi.backend_assignment.unit.model;
+
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.weather.OpenMeteoResponseReader;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenMeteoDailyDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    @DisplayName("Should read the temperature columns into arrays and skip other fields")
+    void testReadsColumns() throws Exception {
+        String json = """
+                {"latitude":23.8,"daily_units":{"time":"iso8601","temperature_2m_max":"°C"},
+                 "daily":{"time":["2025-01-01","2025-01-02","2025-01-03"],
+                          "temperature_2m_max":[30.5,-1,28.25],
+                          "temperature_2m_min":[20.0,null,-0.5],
+                          "sunrise":[{"nested":[1,2]},"x","y"],
+                          "temperature_2m_mean":[25,26.5,27.125]}}
+                """;
+
+        OpenMeteoResponse.Daily daily = objectMapper.readValue(json, OpenMeteoResponse.class).getDaily();
+
+        assertArrayEquals(new double[]{30.5, -1, 28.25}, daily.getTemperatureMax());
+        assertArrayEquals(new double[]{20.0, Double.NaN, -0.5}, daily.getTemperatureMin());
+        assertArrayEquals(new double[]{25, 26.5, 27.125}, daily.getTemperatureMean());
+    }
+
+    @Test
+    @DisplayName("Should parse every number exactly as Double.parseDouble does")
+    void testNumbersMatchJdkParsing() throws Exception {
+        Random random = new Random(7);
+        List<String> numbers = IntStream.range(0, 5000)
+                .mapToObj(i -> switch (i % 5) {
+                    case 0 -> String.format(Locale.ROOT, "%.1f", random.nextGaussian() * 30);
+                    case 1 -> String.format(Locale.ROOT, "%.2f", random.nextGaussian() * 30);
+                    case 2 -> Double.toString(random.nextDouble() * 100);
+                    case 3 -> Double.toString(random.nextGaussian() * 1e-8);
+                    default -> "0.1234567890123456789";
+                })
+                .toList();
+        String json = "{\"daily\":{\"temperature_2m_max\":[" + String.join(",", numbers) + "]}}";
+
+        double[] parsed = objectMapper.readValue(json, OpenMeteoResponse.class).getDaily().getTemperatureMax();
+
+        assertEquals(numbers.size(), parsed.length);
+        for (int i = 0; i < parsed.length; i++) {
+            assertEquals(Double.parseDouble(numbers.get(i)), parsed[i], numbers.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should size the columns without a time column")
+    void testWithoutTimeColumn() throws Exception {
+        String values = IntStream.range(0, 1000).mapToObj(i -> i + ".5").collect(Collectors.joining(","));
+        String json = "{\"daily\":{\"temperature_2m_mean\":[" + values + "],\"temperature_2m_max\":null}}";
+
+        OpenMeteoResponse.Daily daily = objectMapper.readValue(json, OpenMeteoResponse.class).getDaily();
+
+        assertEquals(1000, daily.getTemperatureMean().length);
+        assertEquals(999.5, daily.getTemperatureMean()[999]);
+        assertNull(daily.getTemperatureMax());
+    }
+
+    @Test
+    @DisplayName("Should reject a column that is not an array of numbers")
+    void testRejectsNonNumbers() {
+        assertThrows(Exception.class, () -> objectMapper.readValue(
+                "{\"daily\":{\"temperature_2m_max\":[\"hot\"]}}", OpenMeteoResponse.class));
+        assertThrows(Exception.class, () -> objectMapper.readValue(
+                "{\"daily\":{\"temperature_2m_max\":30}}", OpenMeteoResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should read one response for an object and one per element for an array")
+    void testReaderTakesObjectOrArray() throws Exception {
+        String one = "{\"daily\":{\"time\":[\"2025-01-01\"],\"temperature_2m_max\":[30.5]}}";
+
+        List<OpenMeteoResponse> single = OpenMeteoResponseReader.read(
+                new ByteArrayInputStream(one.getBytes(StandardCharsets.UTF_8)));
+        List<OpenMeteoResponse> several = OpenMeteoResponseReader.read(
+                new ByteArrayInputStream(("[" + one + "," + one.replace("30.5", "12") + "]")
+                        .getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, single.size());
+        assertArrayEquals(new double[]{30.5}, single.get(0).getDaily().getTemperatureMax());
+        assertEquals(2, several.size());
+        assertArrayEquals(new double[]{12}, several.get(1).getDaily().getTemperatureMax());
+    }
+}
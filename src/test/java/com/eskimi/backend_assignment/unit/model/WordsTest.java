@@ -0,0 +1,71 @@
+package com.eskimi.backend_assignment.unit.model;
+
+import com.eskimi.backend_assignment.model.Words;
+import com.eskimi.backend_assignment.model.response.NumberResponse;
+import com.eskimi.backend_assignment.model.response.TemperatureResponse;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.TemperatureTextConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WordsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NumberToWordsService numberToWordsService = new NumberToWordsService();
+    private final TemperatureTextConverter temperatureTextConverter = new TemperatureTextConverter(numberToWordsService);
+
+    @Test
+    @DisplayName("Should write the same JSON from UTF-8 fragments as from the String words")
+    void testJsonMatchesText() throws Exception {
+        for (int hundredths = 0; hundredths < 100_000; hundredths++) {
+            assertJsonMatchesText(numberToWordsService.toWords(BigDecimal.valueOf(hundredths, 2)));
+        }
+
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            long integerPart = random.nextLong() & Long.MAX_VALUE >>> random.nextInt(63);
+            assertJsonMatchesText(numberToWordsService.toWords(
+                    BigDecimal.valueOf(integerPart).add(BigDecimal.valueOf(random.nextInt(100), 2))));
+        }
+        assertJsonMatchesText(numberToWordsService.toWords(BigDecimal.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Should write temperature words with their sign prefix")
+    void testTemperatureJson() throws Exception {
+        TemperatureResponse response = new TemperatureResponse(-3.5, 30.0, 0.0,
+                temperatureTextConverter.toTemperatureWords(-3.5),
+                temperatureTextConverter.toTemperatureWords(30.0),
+                temperatureTextConverter.toTemperatureWords(null));
+
+        String json = new String(objectMapper.writeValueAsBytes(response), StandardCharsets.UTF_8);
+
+        assertEquals("{\"min\":-3.5,\"max\":30.0,\"average\":0.0,\"minText\":\"minus three point five zero\","
+                + "\"maxText\":\"positive thirty\",\"averageText\":\"\"}", json);
+        assertEquals(json, objectMapper.writeValueAsString(response));
+        assertEquals("minus three point five zero", objectMapper.valueToTree(response).get("minText").asText());
+    }
+
+    @Test
+    @DisplayName("Should read words back from JSON")
+    void testDeserialize() throws Exception {
+        NumberResponse response = objectMapper.readValue("{\"words\":\"thirty six\"}", NumberResponse.class);
+
+        assertEquals(Words.of("thirty six"), response.getWords());
+        assertEquals(numberToWordsService.toWords(new BigDecimal("36")), response.getWords());
+    }
+
+    private void assertJsonMatchesText(Words words) throws Exception {
+        String expected = "{\"words\":\"" + words + "\"}";
+        NumberResponse response = new NumberResponse(words);
+
+        assertEquals(expected, new String(objectMapper.writeValueAsBytes(response), StandardCharsets.UTF_8));
+    }
+}
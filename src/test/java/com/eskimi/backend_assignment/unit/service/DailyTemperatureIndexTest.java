@@ -0,0 +1,126 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyTemperatureIndexTest {
+
+    private static final int SIZE = 1000;
+
+    private final Random random = new Random(11);
+
+    @Test
+    @DisplayName("Should give the same min, max and mean as scanning the range")
+    void testMatchesScan() {
+        double[] max = values(SIZE, 30);
+        double[] min = values(SIZE, 20);
+        double[] mean = values(SIZE, 25);
+        DailyTemperatureIndex index = new DailyTemperatureIndex(SIZE);
+        index.update(0, max, min, mean);
+
+        for (int i = 0; i < 5000; i++) {
+            int from = random.nextInt(SIZE);
+            int to = from + random.nextInt(SIZE - from);
+            assertScan(index, max, min, mean, from, to);
+        }
+        assertScan(index, max, min, mean, 0, SIZE - 1);
+        assertScan(index, max, min, mean, SIZE - 1, SIZE - 1);
+    }
+
+    @Test
+    @DisplayName("Should answer only ranges whose days are all recorded")
+    void testMissingDays() {
+        DailyTemperatureIndex index = new DailyTemperatureIndex(SIZE);
+        assertNull(index.summarize(0, 0));
+        assertEquals(0, index.recordedDays(0, SIZE - 1));
+
+        index.update(100, values(10, 30), values(10, 20), values(10, 25));
+        assertNotNull(index.summarize(100, 109));
+        assertNull(index.summarize(99, 109));
+        assertNull(index.summarize(100, 110));
+        assertEquals(10, index.recordedDays(0, SIZE - 1));
+
+        // A NaN marks a day as missing again
+        double[] missing = {Double.NaN};
+        index.update(105, new double[]{30}, new double[]{20}, missing);
+        assertNull(index.summarize(100, 109));
+        assertNotNull(index.summarize(106, 109));
+        assertEquals(9, index.recordedDays(100, 109));
+
+        assertNull(index.summarize(-1, 5));
+        assertNull(index.summarize(5, SIZE));
+        assertNull(index.summarize(6, 5));
+    }
+
+    @Test
+    @DisplayName("Should end up the same when days are recorded in any order and batch size")
+    void testIncrementalUpdates() {
+        double[] max = values(SIZE, 30);
+        double[] min = values(SIZE, 20);
+        double[] mean = values(SIZE, 25);
+        DailyTemperatureIndex built = new DailyTemperatureIndex(SIZE);
+        built.update(0, max, min, mean);
+
+        DailyTemperatureIndex incremental = new DailyTemperatureIndex(SIZE);
+        int[] starts = random.ints(60, 0, SIZE).sorted().distinct().toArray();
+        int[] order = random.ints(0, starts.length).distinct().limit(starts.length).toArray();
+        for (int batch : order) {
+            int from = starts[batch];
+            int to = batch + 1 < starts.length ? starts[batch + 1] : SIZE;
+            incremental.update(from, Arrays.copyOfRange(max, from, to),
+                    Arrays.copyOfRange(min, from, to), Arrays.copyOfRange(mean, from, to));
+        }
+        incremental.update(0, Arrays.copyOfRange(max, 0, starts[0]),
+                Arrays.copyOfRange(min, 0, starts[0]), Arrays.copyOfRange(mean, 0, starts[0]));
+
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(SIZE);
+            int to = from + random.nextInt(SIZE - from);
+            DailyTemperatureIndex.Summary expected = built.summarize(from, to);
+            DailyTemperatureIndex.Summary actual = incremental.summarize(from, to);
+            assertEquals(expected.min(), actual.min());
+            assertEquals(expected.max(), actual.max());
+            assertEquals(expected.mean(), actual.mean(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the mean exact over long ranges of large values")
+    void testMeanPrecision() {
+        int size = 1 << 16;
+        double[] values = new double[size];
+        Arrays.fill(values, 0.1);
+        values[0] = 1e9;
+        DailyTemperatureIndex index = new DailyTemperatureIndex(size);
+        index.update(0, values, values, values);
+
+        // A plain prefix sum would have lost most of the 0.1s next to 1e9
+        assertEquals(0.1, index.summarize(1, size - 1).mean(), 1e-12);
+    }
+
+    private void assertScan(DailyTemperatureIndex index, double[] max, double[] min, double[] mean,
+                            int from, int to) {
+        DailyTemperatureIndex.Summary summary = index.summarize(from, to);
+        assertEquals(Arrays.stream(min, from, to + 1).min().orElseThrow(), summary.min());
+        assertEquals(Arrays.stream(max, from, to + 1).max().orElseThrow(), summary.max());
+        assertEquals(Arrays.stream(mean, from, to + 1).average().orElseThrow(), summary.mean(), 1e-9);
+        assertEquals(to - from + 1, summary.days());
+    }
+
+    /**
+     * Temperatures with one decimal, as Open-Meteo reports them
+     */
+    private double[] values(int days, double around) {
+        double[] values = new double[days];
+        for (int i = 0; i < days; i++) {
+            values[i] = Math.round((around + random.nextGaussian() * 5) * 10) / 10.0;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,257 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureIndex;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot.DayRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyTemperatureSnapshotTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 2000;
+    // Every day in the snapshot range is in the past
+    private static final Clock FAR_FUTURE = Clock.fixed(Instant.parse("2100-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back recorded days after reopening the file")
+    void testSurvivesReopen() {
+        Path file = directory.resolve("snapshot.bin");
+        long start = LocalDate.of(2024, 3, 1).toEpochDay();
+
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE);
+        assertEquals(3, snapshot.append(start, daily(30.5, 31.0, 29.25)));
+
+        DailyTemperatureSnapshot reopened = new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE);
+        OpenMeteoResponse.Daily daily = reopened.read(start, start + 2);
+        assertArrayEquals(new double[]{30.5, 31.0, 29.25}, daily.getTemperatureMax());
+        assertArrayEquals(new double[]{20.5, 21.0, 19.25}, daily.getTemperatureMin());
+        assertArrayEquals(new double[]{25.5, 26.0, 24.25}, daily.getTemperatureMean());
+        assertNull(reopened.read(start, start + 3));
+        assertNull(reopened.read(start - 1, start));
+    }
+
+    @Test
+    @DisplayName("Should leave days recorded with the same values as they are")
+    void testSameValuesAreNotRewritten() {
+        long start = LocalDate.of(2024, 3, 1).toEpochDay();
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(
+                directory.resolve("snapshot.bin"), FIRST_DAY, DAYS, FAR_FUTURE);
+        assertEquals(2, snapshot.append(start, daily(30.5, 31.0)));
+
+        // Only the revised day and the new one are written
+        assertEquals(0, snapshot.append(start, daily(30.5, 31.0)));
+        assertEquals(2, snapshot.append(start, daily(30.5, 32.0, 33.0)));
+        assertArrayEquals(new double[]{30.5, 32.0, 33.0}, snapshot.read(start, start + 2).getTemperatureMax());
+    }
+
+    @Test
+    @DisplayName("Should wait for the appends handed to the background thread")
+    void testAwaitAppends() {
+        long start = LocalDate.of(2024, 3, 1).toEpochDay();
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(
+                directory.resolve("snapshot.bin"), FIRST_DAY, DAYS, FAR_FUTURE);
+        for (int i = 0; i < 50; i++) {
+            snapshot.appendAsync(start + i, daily(30.0 + i));
+        }
+
+        assertTrue(snapshot.awaitAppends(Duration.ofSeconds(10)));
+        assertEquals(79.0, snapshot.read(start, start + 49).getTemperatureMax()[49]);
+        snapshot.flush();
+        assertFalse(snapshot.awaitAppends(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("Should only record complete days")
+    void testSkipsTodayAndMissingValues() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-03T12:00:00Z"), ZoneOffset.UTC);
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(
+                directory.resolve("snapshot.bin"), FIRST_DAY, DAYS, clock);
+        long start = LocalDate.of(2024, 3, 1).toEpochDay();
+        OpenMeteoResponse.Daily daily = daily(30.0, 31.0, 32.0);
+        daily.getTemperatureMean()[0] = Double.NaN;
+
+        // Day 1 has no mean, day 3 is today
+        assertEquals(1, snapshot.append(start, daily));
+        assertNotNull(snapshot.read(start + 1, start + 1));
+        assertNull(snapshot.read(start, start));
+        assertNull(snapshot.read(start + 2, start + 2));
+    }
+
+    @Test
+    @DisplayName("Should treat a partly written day as missing")
+    void testTornSlotIsMissing() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        long day = LocalDate.of(2024, 3, 1).toEpochDay();
+        new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE).append(day, daily(30.5, 31.0));
+
+        // Only the new max of day 1 reached the file before the writer died
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long slot = 32 + (day - FIRST_DAY.toEpochDay()) * 32;
+            channel.write(ByteBuffer.allocate(8).order(java.nio.ByteOrder.LITTLE_ENDIAN).putDouble(0, 99.0), slot);
+        }
+
+        DailyTemperatureSnapshot reopened = new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE);
+        assertNull(reopened.read(day, day));
+        assertNotNull(reopened.read(day + 1, day + 1));
+    }
+
+    @Test
+    @DisplayName("Should start over when the file has a different layout")
+    void testLayoutChange() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        long day = LocalDate.of(2024, 3, 1).toEpochDay();
+        new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE).append(day, daily(30.5));
+
+        DailyTemperatureSnapshot otherStart = new DailyTemperatureSnapshot(
+                file, FIRST_DAY.plusDays(1), DAYS, FAR_FUTURE);
+        assertTrue(otherStart.isAvailable());
+        assertNull(otherStart.read(day, day));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertNull(new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE).read(day, day));
+    }
+
+    @Test
+    @DisplayName("Should summarize recorded ranges, also after reopening the file")
+    void testSummarize() {
+        Path file = directory.resolve("snapshot.bin");
+        long start = LocalDate.of(2024, 3, 1).toEpochDay();
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE);
+        snapshot.append(start, daily(30.5, 31.0, 29.25));
+        assertNull(snapshot.summarize(start, start + 3));
+        snapshot.append(start + 3, daily(35.0));
+
+        for (DailyTemperatureSnapshot opened : List.of(snapshot,
+                new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE))) {
+            DailyTemperatureIndex.Summary summary = opened.summarize(start, start + 3);
+            assertEquals(19.25, summary.min());
+            assertEquals(35.0, summary.max());
+            assertEquals((25.5 + 26.0 + 24.25 + 30.0) / 4, summary.mean(), 1e-12);
+            assertEquals(List.of(), opened.missingRanges(start, start + 3, 4));
+        }
+        assertNull(snapshot.summarize(FIRST_DAY.toEpochDay() - 1, start));
+    }
+
+    @Test
+    @DisplayName("Should list the days that are not recorded as ranges")
+    void testMissingRanges() {
+        DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(
+                directory.resolve("snapshot.bin"), FIRST_DAY, DAYS, FAR_FUTURE);
+        long start = LocalDate.of(2024, 3, 1).toEpochDay();
+        snapshot.append(start + 2, daily(30.0, 31.0));
+        snapshot.append(start + 6, daily(30.0));
+        snapshot.append(start + 8, daily(30.0));
+
+        assertEquals(List.of(), snapshot.missingRanges(start + 2, start + 3, 4));
+        assertEquals(List.of(new DayRange(start, start + 1), new DayRange(start + 4, start + 5),
+                        new DayRange(start + 7, start + 7), new DayRange(start + 9, start + 10)),
+                snapshot.missingRanges(start, start + 10, 4));
+        // The closest ranges are merged first
+        assertEquals(List.of(new DayRange(start, start + 1), new DayRange(start + 4, start + 10)),
+                snapshot.missingRanges(start, start + 10, 2));
+        assertEquals(List.of(new DayRange(start, start + 10)), snapshot.missingRanges(start, start + 10, 1));
+        // Days outside the snapshot are never recorded
+        long first = FIRST_DAY.toEpochDay();
+        assertEquals(List.of(new DayRange(first - 3, first + 1)), snapshot.missingRanges(first - 3, first + 1, 4));
+    }
+
+    @Test
+    @DisplayName("Should keep every completed day when the writing process is killed")
+    void testKilledWriter() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Process process = new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-cp", System.getProperty("java.class.path"),
+                KilledWriter.class.getName(), file.toString())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            // Wait until every day has been written once and rewriting is under way
+            String line;
+            while ((line = output.readLine()) != null && !line.equals(KilledWriter.READY)) {
+                assertTrue(process.isAlive(), line);
+            }
+            assertEquals(KilledWriter.READY, line);
+            Thread.sleep(150);
+        } finally {
+            process.destroyForcibly();
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        }
+
+        DailyTemperatureSnapshot reopened = new DailyTemperatureSnapshot(file, FIRST_DAY, DAYS, FAR_FUTURE);
+        long firstDay = FIRST_DAY.toEpochDay();
+        int missing = 0;
+        for (long day = firstDay; day < firstDay + DAYS; day++) {
+            OpenMeteoResponse.Daily daily = reopened.read(day, day);
+            if (daily == null) {
+                missing++;
+                continue;
+            }
+            // Values of one day always come from the same write
+            double max = daily.getTemperatureMax()[0];
+            assertEquals(day - firstDay, (long) max % 100_000);
+            assertEquals(max - 10, daily.getTemperatureMin()[0]);
+            assertEquals(max - 5, daily.getTemperatureMean()[0]);
+        }
+        // At most the day being written when the process died
+        assertTrue(missing <= 1, missing + " days missing");
+    }
+
+    /**
+     * Rewrites every day of the snapshot over and over with values tied to the day,
+     * until it is killed
+     */
+    public static final class KilledWriter {
+        static final String READY = "first round written";
+
+        public static void main(String[] args) {
+            DailyTemperatureSnapshot snapshot = new DailyTemperatureSnapshot(
+                    Path.of(args[0]), FIRST_DAY, DAYS, FAR_FUTURE);
+            long firstDay = FIRST_DAY.toEpochDay();
+            for (int round = 1; ; round++) {
+                for (int index = 0; index < DAYS; index++) {
+                    double max = round * 100_000.0 + index;
+                    snapshot.append(firstDay + index, daily(max));
+                }
+                if (round == 1) {
+                    System.out.println(READY);
+                    System.out.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Consecutive days with the given max, min 10 below and mean 5 below
+     */
+    private static OpenMeteoResponse.Daily daily(double... max) {
+        return new OpenMeteoResponse.Daily(max, Arrays.stream(max).map(value -> value - 10).toArray(),
+                Arrays.stream(max).map(value -> value - 5).toArray());
+    }
+}
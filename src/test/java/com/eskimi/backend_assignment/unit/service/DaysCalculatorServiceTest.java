@@ -1,9 +1,14 @@
 package com.eskimi.backend_assignment.unit.service;
 
+import com.eskimi.backend_assignment.exception.DateErrorCode;
 import com.eskimi.backend_assignment.exception.InvalidDateException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.ValidationResult;
 import com.eskimi.backend_assignment.service.DaysCalculatorService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import java.util.stream.LongStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DaysCalculatorServiceTest {
@@ -85,6 +90,25 @@ public class DaysCalculatorServiceTest {
                 () -> service.calculateDays("2024-02-30", "2024-03-01"));
     }
 
+    @Test
+    @DisplayName("Should report invalid dates as error codes without throwing")
+    void testTryCalculateDays() {
+        ValidationResult<Integer> valid = service.tryCalculateDays("2024-01-01", "2024-01-11");
+        assertTrue(valid.isValid());
+        assertEquals(10, valid.getValue());
+
+        assertEquals(DateErrorCode.INVALID_DATE_FORMAT,
+                service.tryCalculateDays("2024/01/01", "2024-01-11").getErrorCode());
+        assertEquals(DateErrorCode.MONTH_OUT_OF_RANGE,
+                service.tryCalculateDays("2024-01-01", "2024-13-01").getErrorCode());
+        assertEquals(DateErrorCode.DAY_OUT_OF_RANGE,
+                service.tryCalculateDays("2024-02-30", "2024-03-01").getErrorCode());
+        assertEquals(DateErrorCode.DATE_REQUIRED,
+                service.tryCalculateDays(null, "2024-03-01").getErrorCode());
+        assertSame(service.tryCalculateDays("2024-02-30", "2024-03-01"),
+                service.tryCalculateDays("2023-02-29", "2024-03-01"));
+    }
+
     @Test
     @DisplayName("Should handle century leap year rules")
     void testCenturyLeapYear() {
@@ -147,4 +171,57 @@ public class DaysCalculatorServiceTest {
         assertThrows(InvalidDateException.class,
                 () -> service.calculateDays("10000-01-01", "2024-01-01"));
     }
+
+    @Test
+    @DisplayName("Should add and subtract days across months, years and leap days")
+    void testAddDays() {
+        CalendarDate date = CalendarDate.parse("2024-02-28");
+
+        assertEquals(CalendarDate.parse("2024-02-29"), service.addDays(date, 1));
+        assertEquals(CalendarDate.parse("2024-03-01"), service.addDays(date, 2));
+        assertEquals(CalendarDate.parse("2023-12-31"), service.addDays(CalendarDate.parse("2024-01-31"), -31));
+        assertEquals(date, service.addDays(date, 0));
+    }
+
+    @Test
+    @DisplayName("Should reject shifts that leave the supported range")
+    void testAddDaysOutOfRange() {
+        assertThrows(InvalidDateException.class,
+                () -> service.addDays(CalendarDate.parse("9999-12-31"), 1));
+        assertThrows(InvalidDateException.class,
+                () -> service.addDays(CalendarDate.parse("0001-01-01"), -1));
+        assertThrows(InvalidDateException.class,
+                () -> service.addDays(CalendarDate.parse("2024-01-01"), Long.MIN_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should enumerate every Nth date with both bounds inclusive")
+    void testEnumerateDates() {
+        LongStream dates = service.enumerateDates(
+                CalendarDate.parse("2024-01-01"), CalendarDate.parse("2024-01-15"), 7);
+
+        assertArrayEquals(new long[]{
+                CalendarDate.parse("2024-01-01").toEpochDay(),
+                CalendarDate.parse("2024-01-08").toEpochDay(),
+                CalendarDate.parse("2024-01-15").toEpochDay()
+        }, dates.toArray());
+    }
+
+    @Test
+    @DisplayName("Should enumerate the full year range lazily")
+    void testEnumerateFullRange() {
+        long count = service.enumerateDates(
+                CalendarDate.parse("0001-01-01"), CalendarDate.parse("9999-12-31"), 1).count();
+
+        assertEquals(3652059, count);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid enumeration arguments")
+    void testEnumerateInvalid() {
+        assertThrows(InvalidDateException.class, () -> service.enumerateDates(
+                CalendarDate.parse("2024-01-02"), CalendarDate.parse("2024-01-01"), 1));
+        assertThrows(InvalidDateException.class, () -> service.enumerateDates(
+                CalendarDate.parse("2024-01-01"), CalendarDate.parse("2024-01-02"), 0));
+    }
 }
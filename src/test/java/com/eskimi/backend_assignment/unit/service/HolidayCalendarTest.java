@@ -0,0 +1,150 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.exception.InvalidCalendarException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.service.DaysCalculatorService;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendar;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendarLoader;
+import com.eskimi.backend_assignment.service.calendar.HolidayCalendarRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HolidayCalendarTest {
+
+    private static final Set<DayOfWeek> SAT_SUN = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    private static final Set<DayOfWeek> FRI_SAT = EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+
+    private final DaysCalculatorService service = new DaysCalculatorService();
+
+    @Test
+    @DisplayName("Should count weekdays in a single week")
+    void testOneWeek() {
+        HolidayCalendar calendar = new HolidayCalendar("test", SAT_SUN, List.of());
+
+        // 2024-01-01 is a Monday
+        assertEquals(5, service.calculateBusinessDays(
+                CalendarDate.parse("2024-01-01"), CalendarDate.parse("2024-01-08"), calendar));
+        assertEquals(0, service.calculateBusinessDays(
+                CalendarDate.parse("2024-01-06"), CalendarDate.parse("2024-01-08"), calendar));
+        assertEquals(5, service.calculateBusinessDays(
+                CalendarDate.parse("2024-01-08"), CalendarDate.parse("2024-01-01"), calendar));
+    }
+
+    @Test
+    @DisplayName("Should match a day-by-day count for random ranges up to the full year range")
+    void testMatchesNaiveCount() {
+        CalendarDate christmas = CalendarDate.parse("2024-12-25");
+        CalendarDate saturdayHoliday = CalendarDate.parse("2024-12-28");
+        HolidayCalendar calendar = new HolidayCalendar("test", FRI_SAT, List.of(christmas, saturdayHoliday));
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200; i++) {
+            long start = LocalDate.of(1 + random.nextInt(9999), 1, 1).toEpochDay() + random.nextInt(365);
+            long end = start + random.nextInt(i < 190 ? 3000 : 3_000_000);
+            end = Math.min(end, LocalDate.of(9999, 12, 31).toEpochDay());
+
+            int expected = 0;
+            for (long day = start; day < end; day++) {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                if (!FRI_SAT.contains(date.getDayOfWeek()) && day != christmas.toEpochDay()) {
+                    expected++;
+                }
+            }
+
+            assertEquals(expected, calendar.countBusinessDays(
+                    CalendarDate.ofEpochDay(start), CalendarDate.ofEpochDay(end)),
+                    "Range " + LocalDate.ofEpochDay(start) + " to " + LocalDate.ofEpochDay(end));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not count a holiday twice when it falls on a weekend")
+    void testHolidayOnWeekend() {
+        HolidayCalendar calendar = new HolidayCalendar("test", SAT_SUN,
+                List.of(CalendarDate.parse("2024-01-06"), CalendarDate.parse("2024-01-03")));
+
+        assertEquals(1, calendar.getHolidayCount());
+        assertFalse(calendar.isBusinessDay(CalendarDate.parse("2024-01-03")));
+        assertTrue(calendar.isBusinessDay(CalendarDate.parse("2024-01-04")));
+        assertEquals(4, calendar.countBusinessDays(CalendarDate.parse("2024-01-01"), CalendarDate.parse("2024-01-08")));
+    }
+
+    @Test
+    @DisplayName("Should load a CSV calendar with its own weekend")
+    void testLoadCsv() throws IOException {
+        String csv = """
+                # weekend: FRIDAY,SATURDAY
+                date,description
+                2025-03-26,Independence Day
+
+                2025-04-14,Bengali New Year
+                """;
+
+        HolidayCalendar calendar = HolidayCalendarLoader.load("bd", "bd.csv", new StringReader(csv), SAT_SUN);
+
+        assertEquals(FRI_SAT, calendar.getWeekend());
+        assertEquals(2, calendar.getHolidayCount());
+        assertFalse(calendar.isBusinessDay(CalendarDate.parse("2025-03-26")));
+        assertTrue(calendar.isBusinessDay(CalendarDate.parse("2025-03-30")));
+    }
+
+    @Test
+    @DisplayName("Should load all-day and multi-day events from an ICS calendar")
+    void testLoadIcs() throws IOException {
+        String ics = """
+                BEGIN:VCALENDAR
+                X-WEEKEND:SATURDAY,SUNDAY
+                BEGIN:VEVENT
+                DTSTART;VALUE=DATE:20251224
+                DTEND;VALUE=DATE:20251227
+                SUMMARY:Christmas
+                END:VEVENT
+                BEGIN:VEVENT
+                DTSTART;VALUE=DATE:20260101
+                SUMMARY:New Year
+                END:VEVENT
+                END:VCALENDAR
+                """;
+
+        HolidayCalendar calendar = HolidayCalendarLoader.load("uk", "uk.ics", new StringReader(ics), FRI_SAT);
+
+        assertEquals(SAT_SUN, calendar.getWeekend());
+        assertEquals(4, calendar.getHolidayCount());
+        assertFalse(calendar.isBusinessDay(CalendarDate.parse("2025-12-26")));
+        assertTrue(calendar.isBusinessDay(CalendarDate.parse("2025-12-29")));
+    }
+
+    @Test
+    @DisplayName("Should reject bad calendar content")
+    void testInvalidCalendar() {
+        assertThrows(InvalidCalendarException.class, () ->
+                HolidayCalendarLoader.load("x", "x.csv", new StringReader("2025-02-30"), SAT_SUN));
+        assertThrows(InvalidCalendarException.class, () ->
+                HolidayCalendarLoader.load("x", "x.csv", new StringReader("# weekend: FUNDAY"), SAT_SUN));
+        assertThrows(InvalidCalendarException.class, () ->
+                HolidayCalendarLoader.load("x", "x.txt", new StringReader(""), SAT_SUN));
+    }
+
+    @Test
+    @DisplayName("Should load bundled calendars and reject unknown names")
+    void testRegistry() throws IOException {
+        HolidayCalendarRegistry registry = new HolidayCalendarRegistry(
+                List.of("classpath*:calendars/*"), "SATURDAY,SUNDAY");
+
+        assertTrue(registry.getCalendarNames().contains("bd"));
+        assertEquals(HolidayCalendarRegistry.WEEKENDS_ONLY, registry.getCalendar(null).getName());
+        assertEquals(FRI_SAT, registry.getCalendar("BD").getWeekend());
+        assertThrows(InvalidCalendarException.class, () -> registry.getCalendar("atlantis"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.model.request.DateDifferenceRequest;
+import com.eskimi.backend_assignment.model.request.NumberRequest;
+import com.eskimi.backend_assignment.model.response.DateDifferenceResponse;
+import com.eskimi.backend_assignment.model.response.NumberResponse;
+import com.eskimi.backend_assignment.service.DaysCalculatorService;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.batch.NdjsonBatchProcessor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonBatchProcessorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private NdjsonBatchProcessor processor;
+    private DaysCalculatorService daysCalculatorService;
+    private final NumberToWordsService numberToWordsService = new NumberToWordsService();
+
+    @BeforeEach
+    void setUp() {
+        processor = new NdjsonBatchProcessor(objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        daysCalculatorService = new DaysCalculatorService();
+    }
+
+    @Test
+    void testNdjsonInput() throws IOException {
+        String body = """
+                {"startDate":"2024-01-01","endDate":"2024-01-11"}
+                {"startDate":"2023-01-01","endDate":"2024-01-01"}
+                """;
+
+        List<JsonNode> lines = run(body);
+
+        assertEquals(2, lines.size());
+        assertEquals(10, lines.get(0).get("days").asInt());
+        assertEquals("2024-01-01", lines.get(0).get("startDate").asText());
+        assertEquals(365, lines.get(1).get("days").asInt());
+    }
+
+    @Test
+    void testJsonArrayInput() throws IOException {
+        String body = """
+                [
+                  {"startDate":"2024-01-01","endDate":"2024-01-11"},
+                  {"startDate":"2024-02-01","endDate":"2024-03-01"}
+                ]
+                """;
+
+        List<JsonNode> lines = run(body);
+
+        assertEquals(2, lines.size());
+        assertEquals(10, lines.get(0).get("days").asInt());
+        assertEquals(29, lines.get(1).get("days").asInt());
+    }
+
+    @Test
+    void testBadItemsProduceErrorLines() throws IOException {
+        String body = """
+                {"startDate":"2024-02-30","endDate":"2024-03-01"}
+                {"startDate":"2024-01-01"}
+                {"startDate":["2024-01-01"],"endDate":"2024-01-02"}
+                {"startDate":"2024-1-1","endDate":"2024-01-02"}
+                null
+                {"startDate":"2024-01-01","endDate":"2024-01-08"}
+                """;
+
+        List<JsonNode> lines = run(body);
+
+        assertEquals(6, lines.size());
+        assertEquals("Invalid Date", lines.get(0).get("error").asText());
+        assertEquals(0, lines.get(0).get("index").asInt());
+        assertEquals("Validation Error", lines.get(1).get("error").asText());
+        assertEquals("End date is required", lines.get(1).get("errors").get("endDate").asText());
+        assertEquals("Invalid Item", lines.get(2).get("error").asText());
+        assertEquals("Invalid Date", lines.get(3).get("error").asText());
+        assertEquals(3, lines.get(3).get("index").asInt());
+        assertEquals("Invalid Item", lines.get(4).get("error").asText());
+        assertEquals(7, lines.get(5).get("days").asInt());
+    }
+
+    @Test
+    void testMalformedJsonStopsTheStream() throws IOException {
+        String body = """
+                {"startDate":"2024-01-01","endDate":"2024-01-11"}
+                {"startDate":"2024-01-01",
+                """;
+
+        List<JsonNode> lines = run(body);
+
+        assertEquals(2, lines.size());
+        assertEquals(10, lines.get(0).get("days").asInt());
+        assertEquals("Malformed JSON", lines.get(1).get("error").asText());
+        assertFalse(lines.get(1).get("message").asText().isEmpty());
+    }
+
+    @Test
+    void testNumberItems() throws IOException {
+        String body = """
+                [{"number":30},{"number":-5},{"number":"abc"},{},{"number":1234567.05}]
+                """;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        processor.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out,
+                NumberRequest.class, this::convert);
+        List<JsonNode> lines = readLines(out);
+
+        assertEquals(5, lines.size());
+        assertEquals("thirty", lines.get(0).get("words").asText());
+        assertEquals("Number must be >= 0", lines.get(1).get("errors").get("number").asText());
+        assertEquals("Invalid Item", lines.get(2).get("error").asText());
+        assertEquals("Number is required", lines.get(3).get("errors").get("number").asText());
+        assertEquals(3, lines.get(3).get("index").asInt());
+        assertTrue(lines.get(4).get("words").asText().startsWith("one million"));
+    }
+
+    @Test
+    void testLargeBatchIsStreamed() throws IOException {
+        int items = 200_000;
+        // Generates the request on the fly, so neither side of the batch is ever held in memory
+        InputStream in = new InputStream() {
+            private final byte[] item = "{\"number\":999.99}\n".getBytes(StandardCharsets.UTF_8);
+            private long position;
+
+            @Override
+            public int read() {
+                return position < (long) items * item.length ? item[(int) (position++ % item.length)] : -1;
+            }
+        };
+        long[] lineCount = new long[1];
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    lineCount[0]++;
+                }
+            }
+        };
+
+        assertEquals(items, processor.process(in, out, NumberRequest.class, this::convert));
+        assertEquals(items, lineCount[0]);
+    }
+
+    @Test
+    void testEmptyBody() throws IOException {
+        assertEquals(0, run("").size());
+    }
+
+    private List<JsonNode> run(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        processor.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out,
+                DateDifferenceRequest.class, this::calculate);
+        return readLines(out);
+    }
+
+    private List<JsonNode> readLines(ByteArrayOutputStream out) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private NumberResponse convert(NumberRequest request) {
+        return new NumberResponse(numberToWordsService.toWords(request.getNumber()));
+    }
+
+    private DateDifferenceResponse calculate(DateDifferenceRequest request) {
+        int days = daysCalculatorService.calculateDays(request.getStartDate(), request.getEndDate());
+        return new DateDifferenceResponse(request.getStartDate(), request.getEndDate(), days, null);
+    }
+}
@@ -1,14 +1,19 @@
 package com.eskimi.backend_assignment.unit.service;
 
+import com.eskimi.backend_assignment.exception.InvalidNumberException;
 import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.words.NumberWordTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.BigDecimal;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NumberToWordsServiceTest {
 
@@ -81,4 +86,72 @@ class NumberToWordsServiceTest {
         assertEquals("one hundred one", service.convertToWords(new BigDecimal("101")));
         assertEquals("five hundred five", service.convertToWords(new BigDecimal("505")));
     }
+
+    @Test
+    void testEveryTwoDecimalValue() {
+        String[] ones = {"zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"};
+        for (int hundredths = 0; hundredths < 100_000; hundredths++) {
+            int integerPart = hundredths / 100;
+            String expected = service.convertToWords(BigDecimal.valueOf(integerPart));
+            if (hundredths % 100 != 0) {
+                expected += " point " + ones[hundredths / 10 % 10] + " " + ones[hundredths % 10];
+            }
+
+            assertEquals(expected, service.convertToWords(BigDecimal.valueOf(hundredths, 2)));
+            assertEquals(expected, service.convertToWords(BigDecimal.valueOf(hundredths, 2).setScale(4)));
+        }
+    }
+
+    @Test
+    void testTableFootprint() {
+        NumberWordTable table = NumberWordTable.build("en", hundredths ->
+                service.convertToWords(BigDecimal.valueOf(hundredths, 2)));
+
+        assertEquals("nine hundred ninety nine point nine nine", table.get(99_999));
+        // ~100k Strings averaging ~40 Latin-1 characters
+        assertTrue(table.footprintBytes() > 5_000_000 && table.footprintBytes() < 12_000_000);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1000, one thousand",
+            "1001.5, one thousand one point five zero",
+            "20019, twenty thousand nineteen",
+            "1000000, one million",
+            "1234567.05, one million two hundred thirty four thousand five hundred sixty seven point zero five",
+            "1000000001, one billion one",
+            "999999.999, one million",
+            "9223372036854775807, nine quintillion two hundred twenty three quadrillion three hundred seventy two"
+                    + " trillion thirty six billion eight hundred fifty four million seven hundred seventy five"
+                    + " thousand eight hundred seven"
+    })
+    void testScaleGroups(String input, String expected) {
+        assertEquals(expected, service.convertToWords(new BigDecimal(input)));
+    }
+
+    @Test
+    void testHundredthsMatchBigDecimal() {
+        for (long hundredths = 0; hundredths < 1_000_000; hundredths++) {
+            assertEquals(service.convertToWords(BigDecimal.valueOf(hundredths, 2)), service.convertToWords(hundredths));
+        }
+        Random random = new Random(9);
+        for (int i = 0; i < 100_000; i++) {
+            long hundredths = random.nextLong() & Long.MAX_VALUE >>> random.nextInt(63);
+            assertEquals(service.convertToWords(BigDecimal.valueOf(hundredths, 2)), service.convertToWords(hundredths));
+            assertEquals(service.convertToWords(BigDecimal.valueOf(hundredths, 2)),
+                    service.convertToWords(BigDecimal.valueOf(hundredths, 2).setScale(3)));
+        }
+        assertEquals("ninety two quadrillion two hundred thirty three trillion seven hundred twenty billion"
+                        + " three hundred sixty eight million five hundred forty seven thousand seven hundred fifty eight"
+                        + " point zero seven",
+                service.convertToWords(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testOutOfRange() {
+        assertThrows(InvalidNumberException.class, () -> service.convertToWords(-1L));
+        assertThrows(InvalidNumberException.class, () -> service.convertToWords(new BigDecimal("-1")));
+        assertThrows(InvalidNumberException.class, () -> service.convertToWords(new BigDecimal("9223372036854775808")));
+        assertThrows(InvalidNumberException.class, () -> service.convertToWords(new BigDecimal("1E30")));
+    }
 }
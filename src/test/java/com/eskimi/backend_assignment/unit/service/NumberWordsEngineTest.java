@@ -0,0 +1,114 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.exception.UnsupportedLanguageException;
+import com.eskimi.backend_assignment.model.Words;
+import com.eskimi.backend_assignment.model.response.NumberResponse;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.words.BanglaWordsEngine;
+import com.eskimi.backend_assignment.service.words.EnglishWordsEngine;
+import com.eskimi.backend_assignment.service.words.FrenchWordsEngine;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngine;
+import com.eskimi.backend_assignment.service.words.NumberWordsEngineRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberWordsEngineTest {
+
+    private final NumberToWordsService service = new NumberToWordsService();
+    private final NumberWordsEngineRegistry registry = new NumberWordsEngineRegistry(List.of());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, zéro",
+            "21, vingt et un",
+            "36.4, trente-six virgule quatre zéro",
+            "71, soixante et onze",
+            "77, soixante-dix-sept",
+            "80, quatre-vingts",
+            "81, quatre-vingt-un",
+            "91, quatre-vingt-onze",
+            "100, cent",
+            "200, deux cents",
+            "201, deux cent un",
+            "1000, mille",
+            "2080, deux mille quatre-vingts",
+            "80000, quatre-vingt mille",
+            "200000, deux cent mille",
+            "1000000, un million",
+            "80000000, quatre-vingts millions",
+            "2000000000, deux milliards",
+            "1280071.05, un million deux cent quatre-vingt mille soixante et onze virgule zéro cinq"
+    })
+    @DisplayName("Should spell numbers in French")
+    void testFrench(String number, String expected) {
+        assertEquals(expected, service.toWords(new BigDecimal(number), FrenchWordsEngine.INSTANCE).toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, শূন্য",
+            "45, পঁয়তাল্লিশ",
+            "105, এক শত পাঁচ",
+            "36.4, ছত্রিশ দশমিক চার শূন্য",
+            "1000, এক হাজার",
+            "100000, এক লাখ",
+            "10000000, এক কোটি",
+            "12345678.05, এক কোটি তেইশ লাখ পঁয়তাল্লিশ হাজার ছয় শত আটাত্তর দশমিক শূন্য পাঁচ",
+            "100000000000000, এক কোটি কোটি"
+    })
+    @DisplayName("Should spell numbers in Bangla with lakh and crore grouping")
+    void testBangla(String number, String expected) {
+        assertEquals(expected, service.toWords(new BigDecimal(number), BanglaWordsEngine.INSTANCE).toString());
+    }
+
+    @Test
+    @DisplayName("Should keep the English words the default")
+    void testEnglishIsDefault() {
+        BigDecimal number = new BigDecimal("1234567.05");
+
+        assertEquals(service.convertToWords(number),
+                service.toWords(number, EnglishWordsEngine.INSTANCE).toString());
+        assertEquals(Words.of(1234567, 5), Words.of(EnglishWordsEngine.INSTANCE, 1234567, 5));
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON from UTF-8 fragments as from the String words in every language")
+    void testJsonMatchesText() throws Exception {
+        Random random = new Random(5);
+        for (NumberWordsEngine engine : new NumberWordsEngine[]{
+                EnglishWordsEngine.INSTANCE, BanglaWordsEngine.INSTANCE, FrenchWordsEngine.INSTANCE}) {
+            for (int i = 0; i < 5_000; i++) {
+                long hundredths = i < 2_000
+                        ? random.nextInt(100_000)
+                        : random.nextLong() & Long.MAX_VALUE >>> random.nextInt(63);
+                Words words = service.toWords(hundredths, engine);
+                String json = new String(objectMapper.writeValueAsBytes(new NumberResponse(words)),
+                        StandardCharsets.UTF_8);
+
+                assertEquals("{\"words\":\"" + words + "\"}", json, engine.getLanguage() + " " + hundredths);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick the language from the parameter, then the locale, then English")
+    void testRegistry() {
+        assertEquals("fr", registry.resolve("FR", Locale.forLanguageTag("bn")).getLanguage());
+        assertEquals("bn", registry.resolve(null, Locale.forLanguageTag("bn-BD")).getLanguage());
+        assertEquals("en", registry.resolve(" ", Locale.GERMAN).getLanguage());
+        assertEquals("en", registry.resolve(null, null).getLanguage());
+        assertThrows(UnsupportedLanguageException.class, () -> registry.resolve("de", Locale.ENGLISH));
+    }
+}
@@ -0,0 +1,119 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.response.TemperatureResponse;
+import com.eskimi.backend_assignment.service.weather.TemperatureStatsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemperatureStatsCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    // "Today" is 2025-06-15
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+    private final AtomicLong nanos = new AtomicLong();
+    private final TemperatureStatsCache cache = new TemperatureStatsCache(100, TTL, clock, nanos::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should never expire a range that ended before today")
+    void testPastRangeNeverExpires() {
+        CalendarDate start = CalendarDate.parse("2025-06-01");
+        CalendarDate end = CalendarDate.parse("2025-06-14");
+
+        TemperatureResponse first = cache.get(start, end, this::load);
+        nanos.addAndGet(Duration.ofDays(365).toNanos());
+
+        assertSame(first, cache.get(start, end, this::load));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Should expire a range that includes today after the TTL")
+    void testCurrentRangeExpires() {
+        CalendarDate start = CalendarDate.parse("2025-06-10");
+        CalendarDate today = CalendarDate.parse("2025-06-15");
+
+        cache.get(start, today, this::load);
+        nanos.addAndGet(TTL.toNanos() - 1);
+        cache.get(start, today, this::load);
+        assertEquals(1, loads.get());
+
+        nanos.addAndGet(1);
+        cache.get(start, today, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the ranges, plain and extended, that contain a day of the refreshed ones")
+    void testInvalidateOverlapping() {
+        TemperatureResponse response = new TemperatureResponse();
+        cache.put(CalendarDate.parse("2025-06-01"), CalendarDate.parse("2025-06-07"), response);
+        cache.put(CalendarDate.parse("2025-06-01"), CalendarDate.parse("2025-06-09"), true, response);
+        cache.put(CalendarDate.parse("2025-06-12"), CalendarDate.parse("2025-06-14"), response);
+
+        cache.invalidate(CalendarDate.parse("2025-06-08"), CalendarDate.parse("2025-06-14"));
+
+        assertSame(response, cache.getIfPresent(CalendarDate.parse("2025-06-01"), CalendarDate.parse("2025-06-07")));
+        assertNull(cache.getIfPresent(CalendarDate.parse("2025-06-01"), CalendarDate.parse("2025-06-09"), true));
+        assertNull(cache.getIfPresent(CalendarDate.parse("2025-06-12"), CalendarDate.parse("2025-06-14")));
+    }
+
+    @Test
+    @DisplayName("Should not cache a failed load")
+    void testFailureIsNotCached() {
+        CalendarDate day = CalendarDate.parse("2025-06-01");
+
+        assertThrows(IllegalStateException.class, () -> cache.get(day, day, () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+        cache.get(day, day, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should stay within its maximum size")
+    void testBounded() {
+        for (int day = 1; day <= 500; day++) {
+            CalendarDate date = CalendarDate.ofEpochDay(CalendarDate.parse("2024-01-01").toEpochDay() + day);
+            cache.get(date, date, this::load);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.stats().evictionCount() >= 400);
+    }
+
+    @Test
+    @DisplayName("Should publish size, hit ratio and evictions as metrics")
+    void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TemperatureStatsCache monitored = new TemperatureStatsCache(100, TTL, registry);
+        CalendarDate day = CalendarDate.parse("2025-01-01");
+
+        monitored.get(day, day, this::load);
+        monitored.get(day, day, this::load);
+
+        assertEquals(0.5, registry.get(TemperatureStatsCache.HIT_RATIO_METRIC).gauge().value());
+        assertEquals(1.0, registry.get("cache.size").tag("cache", TemperatureStatsCache.CACHE_NAME).gauge().value());
+        assertNotNull(registry.find("cache.evictions").tag("cache", TemperatureStatsCache.CACHE_NAME).meter());
+    }
+
+    private TemperatureResponse load() {
+        loads.incrementAndGet();
+        return new TemperatureResponse();
+    }
+}
@@ -0,0 +1,169 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.response.TemperatureResponse;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.TemperatureStatsService;
+import com.eskimi.backend_assignment.service.TemperatureTextConverter;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import com.eskimi.backend_assignment.service.weather.TemperatureStatsCache;
+import com.eskimi.backend_assignment.service.weather.UpstreamResilience;
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many concurrent cache misses against a slow upstream, on the non-blocking path
+ */
+class TemperatureStatsServiceAsyncTest {
+
+    private static final int REQUESTS = 5000;
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(500);
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private DisposableServer server;
+    private WeatherService weatherService;
+    private DailyTemperatureSnapshot dailyTemperatureSnapshot;
+    private TemperatureStatsService temperatureStatsService;
+
+    @BeforeEach
+    void setUp() {
+        // Answers every range after a delay that holds no thread, with values derived from each day
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/v1/forecast", (request, response) -> {
+                    upstreamCalls.incrementAndGet();
+                    QueryStringDecoder query = new QueryStringDecoder(request.uri());
+                    long start = LocalDate.parse(query.parameters().get("start_date").get(0)).toEpochDay();
+                    long end = LocalDate.parse(query.parameters().get("end_date").get(0)).toEpochDay();
+                    return response.header("Content-Type", "application/json")
+                            .sendString(Mono.delay(UPSTREAM_DELAY).map(tick -> body(start, end)));
+                }))
+                .bindNow();
+
+        weatherService = new WeatherService(WebClient.builder(),
+                "http://127.0.0.1:" + server.port() + "/v1/forecast", 1000, 200,
+                new UpstreamResilience(new CircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3, System::nanoTime),
+                        REQUESTS + 1, false, Duration.ofMillis(50)));
+        // Covers none of the requested days, so every range is a real upstream call
+        dailyTemperatureSnapshot = new DailyTemperatureSnapshot(snapshotDirectory.resolve("snapshot.bin"),
+                LocalDate.now().minusYears(3), 10, Clock.systemDefaultZone());
+        temperatureStatsService = new TemperatureStatsService(weatherService,
+                new TemperatureTextConverter(new NumberToWordsService()),
+                new TemperatureStatsCache(10_000, Duration.ofMinutes(10), Clock.systemDefaultZone(), Ticker.systemTicker()),
+                dailyTemperatureSnapshot, 30, 20, Clock.systemDefaultZone());
+    }
+
+    @AfterEach
+    void tearDown() {
+        weatherService.close();
+        dailyTemperatureSnapshot.flush();
+        server.disposeNow();
+    }
+
+    @Test
+    void testSlowUpstreamDoesNotHoldAThreadPerRequest() {
+        LocalDate today = LocalDate.now();
+        // Connections, event loops and the snapshot writer are started once before measuring
+        temperatureStatsService.getTemperatureStatsAsync(
+                CalendarDate.parse(today.minusDays(2).toString()),
+                CalendarDate.parse(today.minusDays(2).toString())).block();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        int callsBefore = upstreamCalls.get();
+        long started = System.nanoTime();
+
+        // Distinct ranges of 1 to 15 days within the last year, none cached
+        List<TemperatureResponse> responses = Flux.range(0, REQUESTS)
+                .flatMapSequential(i -> {
+                    LocalDate start = today.minusDays(360).plusDays(i % 340);
+                    LocalDate end = start.plusDays(i / 340);
+                    return temperatureStatsService.getTemperatureStatsAsync(
+                            CalendarDate.parse(start.toString()), CalendarDate.parse(end.toString()));
+                }, REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        int threadGrowth = threads.getPeakThreadCount() - threadsBefore;
+
+        assertNotNull(responses);
+        assertEquals(REQUESTS, responses.size());
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = today.minusDays(360).plusDays(i % 340).toEpochDay();
+            long end = start + i / 340;
+            TemperatureResponse response = responses.get(i);
+            assertEquals(expectedMax(start, end), response.getMax(), "max of request " + i);
+            assertEquals(expectedMin(start, end), response.getMin(), "min of request " + i);
+        }
+        assertEquals(REQUESTS, upstreamCalls.get() - callsBefore);
+        // A thread per pending request would need thousands, and one after the other takes 2500 s
+        assertTrue(threadGrowth < 30, "thread count grew by " + threadGrowth);
+        assertTrue(elapsedMillis < 30_000, "took " + elapsedMillis + " ms");
+    }
+
+    private static String body(long startDay, long endDay) {
+        StringJoiner max = new StringJoiner(",", "[", "]");
+        StringJoiner min = new StringJoiner(",", "[", "]");
+        StringJoiner mean = new StringJoiner(",", "[", "]");
+        for (long day = startDay; day <= endDay; day++) {
+            max.add(String.valueOf(maxOf(day)));
+            min.add(String.valueOf(minOf(day)));
+            mean.add(String.valueOf((maxOf(day) + minOf(day)) / 2));
+        }
+        return "{\"daily\":{\"temperature_2m_max\":" + max + ",\"temperature_2m_min\":" + min
+                + ",\"temperature_2m_mean\":" + mean + "}}";
+    }
+
+    private static double maxOf(long day) {
+        return 20 + day % 17;
+    }
+
+    private static double minOf(long day) {
+        return 5 + day % 11;
+    }
+
+    private static double expectedMax(long startDay, long endDay) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (long day = startDay; day <= endDay; day++) {
+            max = Math.max(max, maxOf(day));
+        }
+        return max;
+    }
+
+    private static double expectedMin(long startDay, long endDay) {
+        double min = Double.POSITIVE_INFINITY;
+        for (long day = startDay; day <= endDay; day++) {
+            min = Math.min(min, minOf(day));
+        }
+        return min;
+    }
+}
@@ -1,44 +1,84 @@
 package com.eskimi.backend_assignment.unit.service;
 
+import com.eskimi.backend_assignment.exception.DateErrorCode;
 import com.eskimi.backend_assignment.exception.InvalidDateException;
+import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.request.Location;
+import com.eskimi.backend_assignment.model.response.LocationTemperatureResponse;
 import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
 import com.eskimi.backend_assignment.model.response.TemperatureResponse;
 import com.eskimi.backend_assignment.service.NumberToWordsService;
 import com.eskimi.backend_assignment.service.TemperatureStatsService;
 import com.eskimi.backend_assignment.service.TemperatureTextConverter;
 import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import com.eskimi.backend_assignment.service.weather.TemperatureStatsCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TemperatureStatsServiceTest {
 
+    private static final double ABOVE_THRESHOLD = 30;
+    private static final double BELOW_THRESHOLD = 20;
+
     @Mock
     private WeatherService weatherService;
 
+    @TempDir
+    Path snapshotDirectory;
+
     private TemperatureStatsService temperatureStatsService;
     private TemperatureTextConverter temperatureTextConverter;
+    private DailyTemperatureSnapshot dailyTemperatureSnapshot;
     private DateTimeFormatter formatter;
 
     @BeforeEach
     void setUp() {
         NumberToWordsService numberToWordsService = new NumberToWordsService();
         temperatureTextConverter = new TemperatureTextConverter(numberToWordsService);
-        temperatureStatsService = new TemperatureStatsService(weatherService, temperatureTextConverter);
+        dailyTemperatureSnapshot = new DailyTemperatureSnapshot(snapshotDirectory.resolve("snapshot.bin"),
+                LocalDate.now().minusYears(2), 1000, Clock.systemDefaultZone());
+        temperatureStatsService = newService();
         formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     }
 
+    private TemperatureStatsService newService() {
+        return newService(dailyTemperatureSnapshot);
+    }
+
+    private TemperatureStatsService newService(DailyTemperatureSnapshot snapshot) {
+        TemperatureStatsCache temperatureStatsCache = new TemperatureStatsCache(
+                100, Duration.ofMinutes(10), Clock.systemDefaultZone(), Ticker.systemTicker());
+        return new TemperatureStatsService(weatherService, temperatureTextConverter, temperatureStatsCache, snapshot,
+                ABOVE_THRESHOLD, BELOW_THRESHOLD, Clock.systemDefaultZone());
+    }
+
     @Test
     void testGetTemperatureStats() {
         // Use dates within the last year (valid range)
@@ -48,9 +88,9 @@ class TemperatureStatsServiceTest {
         // Mock weather data
         OpenMeteoResponse response = new OpenMeteoResponse();
         OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
-        daily.setTemperatureMin(Arrays.asList(20.0, 18.5, 19.0));
-        daily.setTemperatureMax(Arrays.asList(30.0, 28.5, 29.0));
-        daily.setTemperatureMean(Arrays.asList(25.0, 23.5, 24.0));
+        daily.setTemperatureMin(new double[]{20.0, 18.5, 19.0});
+        daily.setTemperatureMax(new double[]{30.0, 28.5, 29.0});
+        daily.setTemperatureMean(new double[]{25.0, 23.5, 24.0});
         response.setDaily(daily);
 
         when(weatherService.getTemperatureData(anyString(), anyString())).thenReturn(response);
@@ -61,8 +101,8 @@ class TemperatureStatsServiceTest {
         assertEquals(18.5, result.getMin());
         assertEquals(30.0, result.getMax());
         assertEquals(24.17, result.getAverage());
-        assertTrue(result.getMinText().contains("positive eighteen"));
-        assertTrue(result.getMaxText().contains("positive thirty"));
+        assertTrue(result.getMinText().toString().contains("positive eighteen"));
+        assertTrue(result.getMaxText().toString().contains("positive thirty"));
     }
 
     @Test
@@ -84,6 +124,38 @@ class TemperatureStatsServiceTest {
         });
     }
 
+    @Test
+    void testValidateDates_ReturnsErrorCodes() {
+        CalendarDate today = CalendarDate.ofEpochDay(LocalDate.now().toEpochDay());
+        CalendarDate yesterday = CalendarDate.ofEpochDay(LocalDate.now().minusDays(1).toEpochDay());
+        CalendarDate tomorrow = CalendarDate.ofEpochDay(LocalDate.now().plusDays(1).toEpochDay());
+        CalendarDate twoYearsAgo = CalendarDate.ofEpochDay(LocalDate.now().minusYears(2).toEpochDay());
+
+        assertTrue(temperatureStatsService.validateDates(yesterday, today).isValid());
+        assertEquals(DateErrorCode.START_AFTER_END,
+                temperatureStatsService.validateDates(today, yesterday).getErrorCode());
+        assertEquals(DateErrorCode.START_IN_FUTURE,
+                temperatureStatsService.validateDates(tomorrow, tomorrow).getErrorCode());
+        assertEquals(DateErrorCode.START_TOO_FAR_IN_PAST,
+                temperatureStatsService.validateDates(twoYearsAgo, today).getErrorCode());
+    }
+
+    @Test
+    void testValidateDates_UsesDhakaToday() {
+        // 20:00 UTC is already 02:00 of the next day in Dhaka
+        Clock evening = Clock.fixed(Instant.parse("2026-03-10T20:00:00Z"), WeatherService.DHAKA_ZONE);
+        TemperatureStatsService service = new TemperatureStatsService(weatherService, temperatureTextConverter,
+                new TemperatureStatsCache(100, Duration.ofMinutes(10), evening, Ticker.systemTicker()),
+                dailyTemperatureSnapshot, ABOVE_THRESHOLD, BELOW_THRESHOLD, evening);
+
+        CalendarDate dhakaToday = CalendarDate.of(2026, 3, 11);
+        assertTrue(service.validateDates(dhakaToday, dhakaToday).isValid());
+        assertEquals(DateErrorCode.START_IN_FUTURE,
+                service.validateDates(CalendarDate.of(2026, 3, 12), CalendarDate.of(2026, 3, 12)).getErrorCode());
+        assertEquals(DateErrorCode.START_TOO_FAR_IN_PAST,
+                service.validateDates(CalendarDate.of(2025, 3, 10), dhakaToday).getErrorCode());
+    }
+
     @Test
     void testInvalidDateFormat() {
         assertThrows(InvalidDateException.class, () -> {
@@ -99,9 +171,9 @@ class TemperatureStatsServiceTest {
 
         OpenMeteoResponse response = new OpenMeteoResponse();
         OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
-        daily.setTemperatureMin(Arrays.asList(-10.0, -15.0, -12.0));
-        daily.setTemperatureMax(Arrays.asList(-5.0, -8.0, -6.0));
-        daily.setTemperatureMean(Arrays.asList(-7.5, -11.5, -9.0));
+        daily.setTemperatureMin(new double[]{-10.0, -15.0, -12.0});
+        daily.setTemperatureMax(new double[]{-5.0, -8.0, -6.0});
+        daily.setTemperatureMean(new double[]{-7.5, -11.5, -9.0});
         response.setDaily(daily);
 
         when(weatherService.getTemperatureData(anyString(), anyString())).thenReturn(response);
@@ -110,8 +182,8 @@ class TemperatureStatsServiceTest {
 
         assertEquals(-15.0, result.getMin());
         assertEquals(-5.0, result.getMax());
-        assertTrue(result.getMinText().startsWith("minus"));
-        assertTrue(result.getMaxText().startsWith("minus"));
+        assertTrue(result.getMinText().toString().startsWith("minus"));
+        assertTrue(result.getMaxText().toString().startsWith("minus"));
     }
 
     @Test
@@ -133,9 +205,9 @@ class TemperatureStatsServiceTest {
 
         OpenMeteoResponse response = new OpenMeteoResponse();
         OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
-        daily.setTemperatureMin(Arrays.asList(15.0));
-        daily.setTemperatureMax(Arrays.asList(25.0));
-        daily.setTemperatureMean(Arrays.asList(20.0));
+        daily.setTemperatureMin(new double[]{15.0});
+        daily.setTemperatureMax(new double[]{25.0});
+        daily.setTemperatureMean(new double[]{20.0});
         response.setDaily(daily);
 
         when(weatherService.getTemperatureData(anyString(), anyString())).thenReturn(response);
@@ -155,9 +227,9 @@ class TemperatureStatsServiceTest {
 
         OpenMeteoResponse response = new OpenMeteoResponse();
         OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
-        daily.setTemperatureMin(Arrays.asList(22.0));
-        daily.setTemperatureMax(Arrays.asList(28.0));
-        daily.setTemperatureMean(Arrays.asList(25.0));
+        daily.setTemperatureMin(new double[]{22.0});
+        daily.setTemperatureMax(new double[]{28.0});
+        daily.setTemperatureMean(new double[]{25.0});
         response.setDaily(daily);
 
         when(weatherService.getTemperatureData(anyString(), anyString())).thenReturn(response);
@@ -169,4 +241,298 @@ class TemperatureStatsServiceTest {
         assertEquals(28.0, result.getMax());
         assertEquals(25.0, result.getAverage());
     }
+
+    @Test
+    void testRepeatedRangeIsServedFromCache() {
+        String startDate = LocalDate.now().minusDays(9).format(formatter);
+        String endDate = LocalDate.now().minusDays(3).format(formatter);
+
+        OpenMeteoResponse response = new OpenMeteoResponse();
+        OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
+        daily.setTemperatureMin(new double[]{22.0});
+        daily.setTemperatureMax(new double[]{28.0});
+        daily.setTemperatureMean(new double[]{25.0});
+        response.setDaily(daily);
+
+        when(weatherService.getTemperatureData(startDate, endDate)).thenReturn(response);
+
+        TemperatureResponse first = temperatureStatsService.getTemperatureStats(startDate, endDate);
+        TemperatureResponse second = temperatureStatsService.getTemperatureStats(startDate, endDate);
+
+        assertSame(first, second);
+        verify(weatherService, times(1)).getTemperatureData(startDate, endDate);
+    }
+
+    @Test
+    void testRestartIsServedFromSnapshot() {
+        String startDate = LocalDate.now().minusDays(6).format(formatter);
+        String endDate = LocalDate.now().minusDays(5).format(formatter);
+
+        OpenMeteoResponse response = new OpenMeteoResponse();
+        OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
+        daily.setTemperatureMin(new double[]{20.0, 21.0});
+        daily.setTemperatureMax(new double[]{30.0, 31.0});
+        daily.setTemperatureMean(new double[]{25.0, 26.0});
+        response.setDaily(daily);
+
+        when(weatherService.getTemperatureData(startDate, endDate)).thenReturn(response);
+
+        TemperatureResponse fetched = temperatureStatsService.getTemperatureStats(startDate, endDate);
+        // A new service with an empty cache, as after a restart
+        TemperatureResponse restored = newService().getTemperatureStats(startDate, endDate);
+
+        assertEquals(fetched, restored);
+        assertEquals(25.5, restored.getAverage());
+        verify(weatherService, times(1)).getTemperatureData(startDate, endDate);
+    }
+
+    @Test
+    void testOverlappingRangeFetchesOnlyMissingDays() {
+        LocalDate today = LocalDate.now();
+        String firstStart = today.minusDays(10).format(formatter);
+        String firstEnd = today.minusDays(6).format(formatter);
+        String gapStart = today.minusDays(5).format(formatter);
+        String secondEnd = today.minusDays(2).format(formatter);
+
+        when(weatherService.getTemperatureData(firstStart, firstEnd))
+                .thenReturn(weatherData(new double[]{10, 11, 12, 13, 14}));
+        when(weatherService.getTemperatureData(gapStart, secondEnd))
+                .thenReturn(weatherData(new double[]{20, 21, 22, 23}));
+
+        temperatureStatsService.getTemperatureStats(firstStart, firstEnd);
+        // Days -8 to -6 are known, only -5 to -2 are fetched
+        TemperatureResponse second = temperatureStatsService.getTemperatureStats(
+                today.minusDays(8).format(formatter), secondEnd);
+
+        assertEquals(2.0, second.getMin());
+        assertEquals(33.0, second.getMax());
+        assertEquals(17.86, second.getAverage());
+        verify(weatherService, times(1)).getTemperatureData(firstStart, firstEnd);
+        verify(weatherService, times(1)).getTemperatureData(gapStart, secondEnd);
+    }
+
+    @Test
+    void testSeveralMissingStretchesAreFetchedAndMerged() {
+        LocalDate today = LocalDate.now();
+        // Days -10, -9 and -5, -4 are known; -12..-11, -8..-6 and -3..-2 are not
+        dailyTemperatureSnapshot.append(today.minusDays(10).toEpochDay(), weatherData(new double[]{3, 4}).getDaily());
+        dailyTemperatureSnapshot.append(today.minusDays(5).toEpochDay(), weatherData(new double[]{8, 9}).getDaily());
+        when(weatherService.getTemperatureDataAsync(
+                today.minusDays(12).format(formatter), today.minusDays(11).format(formatter)))
+                .thenReturn(Mono.just(weatherData(new double[]{1, 2})));
+        when(weatherService.getTemperatureDataAsync(
+                today.minusDays(8).format(formatter), today.minusDays(6).format(formatter)))
+                .thenReturn(Mono.just(weatherData(new double[]{5, 6, 7})));
+        when(weatherService.getTemperatureDataAsync(
+                today.minusDays(3).format(formatter), today.minusDays(2).format(formatter)))
+                .thenReturn(Mono.just(weatherData(new double[]{10, 11})));
+
+        TemperatureResponse stats = temperatureStatsService.getTemperatureStats(
+                today.minusDays(12).format(formatter), today.minusDays(2).format(formatter));
+
+        // Day n of the range has mean n, min n - 10 and max n + 10
+        assertEquals(-9.0, stats.getMin());
+        assertEquals(21.0, stats.getMax());
+        assertEquals(6.0, stats.getAverage());
+        TemperatureResponse async = newService().getTemperatureStatsAsync(
+                CalendarDate.parse(today.minusDays(12).format(formatter)),
+                CalendarDate.parse(today.minusDays(2).format(formatter))).block();
+        assertEquals(stats, async);
+    }
+
+    @Test
+    void testRecordedDaysReadShortAreFetched() {
+        LocalDate today = LocalDate.now();
+        String recordedStart = today.minusDays(10).format(formatter);
+        String recordedEnd = today.minusDays(8).format(formatter);
+        String gapStart = today.minusDays(7).format(formatter);
+        String gapEnd = today.minusDays(6).format(formatter);
+        dailyTemperatureSnapshot.append(today.minusDays(10).toEpochDay(), weatherData(new double[]{1, 2, 3}).getDaily());
+        // As when another thread is rewriting the recorded days at that moment
+        DailyTemperatureSnapshot rewriting = spy(dailyTemperatureSnapshot);
+        doReturn(null).when(rewriting).read(today.minusDays(10).toEpochDay(), today.minusDays(8).toEpochDay());
+        when(weatherService.getTemperatureData(gapStart, gapEnd)).thenReturn(weatherData(new double[]{4, 5}));
+        when(weatherService.getTemperatureData(recordedStart, recordedEnd)).thenReturn(weatherData(new double[]{1, 2, 3}));
+
+        TemperatureResponse stats = newService(rewriting).getTemperatureStats(recordedStart, gapEnd);
+
+        assertEquals(-9.0, stats.getMin());
+        assertEquals(15.0, stats.getMax());
+        assertEquals(3.0, stats.getAverage());
+        verify(weatherService, times(1)).getTemperatureData(recordedStart, recordedEnd);
+    }
+
+    @Test
+    void testRefreshDaysRecordsRevisedValues() {
+        LocalDate today = LocalDate.now();
+        String startDate = today.minusDays(3).format(formatter);
+        String endDate = today.minusDays(2).format(formatter);
+        when(weatherService.getTemperatureData(startDate, endDate))
+                .thenReturn(weatherData(new double[]{20, 22}))
+                .thenReturn(weatherData(new double[]{20, 22}))
+                .thenReturn(weatherData(new double[]{20, 26}));
+
+        TemperatureResponse before = temperatureStatsService.getTemperatureStats(startDate, endDate);
+        assertEquals(21.0, before.getAverage());
+
+        // Fetched again although recorded; unchanged values keep the cached statistics
+        CalendarDate start = CalendarDate.parse(startDate);
+        CalendarDate end = CalendarDate.parse(endDate);
+        assertEquals(0, temperatureStatsService.refreshDays(start, end));
+        assertSame(before, temperatureStatsService.getTemperatureStats(startDate, endDate));
+
+        // A revised day is recorded and the statistics containing it are computed again
+        assertEquals(1, temperatureStatsService.refreshDays(start, end));
+        assertEquals(23.0, temperatureStatsService.getTemperatureStats(startDate, endDate).getAverage());
+        verify(weatherService, times(3)).getTemperatureData(startDate, endDate);
+    }
+
+    @Test
+    void testGetTemperatureStatsOfLocations() {
+        CalendarDate startDate = CalendarDate.parse(LocalDate.now().minusDays(3).format(formatter));
+        CalendarDate endDate = CalendarDate.parse(LocalDate.now().minusDays(2).format(formatter));
+        List<Location> locations = List.of(
+                new Location("Dhaka", 23.8103, 90.4125),
+                new Location("Chittagong", 22.3569, 91.7832));
+
+        when(weatherService.getTemperatureData(locations, startDate.toString(), endDate.toString()))
+                .thenReturn(List.of(weatherData(20.0, 30.0), weatherData(-5.5, 1.5)));
+
+        List<LocationTemperatureResponse> stats =
+                temperatureStatsService.getTemperatureStats(locations, startDate, endDate);
+
+        assertEquals(2, stats.size());
+        assertEquals("Dhaka", stats.get(0).getName());
+        assertEquals(20.0, stats.get(0).getStats().getMin());
+        assertEquals("Chittagong", stats.get(1).getName());
+        assertEquals(22.3569, stats.get(1).getLatitude());
+        assertEquals(-5.5, stats.get(1).getStats().getMin());
+        assertEquals(1.5, stats.get(1).getStats().getMax());
+        verify(weatherService, times(1)).getTemperatureData(locations, startDate.toString(), endDate.toString());
+    }
+
+    @Test
+    void testLocationsWithoutWeatherData() {
+        CalendarDate startDate = CalendarDate.parse(LocalDate.now().minusDays(3).format(formatter));
+        CalendarDate endDate = CalendarDate.parse(LocalDate.now().minusDays(2).format(formatter));
+        List<Location> locations = List.of(new Location("Dhaka", 23.8103, 90.4125));
+
+        when(weatherService.getTemperatureData(locations, startDate.toString(), endDate.toString()))
+                .thenReturn(List.of(new OpenMeteoResponse()));
+
+        assertThrows(RuntimeException.class,
+                () -> temperatureStatsService.getTemperatureStats(locations, startDate, endDate));
+    }
+
+    @Test
+    void testExtendedStatsOfRecordedRange() {
+        LocalDate today = LocalDate.now();
+        String startDate = today.minusDays(7).format(formatter);
+        String endDate = today.minusDays(3).format(formatter);
+        when(weatherService.getTemperatureData(startDate, endDate))
+                .thenReturn(weatherData(new double[]{18, 22, 25, 31, 33}));
+
+        TemperatureResponse plain = temperatureStatsService.getTemperatureStats(startDate, endDate);
+        assertNull(plain.getMedian());
+        assertNull(plain.getDaysAbove());
+
+        // The days are recorded now, the extended statistics are computed from the snapshot
+        TemperatureResponse extended = temperatureStatsService.getTemperatureStats(
+                CalendarDate.parse(startDate), CalendarDate.parse(endDate), true);
+        assertEquals(plain.getMin(), extended.getMin());
+        assertEquals(plain.getMax(), extended.getMax());
+        assertEquals(25.8, extended.getAverage());
+        assertEquals(25.0, extended.getMedian());
+        assertEquals(19.6, extended.getP10());
+        assertEquals(32.2, extended.getP90());
+        assertEquals(5.56, extended.getStandardDeviation());
+        // Above 30 and below 20
+        assertEquals(2, extended.getDaysAbove());
+        assertEquals(1, extended.getDaysBelow());
+        verify(weatherService, times(1)).getTemperatureData(startDate, endDate);
+
+        assertSame(extended, temperatureStatsService.getTemperatureStatsAsync(
+                CalendarDate.parse(startDate), CalendarDate.parse(endDate), true).block());
+        assertSame(plain, temperatureStatsService.getTemperatureStats(startDate, endDate));
+    }
+
+    @Test
+    void testColumnWithoutValues() throws Exception {
+        String startDate = LocalDate.now().minusDays(7).format(formatter);
+        String endDate = LocalDate.now().minusDays(6).format(formatter);
+        // Open-Meteo sends null for a day without a value
+        OpenMeteoResponse allNull = new ObjectMapper().readValue("""
+                {"daily":{"temperature_2m_max":[null,null],"temperature_2m_min":[20.0,21.0],
+                          "temperature_2m_mean":[25.0,26.0]}}
+                """, OpenMeteoResponse.class);
+        when(weatherService.getTemperatureData(startDate, endDate)).thenReturn(allNull);
+
+        WeatherApiException e = assertThrows(WeatherApiException.class,
+                () -> temperatureStatsService.getTemperatureStats(startDate, endDate));
+        assertTrue(e.getMessage().contains("maximum"), e.getMessage());
+    }
+
+    @Test
+    void testMissingMeanColumn() {
+        String startDate = LocalDate.now().minusDays(7).format(formatter);
+        String endDate = LocalDate.now().minusDays(6).format(formatter);
+        OpenMeteoResponse response = weatherData(20.0, 30.0);
+        response.getDaily().setTemperatureMean(null);
+        when(weatherService.getTemperatureData(startDate, endDate)).thenReturn(response);
+
+        WeatherApiException e = assertThrows(WeatherApiException.class,
+                () -> temperatureStatsService.getTemperatureStats(startDate, endDate));
+        assertTrue(e.getMessage().contains("mean"), e.getMessage());
+    }
+
+    @Test
+    void testExtendedStatsWithoutDailyMeans() {
+        String startDate = LocalDate.now().minusDays(7).format(formatter);
+        String endDate = LocalDate.now().minusDays(6).format(formatter);
+        OpenMeteoResponse response = weatherData(20.0, 30.0);
+        response.getDaily().setTemperatureMean(null);
+        when(weatherService.getTemperatureData(startDate, endDate)).thenReturn(response);
+
+        // Not a response without the statistics that were asked for
+        assertThrows(WeatherApiException.class, () -> temperatureStatsService.getTemperatureStats(
+                CalendarDate.parse(startDate), CalendarDate.parse(endDate), true));
+    }
+
+    @Test
+    void testExtendedStatsWithAllMeansNull() throws Exception {
+        String startDate = LocalDate.now().minusDays(7).format(formatter);
+        String endDate = LocalDate.now().minusDays(6).format(formatter);
+        OpenMeteoResponse response = new ObjectMapper().readValue("""
+                {"daily":{"temperature_2m_max":[30.0,31.0],"temperature_2m_min":[20.0,21.0],
+                          "temperature_2m_mean":[null,null]}}
+                """, OpenMeteoResponse.class);
+        when(weatherService.getTemperatureData(startDate, endDate)).thenReturn(response);
+
+        WeatherApiException e = assertThrows(WeatherApiException.class, () -> temperatureStatsService.getTemperatureStats(
+                CalendarDate.parse(startDate), CalendarDate.parse(endDate), true));
+        assertTrue(e.getMessage().contains("mean"), e.getMessage());
+    }
+
+    /**
+     * Consecutive days with the given means, min 10 below and max 10 above
+     */
+    private static OpenMeteoResponse weatherData(double[] means) {
+        OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily(
+                Arrays.stream(means).map(mean -> mean + 10).toArray(),
+                Arrays.stream(means).map(mean -> mean - 10).toArray(),
+                means);
+        OpenMeteoResponse response = new OpenMeteoResponse();
+        response.setDaily(daily);
+        return response;
+    }
+
+    private static OpenMeteoResponse weatherData(double min, double max) {
+        OpenMeteoResponse response = new OpenMeteoResponse();
+        OpenMeteoResponse.Daily daily = new OpenMeteoResponse.Daily();
+        daily.setTemperatureMin(new double[]{min, min + 1});
+        daily.setTemperatureMax(new double[]{max - 1, max});
+        daily.setTemperatureMean(new double[]{(min + max) / 2, (min + max) / 2});
+        response.setDaily(daily);
+        return response;
+    }
 }
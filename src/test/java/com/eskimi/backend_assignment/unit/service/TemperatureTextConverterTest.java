@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class TemperatureTextConverterTest {
@@ -53,5 +57,26 @@ class TemperatureTextConverterTest {
         String result = converter.convertTemperatureToText(-25.564);
         assertEquals("minus twenty five point five six", result);
     }
-}
 
+    @Test
+    void testPrimitivePathMatchesBigDecimalPath() {
+        Random random = new Random(5);
+        for (int thousandths = -200_000; thousandths <= 200_000; thousandths++) {
+            assertMatchesBigDecimalPath(thousandths / 1000.0);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertMatchesBigDecimalPath((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20)));
+        }
+        assertMatchesBigDecimalPath(-0.0);
+        assertMatchesBigDecimalPath(-0.004);
+        assertMatchesBigDecimalPath(1e17);
+    }
+
+    private void assertMatchesBigDecimalPath(double temperature) {
+        BigDecimal rounded = BigDecimal.valueOf(temperature).setScale(2, RoundingMode.HALF_UP);
+        String expected = (rounded.signum() < 0 ? "minus " : "positive ")
+                + numberToWordsService.convertToWords(rounded.abs());
+
+        assertEquals(expected, converter.convertTemperatureToText(temperature), "Temperature " + temperature);
+    }
+}
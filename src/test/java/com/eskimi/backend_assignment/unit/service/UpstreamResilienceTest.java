@@ -0,0 +1,211 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.UpstreamResilience;
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Circuit breaker, bulkhead and hedging of the Open-Meteo calls against a local stub whose
+ * latency and status are set per request
+ */
+class UpstreamResilienceTest {
+
+    private static final String BODY = """
+            {"daily":{"temperature_2m_max":[30.0],"temperature_2m_min":[20.0],"temperature_2m_mean":[25.0]}}
+            """;
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger ranges = new AtomicInteger();
+    // Latency and status of the n-th request the stub receives, counting from 1
+    private volatile IntFunction<Duration> latency = request -> Duration.ZERO;
+    private volatile IntFunction<Integer> status = request -> 200;
+
+    private DisposableServer server;
+    private UpstreamResilience resilience;
+    private WeatherService weatherService;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/v1/forecast", (request, response) -> {
+                    int hit = hits.incrementAndGet();
+                    return Mono.delay(latency.apply(hit))
+                            .then(Mono.defer(() -> response.status(HttpResponseStatus.valueOf(status.apply(hit)))
+                                    .header("Content-Type", "application/json")
+                                    .sendString(Mono.just(BODY))
+                                    .then()));
+                }))
+                .bindNow();
+    }
+
+    private void newService(int maxConcurrentCalls, boolean hedgeEnabled) {
+        resilience = new UpstreamResilience(
+                new CircuitBreaker(10, 5, 50, OPEN_DURATION, 1, System::nanoTime),
+                maxConcurrentCalls, hedgeEnabled, Duration.ofMillis(50));
+        weatherService = new WeatherService(WebClient.builder(),
+                "http://127.0.0.1:" + server.port() + "/v1/forecast", 100, 200, resilience);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (weatherService != null) {
+            weatherService.close();
+        }
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling the upstream once the breaker is open")
+    void testBreakerFailsFast() {
+        newService(100, false);
+        status = request -> 503;
+        for (int i = 0; i < 5; i++) {
+            assertThrows(WeatherApiException.class, this::fetchNewRange);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getCircuitState());
+        assertEquals(5, hits.get());
+
+        // Even a slow upstream is not waited for while open
+        latency = request -> Duration.ofSeconds(5);
+        long started = System.nanoTime();
+        WeatherApiException e = assertThrows(WeatherApiException.class, this::fetchNewRange);
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(1).toNanos());
+        assertTrue(e.getMessage().contains("failing fast"), e.getMessage());
+        assertEquals(5, hits.get());
+        assertEquals(1, resilience.getRejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Should not open the breaker for client errors")
+    void testClientErrorsDoNotOpenBreaker() {
+        newService(100, false);
+        status = request -> 400;
+        for (int i = 0; i < 10; i++) {
+            assertThrows(WeatherApiException.class, this::fetchNewRange);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitState());
+        assertEquals(10, hits.get());
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the concurrency limit right away")
+    void testBulkheadRejects() throws Exception {
+        newService(2, false);
+        latency = request -> Duration.ofMillis(500);
+        Mono<OpenMeteoResponse> first = newRangeAsync().cache();
+        Mono<OpenMeteoResponse> second = newRangeAsync().cache();
+        first.subscribe(response -> { }, error -> { });
+        second.subscribe(response -> { }, error -> { });
+        awaitInFlight(2);
+
+        WeatherApiException e = assertThrows(WeatherApiException.class, this::fetchNewRange);
+        assertTrue(e.getMessage().contains("Too many concurrent"), e.getMessage());
+
+        assertNotNull(first.block(Duration.ofSeconds(5)));
+        assertNotNull(second.block(Duration.ofSeconds(5)));
+        assertEquals(0, resilience.getInFlightCalls());
+        // Capacity is back once the calls completed
+        latency = request -> Duration.ZERO;
+        assertNotNull(fetchNewRange());
+    }
+
+    @Test
+    @DisplayName("Should send a second request for a call slower than the recent p95 and take the first answer")
+    void testHedgedRequestCutsTail() {
+        newService(100, true);
+        latency = request -> Duration.ofMillis(10);
+        for (int i = 0; i < 40; i++) {
+            fetchNewRange();
+        }
+        assertEquals(0, resilience.getHedges());
+        assertTrue(resilience.getHedgeDelayNanos() > 0);
+
+        // The next request stalls, its hedge answers at the usual speed
+        int stalled = hits.get() + 1;
+        latency = request -> request == stalled ? Duration.ofSeconds(5) : Duration.ofMillis(10);
+        long started = System.nanoTime();
+        assertNotNull(fetchNewRange());
+
+        assertTrue(System.nanoTime() - started < Duration.ofSeconds(2).toNanos());
+        assertEquals(1, resilience.getHedges());
+        assertEquals(1, resilience.getHedgeWins());
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should not hedge a request that failed before the hedge delay")
+    void testFastFailureIsNotHedged() {
+        newService(100, true);
+        latency = request -> Duration.ofMillis(10);
+        for (int i = 0; i < 40; i++) {
+            fetchNewRange();
+        }
+        int hitsBefore = hits.get();
+        status = request -> 500;
+        latency = request -> Duration.ZERO;
+
+        assertThrows(WeatherApiException.class, this::fetchNewRange);
+        assertEquals(hitsBefore + 1, hits.get());
+        assertEquals(0, resilience.getHedges());
+    }
+
+    @Test
+    @DisplayName("Should not send a second request past the concurrency limit")
+    void testHedgeNeedsBulkheadPermit() {
+        newService(1, true);
+        latency = request -> Duration.ofMillis(10);
+        for (int i = 0; i < 40; i++) {
+            fetchNewRange();
+        }
+
+        int slow = hits.get() + 1;
+        latency = request -> request == slow ? Duration.ofMillis(300) : Duration.ofMillis(10);
+        assertNotNull(fetchNewRange());
+
+        assertEquals(slow, hits.get());
+        assertEquals(0, resilience.getHedges());
+        assertEquals(0, resilience.getInFlightCalls());
+    }
+
+    /**
+     * Every call asks for a different range, so none is shared with another in flight
+     */
+    private OpenMeteoResponse fetchNewRange() {
+        LocalDate end = LocalDate.of(2025, 1, 1).plusDays(ranges.incrementAndGet());
+        return weatherService.getTemperatureData("2025-01-01", end.toString());
+    }
+
+    private Mono<OpenMeteoResponse> newRangeAsync() {
+        LocalDate end = LocalDate.of(2025, 1, 1).plusDays(ranges.incrementAndGet());
+        return weatherService.getTemperatureDataAsync("2025-01-01", end.toString());
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (resilience.getInFlightCalls() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Calls did not start");
+            Thread.sleep(5);
+        }
+    }
+}
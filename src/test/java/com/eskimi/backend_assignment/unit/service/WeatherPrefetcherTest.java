@@ -0,0 +1,159 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.model.CalendarDate;
+import com.eskimi.backend_assignment.model.response.PrefetchStatusResponse;
+import com.eskimi.backend_assignment.model.response.TemperatureResponse;
+import com.eskimi.backend_assignment.service.TemperatureStatsService;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.DailyTemperatureSnapshot;
+import com.eskimi.backend_assignment.service.weather.WeatherPrefetcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WeatherPrefetcherTest {
+
+    @Mock
+    private TemperatureStatsService temperatureStatsService;
+
+    @Mock
+    private DailyTemperatureSnapshot dailyTemperatureSnapshot;
+
+    @Test
+    @DisplayName("Should warm the recent days first, then each popular range ending yesterday")
+    void testWarmsRecentDaysThenRanges() {
+        when(temperatureStatsService.getTemperatureStatsAsync(any(), any()))
+                .thenReturn(Mono.just(new TemperatureResponse()));
+        when(dailyTemperatureSnapshot.awaitAppends(any())).thenReturn(true);
+        WeatherPrefetcher prefetcher = newPrefetcher(at("2026-03-10T12:00"), Duration.ZERO, List.of(7, 30, 400), 4);
+
+        assertEquals(0, prefetcher.run());
+
+        ArgumentCaptor<CalendarDate> starts = ArgumentCaptor.forClass(CalendarDate.class);
+        ArgumentCaptor<CalendarDate> ends = ArgumentCaptor.forClass(CalendarDate.class);
+        // The recent days are fetched again, and the longer ranges only asked for once they are recorded
+        InOrder order = inOrder(temperatureStatsService, dailyTemperatureSnapshot);
+        order.verify(temperatureStatsService)
+                .refreshDays(CalendarDate.parse("2026-03-03"), CalendarDate.parse("2026-03-09"));
+        order.verify(temperatureStatsService).getTemperatureStatsAsync(starts.capture(), ends.capture());
+        order.verify(dailyTemperatureSnapshot).awaitAppends(any());
+        order.verify(temperatureStatsService, times(2)).getTemperatureStatsAsync(starts.capture(), ends.capture());
+        // The recent days are 7 as well, so that range is warmed once; 400 days is cut to the last year
+        assertEquals(List.of("2026-03-03", "2026-02-08", "2025-03-10"),
+                starts.getAllValues().stream().map(CalendarDate::toString).toList());
+        assertTrue(ends.getAllValues().stream().allMatch(end -> end.toString().equals("2026-03-09")));
+
+        PrefetchStatusResponse status = prefetcher.getStatus();
+        assertEquals(1, status.getRuns());
+        assertEquals(3, status.getLastRunRanges());
+        assertEquals(0, status.getLastRunFailures());
+        assertNull(status.getLastError());
+    }
+
+    @Test
+    @DisplayName("Should warm no more ranges at once than the concurrency cap")
+    void testConcurrencyCap() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(temperatureStatsService.getTemperatureStatsAsync(any(), any())).thenAnswer(invocation ->
+                Mono.delay(Duration.ofMillis(20))
+                        .doOnSubscribe(subscription -> peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doOnTerminate(inFlight::decrementAndGet)
+                        .thenReturn(new TemperatureResponse()));
+        WeatherPrefetcher prefetcher = newPrefetcher(at("2026-03-10T12:00"), Duration.ZERO,
+                List.of(10, 20, 30, 40, 50, 60, 70, 80), 2);
+
+        assertEquals(0, prefetcher.run());
+        verify(temperatureStatsService, times(9)).getTemperatureStatsAsync(any(), any());
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    @DisplayName("Should count failed ranges and keep warming the others")
+    void testFailuresAreCounted() {
+        when(temperatureStatsService.getTemperatureStatsAsync(any(), any()))
+                .thenReturn(Mono.just(new TemperatureResponse()))
+                .thenReturn(Mono.error(new WeatherApiException("Weather API is unavailable")))
+                .thenReturn(Mono.just(new TemperatureResponse()));
+        WeatherPrefetcher prefetcher = newPrefetcher(at("2026-03-10T12:00"), Duration.ZERO, List.of(30, 90), 1);
+
+        assertEquals(1, prefetcher.run());
+        verify(temperatureStatsService, times(3)).getTemperatureStatsAsync(any(), any());
+        PrefetchStatusResponse status = prefetcher.getStatus();
+        assertEquals(1, status.getLastRunFailures());
+        assertTrue(status.getLastError().contains("Weather API is unavailable"), status.getLastError());
+    }
+
+    @Test
+    @DisplayName("Should count a failed refresh of the recent days and still warm the other ranges")
+    void testFailedRefresh() {
+        when(temperatureStatsService.refreshDays(any(), any()))
+                .thenThrow(new WeatherApiException("Weather API is unavailable"));
+        when(temperatureStatsService.getTemperatureStatsAsync(any(), any()))
+                .thenReturn(Mono.just(new TemperatureResponse()));
+        WeatherPrefetcher prefetcher = newPrefetcher(at("2026-03-10T12:00"), Duration.ZERO, List.of(30), 1);
+
+        assertEquals(1, prefetcher.run());
+        // Only the 30 days; the recent ones would fail the same way
+        verify(temperatureStatsService, times(1)).getTemperatureStatsAsync(any(), any());
+        assertTrue(prefetcher.getStatus().getLastError().contains("Weather API is unavailable"));
+    }
+
+    @Test
+    @DisplayName("Should run after Dhaka midnight or at the refresh interval, whichever comes first")
+    void testNextRunDelay() {
+        // 23:30 in Dhaka: the run 20 minutes past midnight is 50 minutes away, before the hourly refresh
+        assertEquals(Duration.ofMinutes(50),
+                newPrefetcher(at("2026-03-10T23:30"), Duration.ZERO, List.of(), 1).nextRunDelay());
+        // 00:10: today's run past midnight is still ahead
+        assertEquals(Duration.ofMinutes(10),
+                newPrefetcher(at("2026-03-10T00:10"), Duration.ZERO, List.of(), 1).nextRunDelay());
+        // Midday: the refresh interval
+        assertEquals(Duration.ofHours(1),
+                newPrefetcher(at("2026-03-10T12:00"), Duration.ZERO, List.of(), 1).nextRunDelay());
+    }
+
+    @Test
+    @DisplayName("Should delay runs by up to the jitter")
+    void testJitter() {
+        WeatherPrefetcher prefetcher = newPrefetcher(at("2026-03-10T12:00"), Duration.ofMinutes(5), List.of(), 1);
+        for (int i = 0; i < 100; i++) {
+            Duration delay = prefetcher.nextRunDelay();
+            assertTrue(delay.compareTo(Duration.ofHours(1)) >= 0, delay.toString());
+            assertTrue(delay.compareTo(Duration.ofMinutes(65)) < 0, delay.toString());
+        }
+    }
+
+    private WeatherPrefetcher newPrefetcher(Clock clock, Duration jitter, List<Integer> ranges,
+                                            int maxConcurrentFetches) {
+        return new WeatherPrefetcher(temperatureStatsService, dailyTemperatureSnapshot, true, Duration.ofSeconds(10),
+                Duration.ofMinutes(20), Duration.ofHours(1), jitter, 7, ranges, maxConcurrentFetches, clock,
+                new Random(42));
+    }
+
+    private static Clock at(String dhakaTime) {
+        return Clock.fixed(LocalDateTime.parse(dhakaTime).atZone(WeatherService.DHAKA_ZONE).toInstant(),
+                WeatherService.DHAKA_ZONE);
+    }
+}
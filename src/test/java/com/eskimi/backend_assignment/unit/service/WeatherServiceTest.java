@@ -0,0 +1,226 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.exception.WeatherApiException;
+import com.eskimi.backend_assignment.model.request.Location;
+import com.eskimi.backend_assignment.model.response.OpenMeteoResponse;
+import com.eskimi.backend_assignment.service.WeatherService;
+import com.eskimi.backend_assignment.service.weather.UpstreamResilience;
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherServiceTest {
+
+    private static final int CALLERS = 50;
+    private static final String BODY = """
+            {"daily":{"temperature_2m_max":[30.0,31.5],"temperature_2m_min":[20.0,21.5],"temperature_2m_mean":[25.0,26.5]}}
+            """;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile int status = 200;
+    private volatile boolean emptyBody;
+
+    private HttpServer server;
+    private WeatherService weatherService;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Stub Open-Meteo that holds every response until the test releases it
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/forecast", exchange -> {
+            hits.incrementAndGet();
+            String query = exchange.getRequestURI().getQuery();
+            queries.add(query);
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (emptyBody) {
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+                return;
+            }
+            // Like Open-Meteo: an object for one location, an array for several
+            int locations = query.replaceAll(".*latitude=([^&]*).*", "$1").split(",").length;
+            String json = locations == 1 ? BODY
+                    : IntStream.range(0, locations).mapToObj(i -> BODY.strip())
+                    .collect(Collectors.joining(",", "[", "]"));
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        weatherService = new WeatherService(WebClient.builder(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/forecast", 500, 200,
+                new UpstreamResilience(new CircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3, System::nanoTime),
+                        CALLERS, false, Duration.ofMillis(50)));
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should make one upstream call for concurrent identical requests")
+    void testConcurrentCallsShareOneRequest() throws Exception {
+        List<Future<OpenMeteoResponse>> results = callConcurrently("2025-01-01", "2025-01-02");
+
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        OpenMeteoResponse first = results.get(0).get(30, TimeUnit.SECONDS);
+        assertArrayEquals(new double[]{30.0, 31.5}, first.getDaily().getTemperatureMax());
+        for (Future<OpenMeteoResponse> result : results) {
+            assertSame(first, result.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(1, hits.get());
+
+        // Nothing is kept afterwards, a later call fetches again
+        weatherService.getTemperatureData("2025-01-01", "2025-01-02");
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    @DisplayName("Should give every waiting caller the shared failure")
+    void testConcurrentCallsShareFailure() throws Exception {
+        status = 500;
+        List<Future<OpenMeteoResponse>> results = callConcurrently("2025-01-01", "2025-01-02");
+
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<OpenMeteoResponse> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(WeatherApiException.class, e.getCause());
+        }
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    @DisplayName("Should not share requests for different ranges")
+    void testDifferentRangesAreNotShared() throws Exception {
+        release.countDown();
+
+        weatherService.getTemperatureData("2025-01-01", "2025-01-02");
+        weatherService.getTemperatureData("2025-01-01", "2025-01-03");
+
+        assertEquals(2, hits.get());
+        assertEquals(0, weatherService.getCoalescedRequests());
+    }
+
+    @Test
+    @DisplayName("Should fetch many locations with one upstream call")
+    void testLocationsShareOneRequest() {
+        release.countDown();
+        List<Location> locations = List.of(
+                new Location("Dhaka", 23.8103, 90.4125),
+                new Location("Chittagong", 22.3569, 91.7832),
+                new Location("Sylhet", 24.8949, 91.8687));
+
+        List<OpenMeteoResponse> responses = weatherService.getTemperatureData(locations, "2025-01-01", "2025-01-02");
+
+        assertEquals(3, responses.size());
+        assertArrayEquals(new double[]{30.0, 31.5}, responses.get(2).getDaily().getTemperatureMax());
+        assertEquals(1, hits.get());
+        assertTrue(queries.get(0).contains("latitude=23.8103,22.3569,24.8949"), queries.get(0));
+        assertTrue(queries.get(0).contains("longitude=90.4125,91.7832,91.8687"), queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Should split locations beyond the per-call limit over several calls, keeping their order")
+    void testLocationsAreBatched() {
+        release.countDown();
+        List<Location> locations = IntStream.range(0, 450)
+                .mapToObj(i -> new Location("City " + i, -45 + i * 0.1, 90.0))
+                .toList();
+
+        List<OpenMeteoResponse> responses = weatherService.getTemperatureData(locations, "2025-01-01", "2025-01-02");
+
+        assertEquals(450, responses.size());
+        assertEquals(3, hits.get());
+        List<Integer> batchSizes = queries.stream()
+                .map(query -> query.replaceAll(".*latitude=([^&]*).*", "$1").split(",").length)
+                .sorted()
+                .toList();
+        assertEquals(List.of(50, 200, 200), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should send coordinates as plain decimals")
+    void testCoordinatesArePlainDecimals() {
+        release.countDown();
+        List<Location> locations = List.of(
+                new Location("Null Island", 0.0001, -0.00005),
+                new Location("Dhaka", 23.8103, 90.4125));
+
+        weatherService.getTemperatureData(locations, "2025-01-01", "2025-01-02");
+
+        assertTrue(queries.get(0).contains("latitude=0.0001,23.8103"), queries.get(0));
+        assertTrue(queries.get(0).contains("longitude=-0.00005,90.4125"), queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Should fail a batch whose response is empty like any other upstream failure")
+    void testEmptyBatchFails() {
+        release.countDown();
+        emptyBody = true;
+        List<Location> locations = List.of(
+                new Location("Dhaka", 23.8103, 90.4125),
+                new Location("Chittagong", 22.3569, 91.7832));
+
+        assertThrows(WeatherApiException.class,
+                () -> weatherService.getTemperatureData(locations, "2025-01-01", "2025-01-02"));
+    }
+
+    private List<Future<OpenMeteoResponse>> callConcurrently(String startDate, String endDate) {
+        List<Future<OpenMeteoResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> weatherService.getTemperatureData(startDate, endDate)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (weatherService.getCoalescedRequests() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Callers did not join the in-flight request");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.eskimi.backend_assignment.unit.service;
+
+import com.eskimi.backend_assignment.exception.InvalidNumberException;
+import com.eskimi.backend_assignment.service.NumberToWordsService;
+import com.eskimi.backend_assignment.service.TemperatureTextConverter;
+import com.eskimi.backend_assignment.service.WordsToNumberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordsToNumberServiceTest {
+
+    private final NumberToWordsService numberToWordsService = new NumberToWordsService();
+    private final WordsToNumberService service = new WordsToNumberService();
+
+    @ParameterizedTest
+    @CsvSource({
+            "zero, 0",
+            "thirty, 30",
+            "nine hundred ninety nine point nine nine, 999.99",
+            "positive fifteen point four two, 15.42",
+            "minus three point five zero, -3.50",
+            "Twenty-One, 21",
+            "'  one   thousand\ttwelve ', 1012",
+            "one hundred million, 100000000",
+            "zero point five, 0.5",
+            "nine quintillion two hundred twenty three quadrillion three hundred seventy two trillion"
+                    + " thirty six billion eight hundred fifty four million seven hundred seventy five thousand"
+                    + " eight hundred seven, 9223372036854775807"
+    })
+    @DisplayName("Should convert words to numbers")
+    void testConvertToNumber(String words, String expected) {
+        assertEquals(new BigDecimal(expected), service.convertToNumber(words));
+    }
+
+    @Test
+    @DisplayName("Should round-trip every value from 0.00 to 999.99")
+    void testRoundTripTableDomain() {
+        for (int hundredths = 0; hundredths < 100_000; hundredths++) {
+            BigDecimal number = BigDecimal.valueOf(hundredths, 2);
+            String words = numberToWordsService.convertToWords(number);
+
+            assertEquals(0, number.compareTo(service.convertToNumber(words)), words);
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip large numbers and temperature words")
+    void testRoundTripLargeAndSigned() {
+        TemperatureTextConverter temperatureTextConverter = new TemperatureTextConverter(numberToWordsService);
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long hundredths = random.nextLong() & Long.MAX_VALUE >>> random.nextInt(63);
+            BigDecimal number = BigDecimal.valueOf(hundredths, 2);
+            assertEquals(0, number.compareTo(service.convertToNumber(numberToWordsService.convertToWords(hundredths))));
+
+            double temperature = (random.nextInt(20_001) - 10_000) / 100.0;
+            assertEquals(0, BigDecimal.valueOf(temperature).compareTo(
+                    service.convertToNumber(temperatureTextConverter.convertTemperatureToText(temperature))));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", "minus", "point five", "five point", "one two", "hundred", "ten hundred", "zero one",
+            "one thousand thousand", "one thousand million", "thirty forty", "minus minus one",
+            "one point eleven", "fivety", "one, two", "ninety nine quintillion", "twenty and one"
+    })
+    @DisplayName("Should reject text that is not a number")
+    void testInvalidWords(String words) {
+        assertThrows(InvalidNumberException.class, () -> service.convertToNumber(words));
+    }
+}
@@ -0,0 +1,119 @@
+package com.eskimi.backend_assignment.unit.util;
+
+import com.eskimi.backend_assignment.util.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker(10, 4, 50, OPEN_DURATION, 2, now::get);
+    }
+
+    @Test
+    @DisplayName("Should stay closed below the minimum number of calls")
+    void testMinimumCalls() {
+        failCalls(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+
+    @Test
+    @DisplayName("Should open when the failure rate reaches the threshold")
+    void testOpensAtThreshold() {
+        succeedCalls(2);
+        failCalls(1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        failCalls(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        assertFalse(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(2, breaker.getNotPermittedCalls());
+    }
+
+    @Test
+    @DisplayName("Should only count the most recent calls")
+    void testSlidingWindow() {
+        breaker = new CircuitBreaker(4, 4, 50, OPEN_DURATION, 2, now::get);
+        failCalls(1);
+        succeedCalls(3);
+        // The first failure scrolls out of the window of 4
+        succeedCalls(1);
+        assertEquals(0f, breaker.getFailureRate());
+        failCalls(1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(25f, breaker.getFailureRate());
+    }
+
+    @Test
+    @DisplayName("Should let trial calls through after the open duration and close when they succeed")
+    void testHalfOpenCloses() {
+        failCalls(4);
+        now.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertFalse(breaker.tryAcquirePermission());
+        now.incrementAndGet();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Only as many trial calls as configured
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+
+    @Test
+    @DisplayName("Should open again when a trial call fails")
+    void testHalfOpenReopens() {
+        failCalls(4);
+        now.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should give back the trial permission of a call released without an outcome")
+    void testReleaseReturnsTrialPermission() {
+        failCalls(4);
+        now.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.release();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    private void failCalls(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onFailure();
+        }
+    }
+
+    private void succeedCalls(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.onSuccess();
+        }
+    }
+}
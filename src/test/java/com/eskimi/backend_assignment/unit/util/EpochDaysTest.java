@@ -0,0 +1,81 @@
+package com.eskimi.backend_assignment.unit.util;
+
+import com.eskimi.backend_assignment.util.EpochDays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EpochDaysTest {
+
+    @Test
+    @DisplayName("Should match LocalDate.toEpochDay for every date in 0001-01-01..9999-12-31")
+    void testFullRangeEquivalence() {
+        LocalDate date = LocalDate.of(EpochDays.MIN_YEAR, 1, 1);
+        LocalDate end = LocalDate.of(EpochDays.MAX_YEAR, 12, 31);
+        long expected = date.toEpochDay();
+
+        while (!date.isAfter(end)) {
+            long actual = EpochDays.toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+            if (actual != expected) {
+                fail("Epoch day mismatch for " + date + ": expected " + expected + ", got " + actual);
+            }
+            date = date.plusDays(1);
+            expected++;
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert every epoch day back to the same date")
+    void testFullRangeRoundTrip() {
+        for (long epochDay = EpochDays.MIN_EPOCH_DAY; epochDay <= EpochDays.MAX_EPOCH_DAY; epochDay++) {
+            LocalDate expected = LocalDate.ofEpochDay(epochDay);
+            int packed = EpochDays.toPackedDate(epochDay);
+            if (EpochDays.year(packed) != expected.getYear()
+                    || EpochDays.month(packed) != expected.getMonthValue()
+                    || EpochDays.day(packed) != expected.getDayOfMonth()) {
+                fail("Date mismatch for epoch day " + epochDay + ": expected " + expected
+                        + ", got " + EpochDays.format(packed));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose the bounds of the supported range")
+    void testBounds() {
+        assertEquals(LocalDate.of(1, 1, 1).toEpochDay(), EpochDays.MIN_EPOCH_DAY);
+        assertEquals(LocalDate.of(9999, 12, 31).toEpochDay(), EpochDays.MAX_EPOCH_DAY);
+        assertEquals(0, EpochDays.toEpochDay(1970, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should format packed dates as YYYY-MM-DD")
+    void testFormat() {
+        assertEquals("0001-01-01", EpochDays.format(EpochDays.pack(1, 1, 1)));
+        assertEquals("2024-02-29", EpochDays.format(EpochDays.toPackedDate(LocalDate.of(2024, 2, 29).toEpochDay())));
+        assertEquals("9999-12-31", EpochDays.format(EpochDays.toPackedDate(EpochDays.MAX_EPOCH_DAY)));
+    }
+
+    @Test
+    @DisplayName("Should keep natural ordering for packed dates")
+    void testPackedOrdering() {
+        assertTrue(EpochDays.pack(2024, 1, 31) < EpochDays.pack(2024, 2, 1));
+        assertTrue(EpochDays.pack(2023, 12, 31) < EpochDays.pack(2024, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should apply leap year and month length rules")
+    void testLeapYearAndMonthLength() {
+        assertTrue(EpochDays.isLeapYear(2000));
+        assertTrue(EpochDays.isLeapYear(2024));
+        assertFalse(EpochDays.isLeapYear(1900));
+        assertFalse(EpochDays.isLeapYear(2023));
+
+        assertEquals(29, EpochDays.lengthOfMonth(2024, 2));
+        assertEquals(28, EpochDays.lengthOfMonth(2023, 2));
+        assertEquals(30, EpochDays.lengthOfMonth(2023, 11));
+        assertEquals(31, EpochDays.lengthOfMonth(2023, 12));
+    }
+}
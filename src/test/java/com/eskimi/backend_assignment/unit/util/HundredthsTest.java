@@ -0,0 +1,58 @@
+package com.eskimi.backend_assignment.unit.util;
+
+import com.eskimi.backend_assignment.util.Hundredths;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HundredthsTest {
+
+    @Test
+    @DisplayName("Should round every three-decimal value in -2000..2000 and its neighbours like BigDecimal")
+    void testThreeDecimalEquivalence() {
+        // Every tie x.xx5 is in here, which is where the two could disagree
+        for (int thousandths = -2_000_000; thousandths <= 2_000_000; thousandths++) {
+            double value = thousandths / 1000.0;
+            assertRoundsLikeBigDecimal(value);
+            assertRoundsLikeBigDecimal(Math.nextUp(value));
+            assertRoundsLikeBigDecimal(Math.nextDown(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should round random doubles of every magnitude like BigDecimal")
+    void testRandomEquivalence() {
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000_000; i++) {
+            double value = random.nextDouble() * Math.pow(10, random.nextInt(32) - 16);
+            assertRoundsLikeBigDecimal(random.nextBoolean() ? value : -value);
+        }
+        for (double value : new double[]{0.0, -0.0, 1.005, 0.125, 2.675, 1e-300, 9.99e12, 1e13, 1e16, 9.2e16}) {
+            assertRoundsLikeBigDecimal(value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject what BigDecimal rejects")
+    void testInvalidValues() {
+        assertThrows(NumberFormatException.class, () -> Hundredths.round(Double.NaN));
+        assertThrows(NumberFormatException.class, () -> Hundredths.round(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Hundredths.round(1e17));
+    }
+
+    private static void assertRoundsLikeBigDecimal(double value) {
+        BigDecimal expected = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+        if (Hundredths.round(value) != expected.unscaledValue().longValueExact()) {
+            fail("Rounding mismatch for " + value + ": expected " + expected + ", got " + Hundredths.round(value));
+        }
+        if (Hundredths.roundToDouble(value) != expected.doubleValue()) {
+            fail("Rounding mismatch for " + value + ": expected " + expected.doubleValue()
+                    + ", got " + Hundredths.roundToDouble(value));
+        }
+    }
+}
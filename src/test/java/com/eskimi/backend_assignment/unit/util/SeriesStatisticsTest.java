@@ -0,0 +1,153 @@
+package com.eskimi.backend_assignment.unit.util;
+
+import com.eskimi.backend_assignment.util.SeriesStatistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesStatisticsTest {
+
+    @Test
+    @DisplayName("Should interpolate quantiles between the closest ranks")
+    void testSmallSeries() {
+        SeriesStatistics.Summary summary = SeriesStatistics.summarize(new double[]{4, 1, 3, 2}, 2.5, 2);
+
+        assertEquals(4, summary.count());
+        assertEquals(1, summary.min());
+        assertEquals(4, summary.max());
+        assertEquals(2.5, summary.mean());
+        assertEquals(Math.sqrt(1.25), summary.standardDeviation(), 1e-15);
+        assertEquals(2.5, summary.median());
+        assertEquals(1.3, summary.p10(), 1e-12);
+        assertEquals(3.7, summary.p90(), 1e-12);
+        // Strictly above and below
+        assertEquals(2, summary.above());
+        assertEquals(1, summary.below());
+    }
+
+    @Test
+    @DisplayName("Should leave out missing values")
+    void testMissingValues() {
+        SeriesStatistics.Summary summary = SeriesStatistics.summarize(
+                new double[]{Double.NaN, 10, Double.NaN, 20, 30, Double.NaN}, 25, 15);
+
+        assertEquals(3, summary.count());
+        assertEquals(20, summary.mean());
+        assertEquals(20, summary.median());
+        assertEquals(1, summary.above());
+        assertEquals(1, summary.below());
+
+        SeriesStatistics.Summary none = SeriesStatistics.summarize(new double[]{Double.NaN, Double.NaN}, 0, 0);
+        assertEquals(0, none.count());
+        assertTrue(Double.isNaN(none.mean()));
+        assertTrue(Double.isNaN(none.median()));
+        assertEquals(0, SeriesStatistics.summarize(new double[0], 0, 0).count());
+    }
+
+    @Test
+    @DisplayName("Should handle a constant series and a single value")
+    void testConstantSeries() {
+        double[] constant = new double[1001];
+        Arrays.fill(constant, 27.3);
+        SeriesStatistics.Summary summary = SeriesStatistics.summarize(constant, 27.3, 27.3);
+        assertEquals(27.3, summary.mean());
+        assertEquals(0, summary.standardDeviation());
+        assertEquals(27.3, summary.p10());
+        assertEquals(27.3, summary.p90());
+        assertEquals(0, summary.above());
+        assertEquals(0, summary.below());
+
+        SeriesStatistics.Summary single = SeriesStatistics.summarize(new double[]{-4.5}, 0, 0);
+        assertEquals(-4.5, single.median());
+        assertEquals(-4.5, single.p90());
+        assertEquals(1, single.below());
+    }
+
+    @Test
+    @DisplayName("Should match sorting and exact sums on random series with ties and gaps")
+    void testMatchesReference() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            int length = 1 + random.nextInt(round < 40 ? 200 : 50_000);
+            double[] values = new double[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = random.nextInt(20) == 0
+                        ? Double.NaN
+                        : Math.round((25 + random.nextGaussian() * 6) * 10) / 10.0;
+            }
+            if (round % 7 == 0) {
+                // A far outlier puts almost every value in one histogram bucket
+                values[random.nextInt(length)] = 1e9;
+            }
+            assertMatchesReference(values, 30, 20);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the mean of a long series exact with compensated sums")
+    void testCompensatedMean() {
+        double[] values = new double[1_000_000];
+        Arrays.fill(values, 0.1);
+        values[0] = 1e8;
+        values[1] = -1e8;
+
+        double naive = 0;
+        for (double value : values) {
+            naive += value;
+        }
+        double expected = 0.1 * (values.length - 2) / values.length;
+        assertNotEquals(expected, naive / values.length, 1e-12);
+        assertEquals(expected, SeriesStatistics.summarize(values, 0, 0).mean(), 1e-15);
+    }
+
+    private static void assertMatchesReference(double[] values, double above, double below) {
+        double[] present = Arrays.stream(values).filter(value -> !Double.isNaN(value)).toArray();
+        double[] sorted = present.clone();
+        Arrays.sort(sorted);
+        SeriesStatistics.Summary summary = SeriesStatistics.summarize(values, above, below);
+
+        assertEquals(present.length, summary.count());
+        if (present.length == 0) {
+            return;
+        }
+        assertEquals(sorted[0], summary.min());
+        assertEquals(sorted[sorted.length - 1], summary.max());
+
+        BigDecimal exactSum = BigDecimal.ZERO;
+        for (double value : present) {
+            exactSum = exactSum.add(new BigDecimal(value));
+        }
+        double exactMean = exactSum.divide(BigDecimal.valueOf(present.length), MathContext.DECIMAL128).doubleValue();
+        assertEquals(exactMean, summary.mean(), Math.ulp(exactMean) * 4);
+
+        double squares = 0;
+        for (double value : present) {
+            squares += (value - exactMean) * (value - exactMean);
+        }
+        double deviation = Math.sqrt(squares / present.length);
+        assertEquals(deviation, summary.standardDeviation(), deviation * 1e-9 + 1e-9);
+
+        assertEquals(quantile(sorted, 0.1), summary.p10(), 1e-9);
+        assertEquals(quantile(sorted, 0.5), summary.median(), 1e-9);
+        assertEquals(quantile(sorted, 0.9), summary.p90(), 1e-9);
+        assertArrayEquals(new double[]{quantile(sorted, 0.25), quantile(sorted, 0.75)},
+                SeriesStatistics.quantiles(values, 0.25, 0.75), 1e-9);
+
+        assertEquals(Arrays.stream(present).filter(value -> value > above).count(), summary.above());
+        assertEquals(Arrays.stream(present).filter(value -> value < below).count(), summary.below());
+    }
+
+    private static double quantile(double[] sorted, double quantile) {
+        double position = quantile * (sorted.length - 1);
+        int rank = (int) position;
+        return rank + 1 < sorted.length
+                ? sorted[rank] + (position - rank) * (sorted[rank + 1] - sorted[rank])
+                : sorted[rank];
+    }
+}